@@ -1,6 +1,7 @@
 package com.gdc.aerodev.model;
 
 import javax.persistence.*;
+import java.util.Date;
 
 /**
  * This entity's goal is to contain {@code User}'s profile image.
@@ -12,10 +13,12 @@ import javax.persistence.*;
  */
 @Entity
 @Table(schema = "aero", name = "avatars")
+@Cacheable(false)
 public class Avatar {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "av_id")
+    @SequenceGenerator(name = "av_id", schema = "aero", sequenceName = "avatars_av_id_seq", allocationSize = 50)
     @Column(name = "av_id")
     private Long avatarId;
 
@@ -38,6 +41,49 @@ public class Avatar {
     @Column(name = "av_type")
     private String contentType;
 
+    /**
+     * SHA-256 of avatar image in blob store, {@code null} while content is kept in database
+     */
+    @Column(name = "av_hash")
+    private String avatarHash;
+
+    /**
+     * Size of avatar image in blob store in bytes
+     */
+    @Column(name = "av_size")
+    private Long avatarSize;
+
+    /**
+     * Strong validator of avatar image, computed once when content is saved
+     */
+    @Column(name = "av_etag")
+    private String avatarEtag;
+
+    /**
+     * Time of last change of avatar image
+     */
+    @Column(name = "av_modified")
+    private Date avatarModified;
+
+    /**
+     * Width of avatar image in pixels, {@code null} if unknown
+     */
+    @Column(name = "av_width")
+    private Integer avatarWidth;
+
+    /**
+     * Height of avatar image in pixels, {@code null} if unknown
+     */
+    @Column(name = "av_height")
+    private Integer avatarHeight;
+
+    /**
+     * SHA-256 of originally uploaded avatar image in blob store, {@code null} if upload wasn't re-encoded or original
+     * wasn't kept
+     */
+    @Column(name = "av_orig_hash")
+    private String avatarOriginalHash;
+
     public Avatar() {
     }
 
@@ -90,4 +136,67 @@ public class Avatar {
         this.user = user;
         return this;
     }
+
+    public String getAvatarHash() {
+        return avatarHash;
+    }
+
+    public Avatar setAvatarHash(String avatarHash) {
+        this.avatarHash = avatarHash;
+        return this;
+    }
+
+    public Long getAvatarSize() {
+        return avatarSize;
+    }
+
+    public Avatar setAvatarSize(Long avatarSize) {
+        this.avatarSize = avatarSize;
+        return this;
+    }
+
+    public String getAvatarEtag() {
+        return avatarEtag;
+    }
+
+    public Avatar setAvatarEtag(String avatarEtag) {
+        this.avatarEtag = avatarEtag;
+        return this;
+    }
+
+    public Date getAvatarModified() {
+        return avatarModified;
+    }
+
+    public Avatar setAvatarModified(Date avatarModified) {
+        this.avatarModified = avatarModified;
+        return this;
+    }
+
+    public Integer getAvatarWidth() {
+        return avatarWidth;
+    }
+
+    public Avatar setAvatarWidth(Integer avatarWidth) {
+        this.avatarWidth = avatarWidth;
+        return this;
+    }
+
+    public Integer getAvatarHeight() {
+        return avatarHeight;
+    }
+
+    public Avatar setAvatarHeight(Integer avatarHeight) {
+        this.avatarHeight = avatarHeight;
+        return this;
+    }
+
+    public String getAvatarOriginalHash() {
+        return avatarOriginalHash;
+    }
+
+    public Avatar setAvatarOriginalHash(String avatarOriginalHash) {
+        this.avatarOriginalHash = avatarOriginalHash;
+        return this;
+    }
 }
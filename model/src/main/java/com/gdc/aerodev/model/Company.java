@@ -1,14 +1,20 @@
 package com.gdc.aerodev.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.List;
 
 @Entity
 @Table(schema = "aero", name = "companies")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aero.company")
 public class Company {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comp_id")
+    @SequenceGenerator(name = "comp_id", schema = "aero", sequenceName = "companies_comp_id_seq", allocationSize = 50)
     @Column(name = "comp_id")
     private Long compId;
     @Column(name = "comp_name", nullable = false)
@@ -1,5 +1,8 @@
 package com.gdc.aerodev.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.List;
 
@@ -12,9 +15,13 @@ import java.util.List;
  */
 @Entity
 @Table(schema = "aero", name = "company_representatives")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aero.cr")
 public class Cr {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cr_id")
+    @SequenceGenerator(name = "cr_id", schema = "aero", sequenceName = "company_representatives_cr_id_seq",
+            allocationSize = 50)
     @Column(name = "cr_id")
     private Long crId;
     /**
@@ -0,0 +1,108 @@
+package com.gdc.aerodev.model;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Session of resumable upload of {@code ProjectFile}. File is sent by chunks in any order, received chunks are
+ * recorded as {@code UploadChunk} and file is created when all chunks are received and upload is committed.
+ *
+ * @author Yusupov Danil
+ * @see UploadChunk
+ * @see ProjectFile
+ */
+@Entity
+@Table(schema = "aero", name = "file_uploads")
+public class FileUpload {
+
+    /**
+     * Random {@code UUID}, so id of upload can't be guessed
+     */
+    @Id
+    @Column(name = "upl_id")
+    private String uploadId;
+
+    /**
+     * Id of {@code Project}, which will own the file
+     */
+    @Column(name = "prj_id", nullable = false)
+    private Long projectId;
+
+    /**
+     * Id of {@code User}, who uploads the file
+     */
+    @Column(name = "usr_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    /**
+     * Declared size of whole file in bytes
+     */
+    @Column(name = "upl_size", nullable = false)
+    private long size;
+
+    @Column(name = "upl_created", nullable = false)
+    private Date created;
+
+    /**
+     * Time of last received chunk, abandoned uploads are removed by it
+     */
+    @Column(name = "upl_touched", nullable = false)
+    private Date touched;
+
+    public FileUpload() {
+    }
+
+    public FileUpload(String uploadId, Long projectId, Long userId, String fileName, String contentType, long size) {
+        this.uploadId = uploadId;
+        this.projectId = projectId;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.contentType = contentType;
+        this.size = size;
+        this.created = new Date();
+        this.touched = this.created;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public Date getTouched() {
+        return touched;
+    }
+
+    public FileUpload setTouched(Date touched) {
+        this.touched = touched;
+        return this;
+    }
+}
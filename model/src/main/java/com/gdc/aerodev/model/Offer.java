@@ -15,7 +15,8 @@ import javax.persistence.*;
 public class Offer {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "off_id")
+    @SequenceGenerator(name = "off_id", schema = "aero", sequenceName = "offers_off_id_seq", allocationSize = 50)
     @Column(name = "off_id")
     private Long offerId;
 
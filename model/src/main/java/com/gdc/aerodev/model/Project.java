@@ -1,5 +1,8 @@
 package com.gdc.aerodev.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.util.ArrayList;
 import java.util.List;
@@ -14,12 +17,15 @@ import java.util.List;
  */
 @Entity
 @Table(schema = "aero", name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aero.project")
 public class Project {
     /**
      * {@code PRIMARY KEY} for this entity
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "prj_id")
+    @SequenceGenerator(name = "prj_id", schema = "aero", sequenceName = "projects_prj_id_seq", allocationSize = 50)
     @Column(name = "prj_id")
     private Long projectId;
     @Column(name = "prj_name",  nullable = false)
@@ -30,6 +36,11 @@ public class Project {
     @Column(name = "prj_type")
     @Enumerated(EnumType.STRING)
     private ProjectType projectType;
+    /**
+     * Counted by {@code ViewCounter} and written by batch, so it's never written with entity
+     */
+    @Column(name = "prj_views", insertable = false, updatable = false)
+    private long projectViews;
 
     //JPA relations below
     @ManyToOne()
@@ -103,6 +114,10 @@ public class Project {
         return this;
     }
 
+    public long getProjectViews() {
+        return projectViews;
+    }
+
     public List<ProjectImage> getImages() {
         return (images == null) ? new ArrayList<>() : images;
     }
@@ -11,10 +11,13 @@ import java.util.Date;
  */
 @Entity
 @Table(schema = "aero", name = "project_content")
+@Cacheable(false)
 public class ProjectContent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "content_id")
+    @SequenceGenerator(name = "content_id", schema = "aero", sequenceName = "project_content_id_seq",
+            allocationSize = 50)
     @Column(name = "id")
     private Long contentId;
 
@@ -44,6 +47,49 @@ public class ProjectContent {
     @Column(name = "prj_date")
     private Date projectBirthDay;
 
+    /**
+     * SHA-256 of logo in blob store, {@code null} while content is kept in database
+     */
+    @Column(name = "logo_hash")
+    private String logoHash;
+
+    /**
+     * Size of logo in blob store in bytes
+     */
+    @Column(name = "logo_size")
+    private Long logoSize;
+
+    /**
+     * Strong validator of logo, computed once when content is saved
+     */
+    @Column(name = "logo_etag")
+    private String logoEtag;
+
+    /**
+     * Time of last change of logo
+     */
+    @Column(name = "logo_modified")
+    private Date logoModified;
+
+    /**
+     * Width of logo in pixels, {@code null} if unknown
+     */
+    @Column(name = "logo_width")
+    private Integer logoWidth;
+
+    /**
+     * Height of logo in pixels, {@code null} if unknown
+     */
+    @Column(name = "logo_height")
+    private Integer logoHeight;
+
+    /**
+     * SHA-256 of originally uploaded logo in blob store, {@code null} if upload wasn't re-encoded or original
+     * wasn't kept
+     */
+    @Column(name = "logo_orig_hash")
+    private String logoOriginalHash;
+
     public ProjectContent() {
     }
 
@@ -102,4 +148,67 @@ public class ProjectContent {
         this.contentId = contentId;
         return this;
     }
+
+    public String getLogoHash() {
+        return logoHash;
+    }
+
+    public ProjectContent setLogoHash(String logoHash) {
+        this.logoHash = logoHash;
+        return this;
+    }
+
+    public Long getLogoSize() {
+        return logoSize;
+    }
+
+    public ProjectContent setLogoSize(Long logoSize) {
+        this.logoSize = logoSize;
+        return this;
+    }
+
+    public String getLogoEtag() {
+        return logoEtag;
+    }
+
+    public ProjectContent setLogoEtag(String logoEtag) {
+        this.logoEtag = logoEtag;
+        return this;
+    }
+
+    public Date getLogoModified() {
+        return logoModified;
+    }
+
+    public ProjectContent setLogoModified(Date logoModified) {
+        this.logoModified = logoModified;
+        return this;
+    }
+
+    public Integer getLogoWidth() {
+        return logoWidth;
+    }
+
+    public ProjectContent setLogoWidth(Integer logoWidth) {
+        this.logoWidth = logoWidth;
+        return this;
+    }
+
+    public Integer getLogoHeight() {
+        return logoHeight;
+    }
+
+    public ProjectContent setLogoHeight(Integer logoHeight) {
+        this.logoHeight = logoHeight;
+        return this;
+    }
+
+    public String getLogoOriginalHash() {
+        return logoOriginalHash;
+    }
+
+    public ProjectContent setLogoOriginalHash(String logoOriginalHash) {
+        this.logoOriginalHash = logoOriginalHash;
+        return this;
+    }
 }
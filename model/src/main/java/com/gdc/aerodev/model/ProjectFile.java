@@ -1,6 +1,7 @@
 package com.gdc.aerodev.model;
 
 import javax.persistence.*;
+import java.util.Date;
 
 /**
  * This sub entity contains an array of any project file
@@ -10,13 +11,16 @@ import javax.persistence.*;
  */
 @Entity
 @Table(schema = "aero", name = "project_files")
+@Cacheable(false)
 public class ProjectFile {
 
     /**
      * This is {@code FOREIGN KEY} to {@code Project} entity.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "file_id")
+    @SequenceGenerator(name = "file_id", schema = "aero", sequenceName = "project_files_file_id_seq",
+            allocationSize = 50)
     @Column(name = "file_id")
     private Long fileId;
 
@@ -29,12 +33,42 @@ public class ProjectFile {
      */
     private byte[] file;
 
+    /**
+     * Original name of file
+     */
+    @Column(name = "file_name")
+    private String fileName;
+
     /**
      * MIME type of file
      */
     @Column(name = "content_type")
     private String contentType;
 
+    /**
+     * SHA-256 of file in blob store, {@code null} while content is kept in database
+     */
+    @Column(name = "file_hash")
+    private String fileHash;
+
+    /**
+     * Size of file in blob store in bytes
+     */
+    @Column(name = "file_size")
+    private Long fileSize;
+
+    /**
+     * Strong validator of file, computed once when content is saved
+     */
+    @Column(name = "file_etag")
+    private String fileEtag;
+
+    /**
+     * Time of last change of file
+     */
+    @Column(name = "file_modified")
+    private Date fileModified;
+
     public ProjectFile() {
     }
 
@@ -78,4 +112,49 @@ public class ProjectFile {
         this.contentType = contentType;
         return this;
     }
-}
\ No newline at end of file
+
+    public String getFileHash() {
+        return fileHash;
+    }
+
+    public ProjectFile setFileHash(String fileHash) {
+        this.fileHash = fileHash;
+        return this;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public ProjectFile setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+        return this;
+    }
+
+    public String getFileEtag() {
+        return fileEtag;
+    }
+
+    public ProjectFile setFileEtag(String fileEtag) {
+        this.fileEtag = fileEtag;
+        return this;
+    }
+
+    public Date getFileModified() {
+        return fileModified;
+    }
+
+    public ProjectFile setFileModified(Date fileModified) {
+        this.fileModified = fileModified;
+        return this;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public ProjectFile setFileName(String fileName) {
+        this.fileName = fileName;
+        return this;
+    }
+}
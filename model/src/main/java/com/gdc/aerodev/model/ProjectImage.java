@@ -1,6 +1,7 @@
 package com.gdc.aerodev.model;
 
 import javax.persistence.*;
+import java.util.Date;
 
 /**
  * Entity contains image of {@code Project} entity
@@ -10,9 +11,12 @@ import javax.persistence.*;
  */
 @Entity
 @Table(schema = "aero", name = "project_images")
+@Cacheable(false)
 public class ProjectImage {
     @Id
-    @GeneratedValue (strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "img_id")
+    @SequenceGenerator(name = "img_id", schema = "aero", sequenceName = "project_images_img_id_seq",
+            allocationSize = 50)
     @Column(name = "img_id")
     private Long imageId;
 
@@ -26,7 +30,7 @@ public class ProjectImage {
     /**
      * Image of {@code Project}
      */
-    @Column(name = "prj_image", nullable = false)
+    @Column(name = "prj_image")
     private byte[] projectImage;
 
     /**
@@ -35,6 +39,49 @@ public class ProjectImage {
     @Column(name = "img_type")
     private String contentType;
 
+    /**
+     * SHA-256 of image in blob store, {@code null} while content is kept in database
+     */
+    @Column(name = "img_hash")
+    private String imageHash;
+
+    /**
+     * Size of image in blob store in bytes
+     */
+    @Column(name = "img_size")
+    private Long imageSize;
+
+    /**
+     * Strong validator of image, computed once when content is saved
+     */
+    @Column(name = "img_etag")
+    private String imageEtag;
+
+    /**
+     * Time of last change of image
+     */
+    @Column(name = "img_modified")
+    private Date imageModified;
+
+    /**
+     * Width of image in pixels, {@code null} if unknown
+     */
+    @Column(name = "img_width")
+    private Integer imageWidth;
+
+    /**
+     * Height of image in pixels, {@code null} if unknown
+     */
+    @Column(name = "img_height")
+    private Integer imageHeight;
+
+    /**
+     * SHA-256 of originally uploaded image in blob store, {@code null} if upload wasn't re-encoded or original
+     * wasn't kept
+     */
+    @Column(name = "img_orig_hash")
+    private String imageOriginalHash;
+
     public ProjectImage(byte[] projectImage, String contentType) {
         this.projectImage = projectImage;
         this.contentType = contentType;
@@ -87,4 +134,67 @@ public class ProjectImage {
         this.contentType = contentType;
         return this;
     }
+
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public ProjectImage setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+        return this;
+    }
+
+    public Long getImageSize() {
+        return imageSize;
+    }
+
+    public ProjectImage setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+        return this;
+    }
+
+    public String getImageEtag() {
+        return imageEtag;
+    }
+
+    public ProjectImage setImageEtag(String imageEtag) {
+        this.imageEtag = imageEtag;
+        return this;
+    }
+
+    public Date getImageModified() {
+        return imageModified;
+    }
+
+    public ProjectImage setImageModified(Date imageModified) {
+        this.imageModified = imageModified;
+        return this;
+    }
+
+    public Integer getImageWidth() {
+        return imageWidth;
+    }
+
+    public ProjectImage setImageWidth(Integer imageWidth) {
+        this.imageWidth = imageWidth;
+        return this;
+    }
+
+    public Integer getImageHeight() {
+        return imageHeight;
+    }
+
+    public ProjectImage setImageHeight(Integer imageHeight) {
+        this.imageHeight = imageHeight;
+        return this;
+    }
+
+    public String getImageOriginalHash() {
+        return imageOriginalHash;
+    }
+
+    public ProjectImage setImageOriginalHash(String imageOriginalHash) {
+        this.imageOriginalHash = imageOriginalHash;
+        return this;
+    }
 }
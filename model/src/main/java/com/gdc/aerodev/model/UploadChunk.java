@@ -0,0 +1,62 @@
+package com.gdc.aerodev.model;
+
+import javax.persistence.*;
+
+/**
+ * Range of bytes received by {@code FileUpload}. Chunks are only inserted, so parallel chunks of one upload never
+ * conflict. Chunks can overlap, if client repeats chunk after failure.
+ *
+ * @author Yusupov Danil
+ * @see FileUpload
+ */
+@Entity
+@Table(schema = "aero", name = "upload_chunks")
+public class UploadChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "chunk_id")
+    @SequenceGenerator(name = "chunk_id", schema = "aero", sequenceName = "upload_chunks_chunk_id_seq",
+            allocationSize = 50)
+    @Column(name = "chunk_id")
+    private Long chunkId;
+
+    /**
+     * This is {@code FOREIGN KEY} to {@code FileUpload}, chunks are removed with their upload
+     */
+    @Column(name = "upl_id", nullable = false)
+    private String uploadId;
+
+    /**
+     * Position of first byte of chunk in file
+     */
+    @Column(name = "chunk_offset", nullable = false)
+    private long offset;
+
+    @Column(name = "chunk_length", nullable = false)
+    private long length;
+
+    public UploadChunk() {
+    }
+
+    public UploadChunk(String uploadId, long offset, long length) {
+        this.uploadId = uploadId;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public Long getChunkId() {
+        return chunkId;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getLength() {
+        return length;
+    }
+}
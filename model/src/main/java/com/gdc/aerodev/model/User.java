@@ -1,5 +1,8 @@
 package com.gdc.aerodev.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import javax.persistence.Table;
 import java.util.List;
@@ -13,10 +16,13 @@ import java.util.List;
  */
 @Entity
 @Table(schema = "aero", name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "aero.user")
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "usr_id")
+    @SequenceGenerator(name = "usr_id", schema = "aero", sequenceName = "users_usr_id_seq", allocationSize = 50)
     @Column(name = "usr_id")
     private Long userId;
 
@@ -47,6 +53,11 @@ public class User {
      */
     @Column(name = "usr_rating")
     private int userRating;
+    /**
+     * Counted by {@code ViewCounter} and written by batch, so it's never written with entity
+     */
+    @Column(name = "usr_views", insertable = false, updatable = false)
+    private long userViews;
     @Column(name = "usr_country", nullable = false)
     private String userCountry;
     @Column(name = "usr_city", nullable = false)
@@ -133,6 +144,10 @@ public class User {
         return userRating;
     }
 
+    public long getUserViews() {
+        return userViews;
+    }
+
     public String getUserCountry() {
         return userCountry;
     }
@@ -2,9 +2,13 @@ package com.gdc.aerodev.repository.postgresql;
 
 import com.gdc.aerodev.model.Company;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Company findByCompName(String name);
 }
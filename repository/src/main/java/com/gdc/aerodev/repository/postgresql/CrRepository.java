@@ -2,13 +2,30 @@ package com.gdc.aerodev.repository.postgresql;
 
 import com.gdc.aerodev.model.Company;
 import com.gdc.aerodev.model.Cr;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface CrRepository extends JpaRepository<Cr, Long> {
     List<Cr> findAllByCompany(Company company);
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Cr findByCrName(String name);
+
+    /**
+     * Pages of {@link Keyset}: representatives of company or all of them with id greater than {@code after}
+     * ordered by id, the first is read by index on company and id, the second by primary key
+     */
+    @Query("SELECT c FROM Cr c WHERE c.company = :company AND c.crId > :after ORDER BY c.crId")
+    List<Cr> findPageByCompany(@Param("company") Company company, @Param("after") long after, Pageable page);
+
+    @Query("SELECT c FROM Cr c WHERE c.crId > :after ORDER BY c.crId")
+    List<Cr> findPage(@Param("after") long after, Pageable page);
 }
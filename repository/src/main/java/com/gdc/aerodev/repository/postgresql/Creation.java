@@ -0,0 +1,78 @@
+package com.gdc.aerodev.repository.postgresql;
+
+/**
+ * Result of inserting new row by {@link CreationRepository}. Either row is created and has id, or status tells
+ * which constraint rejected it.
+ *
+ * @author Yusupov Danil
+ */
+public class Creation {
+
+    public enum Status {
+        CREATED,
+        /**
+         * Name is taken by another row
+         */
+        DUPLICATE_NAME,
+        /**
+         * Email is taken by another user
+         */
+        DUPLICATE_EMAIL,
+        /**
+         * Referenced owner doesn't exist
+         */
+        MISSING_OWNER,
+        /**
+         * Row was rejected by unique constraint, but conflicting row was inserted concurrently, so it isn't known
+         * which value is taken
+         */
+        CONFLICT,
+        /**
+         * Mandatory value is empty, nothing was sent to database
+         */
+        INVALID
+    }
+
+    private static final Creation INVALID = new Creation(Status.INVALID, null);
+
+    private final Status status;
+    private final Long id;
+
+    private Creation(Status status, Long id) {
+        this.status = status;
+        this.id = id;
+    }
+
+    public static Creation created(Long id) {
+        return new Creation(Status.CREATED, id);
+    }
+
+    public static Creation rejected(Status status) {
+        return new Creation(status, null);
+    }
+
+    public static Creation invalid() {
+        return INVALID;
+    }
+
+    public boolean isCreated() {
+        return status == Status.CREATED;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * @return (0) id of created row or <br>
+     * (1) {@code null} if row wasn't created
+     */
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return isCreated() ? "CREATED(" + id + ")" : status.name();
+    }
+}
@@ -0,0 +1,116 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.ProjectType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.SQLException;
+
+/**
+ * Creates users and projects by one statement. Row is inserted with {@code ON CONFLICT DO NOTHING}, so taken name
+ * or email neither throws nor aborts transaction, and the same statement tells which value is taken. Nothing is
+ * checked before insert, so there is no window between check and insert. Owner of project is referenced by id and
+ * isn't loaded. <br>
+ * Rows are inserted past Hibernate, so cached query results are dropped after every insert, otherwise cached
+ * lookup by name could miss created row.
+ *
+ * @author Yusupov Danil
+ * @see Creation
+ */
+@Repository
+public class CreationRepository {
+
+    /**
+     * Outer select sees snapshot taken before insert, so it finds only rows which rejected the new one
+     */
+    private static final String INSERT_USER = "WITH created AS ("
+            + "INSERT INTO aero.users (usr_name, usr_password, usr_email, usr_is_male, usr_level, usr_rating, "
+            + "usr_first_name, usr_last_name, usr_biography, usr_country, usr_city) "
+            + "VALUES (?, ?, ?, ?, 0, 0, '', '', '', '', '') ON CONFLICT DO NOTHING RETURNING usr_id) "
+            + "SELECT (SELECT usr_id FROM created), "
+            + "EXISTS (SELECT 1 FROM aero.users WHERE usr_name = ?), "
+            + "EXISTS (SELECT 1 FROM aero.users WHERE usr_email = ?)";
+
+    private static final String INSERT_PROJECT = "WITH created AS ("
+            + "INSERT INTO aero.projects (prj_name, prj_type, usr_id) "
+            + "SELECT ?, ?, usr_id FROM aero.users WHERE usr_id = ? ON CONFLICT DO NOTHING RETURNING prj_id) "
+            + "SELECT (SELECT prj_id FROM created), "
+            + "EXISTS (SELECT 1 FROM aero.projects WHERE prj_name = ?), "
+            + "EXISTS (SELECT 1 FROM aero.users WHERE usr_id = ?)";
+
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CreationRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Inserts user with empty profile
+     *
+     * @param userName     unique name of user
+     * @param userPassword hash of password
+     * @param userEmail    unique email
+     * @param isMale       gender indicator
+     * @return {@code CREATED} with id of user, {@code DUPLICATE_NAME}, {@code DUPLICATE_EMAIL} or {@code CONFLICT}
+     */
+    public Creation insertUser(String userName, String userPassword, String userEmail, boolean isMale) {
+        Creation creation = jdbcTemplate.queryForObject(INSERT_USER, (rs, i) -> {
+            long id = rs.getLong(1);
+            if (!rs.wasNull()) {
+                return Creation.created(id);
+            }
+            if (rs.getBoolean(2)) {
+                return Creation.rejected(Creation.Status.DUPLICATE_NAME);
+            }
+            return Creation.rejected(rs.getBoolean(3) ? Creation.Status.DUPLICATE_EMAIL : Creation.Status.CONFLICT);
+        }, userName, userPassword, userEmail, isMale, userName, userEmail);
+        return invalidate(creation);
+    }
+
+    /**
+     * Inserts project of existing user
+     *
+     * @param projectName unique name of project
+     * @param projectType type of project
+     * @param ownerId     id of owner
+     * @return {@code CREATED} with id of project, {@code MISSING_OWNER}, {@code DUPLICATE_NAME} or {@code CONFLICT}
+     */
+    public Creation insertProject(String projectName, ProjectType projectType, Long ownerId) {
+        Creation creation;
+        try {
+            creation = jdbcTemplate.queryForObject(INSERT_PROJECT, (rs, i) -> {
+                long id = rs.getLong(1);
+                if (!rs.wasNull()) {
+                    return Creation.created(id);
+                }
+                if (!rs.getBoolean(3)) {
+                    return Creation.rejected(Creation.Status.MISSING_OWNER);
+                }
+                return Creation.rejected(rs.getBoolean(2) ? Creation.Status.DUPLICATE_NAME : Creation.Status.CONFLICT);
+            }, projectName, projectType == null ? null : projectType.name(), ownerId, projectName, ownerId);
+        } catch (DataIntegrityViolationException e) {
+            // owner was removed between select and insert
+            if (e.getMostSpecificCause() instanceof SQLException
+                    && FOREIGN_KEY_VIOLATION.equals(((SQLException) e.getMostSpecificCause()).getSQLState())) {
+                return Creation.rejected(Creation.Status.MISSING_OWNER);
+            }
+            throw e;
+        }
+        return invalidate(creation);
+    }
+
+    private Creation invalidate(Creation creation) {
+        if (creation.isCreated()) {
+            QueryRegions.evictAfterInsert(entityManagerFactory);
+        }
+        return creation;
+    }
+}
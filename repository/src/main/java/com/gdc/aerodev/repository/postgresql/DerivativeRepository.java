@@ -0,0 +1,67 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Keeps references to scaled copies of images. Derivative is bound to SHA-256 of original content and to name of
+ * it's size, content of derivative itself lives in blob store.
+ *
+ * @author Yusupov Danil
+ * @see MediaMeta
+ */
+@Repository
+public class DerivativeRepository {
+
+    private static final String FIND_SQL = "SELECT drv_hash, drv_length, drv_type, drv_width, drv_height, drv_date "
+            + "FROM aero.media_derivatives WHERE orig_hash = ? AND drv_size = ?";
+
+    private static final String SAVE_SQL = "INSERT INTO aero.media_derivatives "
+            + "(orig_hash, drv_size, drv_hash, drv_length, drv_type, drv_width, drv_height) VALUES (?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (orig_hash, drv_size) DO NOTHING";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public DerivativeRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Finds derivative of stored content
+     *
+     * @param original content kept in blob store
+     * @param size     name of derivative's size
+     * @return (0) {@code MediaMeta} of derivative with the same source and id as original or <br>
+     * (1) {@code null} if derivative isn't ready
+     */
+    public MediaMeta find(MediaMeta original, String size) {
+        List<MediaMeta> result = jdbcTemplate.query(FIND_SQL,
+                (rs, i) -> new MediaMeta(original.getSource(), original.getId(), rs.getString(3), rs.getLong(2),
+                        rs.getString(1), rs.getString(1), rs.getTimestamp(6), (Integer) rs.getObject(4),
+                        (Integer) rs.getObject(5)),
+                original.getHash(), size);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Saves reference to derivative. Existing derivative is kept, because the same content gives the same one.
+     *
+     * @param originalHash SHA-256 of original content
+     * @param size         name of derivative's size
+     * @param hash         SHA-256 of derivative in blob store
+     * @param length       size of derivative in bytes
+     * @param contentType  MIME type of derivative
+     * @param width        width of derivative in pixels
+     * @param height       height of derivative in pixels
+     * @return (0) {@code true} if derivative was saved or <br>
+     * (1) {@code false} if it already exists
+     */
+    public boolean save(String originalHash, String size, String hash, long length, String contentType,
+                        Integer width, Integer height) {
+        return jdbcTemplate.update(SAVE_SQL, originalHash, size, hash, length, contentType, width, height) == 1;
+    }
+}
@@ -0,0 +1,26 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.FileUpload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+@Repository
+public interface FileUploadRepository extends JpaRepository<FileUpload, String> {
+
+    List<FileUpload> findAllByTouchedBefore(Date time);
+
+    /**
+     * Updates time of last activity without loading upload, so parallel chunks don't overwrite each other
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE FileUpload u SET u.touched = :time WHERE u.uploadId = :id")
+    int touch(@Param("id") String uploadId, @Param("time") Date time);
+}
@@ -0,0 +1,200 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Loads batches of imported users, projects, companies and representatives. Batch is sent by {@code COPY} into
+ * temporary table and moved to target table by one {@code INSERT ... ON CONFLICT DO NOTHING}, so rejected row
+ * neither throws nor aborts the batch, and the same statement tells status of every row. Rows repeating name or
+ * email of earlier row in the batch are rejected as duplicates. Owner of project is referenced by name of user,
+ * company of representative by name of company. <br>
+ * Rows are inserted past Hibernate, so cached query results are dropped after every batch.
+ *
+ * @author Yusupov Danil
+ * @see Creation
+ */
+@Repository
+public class ImportRepository {
+
+    /**
+     * Tables filled by import. Values of row are passed in order of {@link #getColumns()}, {@code null} value is
+     * stored as {@code NULL}.
+     */
+    public enum Target {
+        USERS(new String[]{"name", "password", "email", "male", "first_name", "last_name", "country", "city"},
+                "WITH flagged AS ("
+                        + "SELECT r.*, "
+                        + "row_number() OVER (PARTITION BY r.name ORDER BY r.line) > 1 AS name_repeated, "
+                        + "row_number() OVER (PARTITION BY r.email ORDER BY r.line) > 1 AS email_repeated "
+                        + "FROM import_rows r), "
+                        + "created AS ("
+                        + "INSERT INTO aero.users (usr_name, usr_password, usr_email, usr_is_male, usr_level, "
+                        + "usr_rating, usr_first_name, usr_last_name, usr_biography, usr_country, usr_city) "
+                        + "SELECT name, password, email, male::BOOLEAN, 0, 0, coalesce(first_name, ''), "
+                        + "coalesce(last_name, ''), '', coalesce(country, ''), coalesce(city, '') FROM flagged "
+                        + "WHERE NOT name_repeated AND NOT email_repeated ORDER BY line "
+                        + "ON CONFLICT DO NOTHING RETURNING usr_id AS id, usr_name AS name) "
+                        + "SELECT f.line, c.id, "
+                        + "f.name_repeated OR EXISTS (SELECT 1 FROM aero.users WHERE usr_name = f.name), "
+                        + "f.email_repeated OR EXISTS (SELECT 1 FROM aero.users WHERE usr_email = f.email), "
+                        + "FALSE "
+                        + "FROM flagged f LEFT JOIN created c "
+                        + "ON c.name = f.name AND NOT f.name_repeated AND NOT f.email_repeated"),
+        PROJECTS(new String[]{"name", "owner", "type"},
+                "WITH flagged AS ("
+                        + "SELECT r.*, u.usr_id AS owner_id, "
+                        + "row_number() OVER (PARTITION BY r.name ORDER BY r.line) > 1 AS name_repeated "
+                        + "FROM import_rows r LEFT JOIN aero.users u ON u.usr_name = r.owner), "
+                        + "created AS ("
+                        + "INSERT INTO aero.projects (prj_name, prj_type, usr_id) "
+                        + "SELECT name, type, owner_id FROM flagged "
+                        + "WHERE NOT name_repeated AND owner_id IS NOT NULL ORDER BY line "
+                        + "ON CONFLICT DO NOTHING RETURNING prj_id AS id, prj_name AS name) "
+                        + "SELECT f.line, c.id, "
+                        + "f.name_repeated OR EXISTS (SELECT 1 FROM aero.projects WHERE prj_name = f.name), "
+                        + "FALSE, f.owner_id IS NULL "
+                        + "FROM flagged f LEFT JOIN created c ON c.name = f.name AND NOT f.name_repeated"),
+        COMPANIES(new String[]{"name", "website", "logo_url"},
+                "WITH flagged AS ("
+                        + "SELECT r.*, "
+                        + "row_number() OVER (PARTITION BY r.name ORDER BY r.line) > 1 AS name_repeated "
+                        + "FROM import_rows r), "
+                        + "created AS ("
+                        + "INSERT INTO aero.companies (comp_name, comp_website, comp_logo_url) "
+                        + "SELECT name, website, logo_url FROM flagged WHERE NOT name_repeated ORDER BY line "
+                        + "ON CONFLICT DO NOTHING RETURNING comp_id AS id, comp_name AS name) "
+                        + "SELECT f.line, c.id, "
+                        + "f.name_repeated OR EXISTS (SELECT 1 FROM aero.companies WHERE comp_name = f.name), "
+                        + "FALSE, FALSE "
+                        + "FROM flagged f LEFT JOIN created c ON c.name = f.name AND NOT f.name_repeated"),
+        CRS(new String[]{"name", "password", "email", "company", "first_name", "last_name", "position"},
+                "WITH flagged AS ("
+                        + "SELECT r.*, p.comp_id AS owner_id, "
+                        + "row_number() OVER (PARTITION BY r.name ORDER BY r.line) > 1 AS name_repeated, "
+                        + "row_number() OVER (PARTITION BY r.email ORDER BY r.line) > 1 AS email_repeated "
+                        + "FROM import_rows r LEFT JOIN aero.companies p ON p.comp_name = r.company), "
+                        + "created AS ("
+                        + "INSERT INTO aero.company_representatives (cr_name, cr_pass, cr_email, comp_id, "
+                        + "cr_first_name, cr_last_name, cr_position) "
+                        + "SELECT name, password, email, owner_id, coalesce(first_name, ''), "
+                        + "coalesce(last_name, ''), position FROM flagged "
+                        + "WHERE NOT name_repeated AND NOT email_repeated AND owner_id IS NOT NULL ORDER BY line "
+                        + "ON CONFLICT DO NOTHING RETURNING cr_id AS id, cr_name AS name) "
+                        + "SELECT f.line, c.id, "
+                        + "f.name_repeated OR EXISTS (SELECT 1 FROM aero.company_representatives "
+                        + "WHERE cr_name = f.name), "
+                        + "f.email_repeated OR EXISTS (SELECT 1 FROM aero.company_representatives "
+                        + "WHERE cr_email = f.email), "
+                        + "f.owner_id IS NULL "
+                        + "FROM flagged f LEFT JOIN created c "
+                        + "ON c.name = f.name AND NOT f.name_repeated AND NOT f.email_repeated");
+
+        private final String[] columns;
+        private final String createSql;
+        private final String copySql;
+        /**
+         * Outer select sees snapshot taken before insert, so it finds only rows which rejected imported ones
+         */
+        private final String insertSql;
+
+        Target(String[] columns, String insertSql) {
+            this.columns = columns;
+            this.createSql = "CREATE TEMPORARY TABLE import_rows (line INT PRIMARY KEY, "
+                    + String.join(" TEXT, ", columns) + " TEXT) ON COMMIT DROP";
+            this.copySql = "COPY import_rows (line, " + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)";
+            this.insertSql = insertSql;
+        }
+
+        public List<String> getColumns() {
+            return Arrays.asList(columns);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ImportRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Inserts batch of rows. Passwords must be hashed already.
+     *
+     * @param target filled table
+     * @param rows   values of rows in order of {@link Target#getColumns()}
+     * @return {@code Creation} of every row in order of rows: {@code CREATED} with id, {@code DUPLICATE_NAME},
+     * {@code DUPLICATE_EMAIL}, {@code MISSING_OWNER} or {@code CONFLICT}
+     */
+    @Transactional
+    public List<Creation> load(Target target, List<String[]> rows) {
+        Creation[] creations = new Creation[rows.size()];
+        if (rows.isEmpty()) {
+            return Arrays.asList(creations);
+        }
+        // staging table of previous batch is still there if caller's transaction spans several batches
+        jdbcTemplate.execute("DROP TABLE IF EXISTS pg_temp.import_rows");
+        jdbcTemplate.execute(target.createSql);
+        String csv = toCsv(rows);
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            try {
+                return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(target.copySql, new StringReader(csv));
+            } catch (IOException e) {
+                throw new SQLException("Batch wasn't copied to " + target, e);
+            }
+        });
+        boolean[] created = {false};
+        jdbcTemplate.query(target.insertSql, rs -> {
+            long id = rs.getLong(2);
+            Creation creation;
+            if (!rs.wasNull()) {
+                creation = Creation.created(id);
+                created[0] = true;
+            } else if (rs.getBoolean(5)) {
+                creation = Creation.rejected(Creation.Status.MISSING_OWNER);
+            } else if (rs.getBoolean(3)) {
+                creation = Creation.rejected(Creation.Status.DUPLICATE_NAME);
+            } else {
+                creation = Creation.rejected(rs.getBoolean(4)
+                        ? Creation.Status.DUPLICATE_EMAIL : Creation.Status.CONFLICT);
+            }
+            creations[rs.getInt(1)] = creation;
+        });
+        if (created[0]) {
+            QueryRegions.evictAfterInsert(entityManagerFactory);
+        }
+        return Arrays.asList(creations);
+    }
+
+    /**
+     * Formats rows for {@code COPY}: number of row goes first, every value is quoted, so only missing value is
+     * read as {@code NULL}
+     */
+    private static String toCsv(List<String[]> rows) {
+        StringBuilder csv = new StringBuilder(rows.size() * 64);
+        for (int i = 0; i < rows.size(); i++) {
+            csv.append(i);
+            for (String value : rows.get(i)) {
+                csv.append(',');
+                if (value != null) {
+                    csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+        return csv.toString();
+    }
+}
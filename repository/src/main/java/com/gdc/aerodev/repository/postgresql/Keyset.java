@@ -0,0 +1,105 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of rows read by seek: rows are ordered by id and next page starts after id of last row instead of skipping
+ * offset, so every page costs the same index range scan and rows inserted meanwhile neither repeat nor disappear
+ * between pages. Position is passed to client as opaque cursor, which is only handed back to read next page. <br>
+ * Page is read with one extra row to know whether there is next page without counting.
+ *
+ * @author Yusupov Danil
+ */
+public class Keyset<T> {
+
+    /**
+     * Bound of first page. Ids aren't only positive: seeded rows have negative ids.
+     */
+    public static final long FIRST = Long.MIN_VALUE;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final List<T> items;
+    private final String next;
+
+    private Keyset(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    /**
+     * @param rows rows after cursor ordered by id and read with limit {@link #limit(int)}
+     * @param size size of page
+     * @param id   id of row
+     * @return page of first {@code size} rows with cursor of next page, if there are more rows
+     */
+    public static <T> Keyset<T> of(List<T> rows, int size, Function<T, Long> id) {
+        if (rows.size() <= size) {
+            return new Keyset<>(Collections.unmodifiableList(new ArrayList<>(rows)), null);
+        }
+        List<T> items = Collections.unmodifiableList(new ArrayList<>(rows.subList(0, size)));
+        return new Keyset<>(items, cursor(id.apply(items.get(size - 1))));
+    }
+
+    /**
+     * @return number of rows to read for page of {@code size} rows
+     */
+    public static int limit(int size) {
+        return size + 1;
+    }
+
+    /**
+     * @return first {@link #limit(int)} rows of query, which orders them itself
+     */
+    public static Pageable page(int size) {
+        return PageRequest.of(0, limit(size));
+    }
+
+    /**
+     * @param cursor cursor of page or {@code null} for first page
+     * @return id after which page starts, {@link #FIRST} for first page
+     * @throws IllegalArgumentException if cursor wasn't made by {@code Keyset}
+     */
+    public static long after(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return FIRST;
+        }
+        byte[] bytes = DECODER.decode(cursor);
+        if (bytes.length != Long.BYTES) {
+            throw new IllegalArgumentException("Malformed cursor '" + cursor + "'");
+        }
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    static String cursor(long id) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Long.BYTES).putLong(id).array());
+    }
+
+    /**
+     * @return unmodifiable rows of page
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return (0) cursor of next page or <br>
+     * (1) {@code null} if it's last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import java.util.Date;
+
+/**
+ * Describes binary content of one media row without holding the content itself. Content lives either in database
+ * column or in blob store, if {@code hash} is set. Instances are produced by {@code MediaRepository}, they are
+ * enough to render lists of media and to stream content chunk by chunk.
+ *
+ * @author Yusupov Danil
+ * @see MediaRepository
+ */
+public class MediaMeta {
+
+    private final MediaRepository.Source source;
+
+    /**
+     * {@code PRIMARY KEY} of row in table of {@code source}
+     */
+    private final Long id;
+
+    /**
+     * MIME type of content, can be {@code null} if table doesn't store it
+     */
+    private final String contentType;
+
+    /**
+     * Size of content in bytes
+     */
+    private final long length;
+
+    /**
+     * SHA-256 of content in blob store or {@code null} if content is kept in database
+     */
+    private final String hash;
+
+    /**
+     * Strong validator of content, can be {@code null} for content saved before validators were introduced
+     */
+    private final String etag;
+
+    /**
+     * Time of last change of content, can be {@code null} if unknown
+     */
+    private final Date modified;
+
+    /**
+     * Width of image in pixels, {@code null} if unknown or content isn't image
+     */
+    private final Integer width;
+
+    /**
+     * Height of image in pixels, {@code null} if unknown or content isn't image
+     */
+    private final Integer height;
+
+    public MediaMeta(MediaRepository.Source source, Long id, String contentType, long length, String hash,
+                     String etag, Date modified, Integer width, Integer height) {
+        this.source = source;
+        this.id = id;
+        this.contentType = contentType;
+        this.length = length;
+        this.hash = hash;
+        this.etag = etag;
+        this.modified = modified;
+        this.width = width;
+        this.height = height;
+    }
+
+    public MediaRepository.Source getSource() {
+        return source;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Date getModified() {
+        return modified;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public boolean isStored() {
+        return hash != null;
+    }
+
+    public boolean isEmpty() {
+        return length == 0;
+    }
+}
@@ -0,0 +1,157 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Gives access to {@code BYTEA} media columns without mapping whole content into entity. Content is read by
+ * {@code substring()} slices of {@code CHUNK_SIZE} bytes, so memory per reader stays bounded by one chunk and
+ * any byte range can be read without touching the rest of the value.
+ *
+ * @author Yusupov Danil
+ * @see MediaMeta
+ */
+@Repository
+public class MediaRepository {
+
+    /**
+     * Size of one slice read from database
+     */
+    public static final int CHUNK_SIZE = 128 * 1024;
+
+    /**
+     * Tables with binary content
+     */
+    public enum Source {
+        AVATAR("aero.avatars", "av_id", "usr_id", "av_data", "av_type", "av", true),
+        PROJECT_IMAGE("aero.project_images", "img_id", "prj_id", "prj_image", "img_type", "img", true),
+        PROJECT_LOGO("aero.project_content", "id", "prj_id", "prj_logo", null, "logo", true),
+        PROJECT_FILE("aero.project_files", "file_id", "prj_id", "file", "content_type", "file", false);
+
+        private final String describeSql;
+        private final String describeAllSql;
+        private final String sliceSql;
+        private final String pendingSql;
+        private final String movedSql;
+
+        /**
+         * @param ownerColumn {@code FOREIGN KEY} to owner of content
+         * @param prefix      common prefix of {@code _hash}, {@code _size}, {@code _etag}, {@code _modified} and
+         *                    dimension columns
+         * @param image       content is image with {@code _width} and {@code _height} columns
+         */
+        Source(String table, String idColumn, String ownerColumn, String dataColumn, String typeColumn, String prefix,
+               boolean image) {
+            String hashColumn = prefix + "_hash";
+            String sizeColumn = prefix + "_size";
+            String columns = idColumn + ", " + (typeColumn == null ? "NULL" : typeColumn) + ", COALESCE(" + sizeColumn
+                    + ", octet_length(" + dataColumn + ")), " + hashColumn + ", " + prefix + "_etag, " + prefix
+                    + "_modified, " + (image ? prefix + "_width, " + prefix + "_height" : "NULL, NULL");
+            this.describeSql = "SELECT " + columns + " FROM " + table + " WHERE " + idColumn + " = ?";
+            this.describeAllSql = "SELECT " + columns + " FROM " + table + " WHERE " + ownerColumn + " = ? ORDER BY "
+                    + idColumn;
+            this.sliceSql = "SELECT substring(" + dataColumn + " FROM ? FOR ?) FROM " + table + " WHERE " + idColumn + " = ?";
+            this.pendingSql = "SELECT " + idColumn + " FROM " + table + " WHERE " + hashColumn + " IS NULL AND "
+                    + dataColumn + " IS NOT NULL AND " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?";
+            this.movedSql = "UPDATE " + table + " SET " + hashColumn + " = ?, " + sizeColumn + " = ?, " + dataColumn
+                    + " = NULL WHERE " + idColumn + " = ? AND " + hashColumn + " IS NULL";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public MediaRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Takes type, size and validators of content without loading it
+     *
+     * @param source table of content
+     * @param id     id of row
+     * @return (0) {@code MediaMeta} or <br>
+     * (1) {@code null} if there is no such row
+     */
+    public MediaMeta describe(Source source, Long id) {
+        List<MediaMeta> result = jdbcTemplate.query(source.describeSql, mapper(source), id);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    /**
+     * Takes metadata of all content of one owner without loading content
+     *
+     * @param source  table of content
+     * @param ownerId id of {@code User} for avatars or {@code Project} for other sources
+     * @return list of {@code MediaMeta} ordered by id
+     */
+    public List<MediaMeta> describeAll(Source source, Long ownerId) {
+        return jdbcTemplate.query(source.describeAllSql, mapper(source), ownerId);
+    }
+
+    /**
+     * Copies part of database content to output stream slice by slice. Every slice is read by separate statement, so
+     * connection isn't held while client receives data.
+     *
+     * @param media  described content
+     * @param offset first byte to copy, starts from 0
+     * @param length number of bytes to copy
+     * @param out    target stream
+     * @return number of copied bytes
+     * @throws IOException if target stream fails
+     */
+    public long copy(MediaMeta media, long offset, long length, OutputStream out) throws IOException {
+        long end = Math.min(offset + length, media.getLength());
+        long position = offset;
+        while (position < end) {
+            int size = (int) Math.min(CHUNK_SIZE, end - position);
+            // BYTEA can't exceed 1 GB, so int position is enough for substring()
+            List<byte[]> slice = jdbcTemplate.query(media.getSource().sliceSql,
+                    (rs, i) -> rs.getBytes(1), (int) position + 1, size, media.getId());
+            if (slice.isEmpty() || slice.get(0) == null || slice.get(0).length == 0) {
+                break;
+            }
+            out.write(slice.get(0));
+            position += slice.get(0).length;
+        }
+        return position - offset;
+    }
+
+    /**
+     * Finds rows which content is still kept in database. Rows are ordered by id, so whole table can be walked
+     * batch by batch passing last found id as {@code afterId}.
+     *
+     * @param source  table of content
+     * @param afterId id to start after, use {@link Keyset#FIRST} for first batch
+     * @param limit   maximal size of batch
+     * @return ids of rows with content in database
+     */
+    public List<Long> findInDatabase(Source source, Long afterId, int limit) {
+        return jdbcTemplate.queryForList(source.pendingSql, Long.class, afterId, limit);
+    }
+
+    /**
+     * Replaces database content of row by reference to blob store
+     *
+     * @param source table of content
+     * @param id     id of row
+     * @param hash   SHA-256 of content in blob store
+     * @param size   size of content in bytes
+     * @return (0) {@code true} if database content was released or <br>
+     * (1) {@code false} if row was removed or moved already
+     */
+    public boolean markMoved(Source source, Long id, String hash, long size) {
+        return jdbcTemplate.update(source.movedSql, hash, size, id) == 1;
+    }
+
+    private RowMapper<MediaMeta> mapper(Source source) {
+        return (rs, i) -> new MediaMeta(source, rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getString(4),
+                rs.getString(5), rs.getTimestamp(6), (Integer) rs.getObject(7), (Integer) rs.getObject(8));
+    }
+}
@@ -0,0 +1,82 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.function.Consumer;
+
+/**
+ * Reads unique names of users and projects without loading entities. All names can be streamed by one query,
+ * single name is checked by it's {@code UNIQUE} index.
+ *
+ * @author Yusupov Danil
+ */
+@Repository
+public class NameRepository {
+
+    /**
+     * Columns with unique names
+     */
+    public enum Kind {
+        USER_NAME("aero.users", "usr_name"),
+        USER_EMAIL("aero.users", "usr_email"),
+        PROJECT_NAME("aero.projects", "prj_name");
+
+        private final String allSql;
+        private final String existsSql;
+
+        Kind(String table, String column) {
+            this.allSql = "SELECT " + column + " FROM " + table;
+            this.existsSql = "SELECT EXISTS (SELECT 1 FROM " + table + " WHERE " + column + " = ?)";
+        }
+    }
+
+    /**
+     * Number of names fetched by one round trip while streaming
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public NameRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Passes every name to consumer. Names are fetched by cursor, so memory doesn't depend on number of rows.
+     *
+     * @param kind     column of names
+     * @param consumer receiver of names
+     */
+    @Transactional(readOnly = true)
+    public void forEach(Kind kind, Consumer<String> consumer) {
+        // PostgreSQL driver fetches by cursor only inside transaction
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(kind.allSql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    /**
+     * @param kind column of names
+     * @param name checked name
+     * @return {@code true} if name is taken
+     */
+    public boolean exists(Kind kind, String name) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(kind.existsSql, Boolean.class, name));
+    }
+
+    /**
+     * @param kind column of names
+     * @return number of names
+     */
+    public long count(Kind kind) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM (" + kind.allSql + ") names", Long.class);
+    }
+}
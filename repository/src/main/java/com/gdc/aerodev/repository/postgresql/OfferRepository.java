@@ -3,7 +3,10 @@ package com.gdc.aerodev.repository.postgresql;
 import com.gdc.aerodev.model.Cr;
 import com.gdc.aerodev.model.Offer;
 import com.gdc.aerodev.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +15,15 @@ import java.util.List;
 public interface OfferRepository extends JpaRepository<Offer, Long> {
     List<Offer> findAllByOfferedUser(User user);
     List<Offer> findAllByOfferedCr(Cr companyRepresentative);
-}
\ No newline at end of file
+
+    /**
+     * Pages of {@link Keyset}: offers to user or of representative with id greater than {@code after} ordered by id,
+     * both are read by index on owner and id
+     */
+    @Query("SELECT o FROM Offer o WHERE o.offeredUser = :user AND o.offerId > :after ORDER BY o.offerId")
+    List<Offer> findPageByOfferedUser(@Param("user") User user, @Param("after") long after, Pageable page);
+
+    @Query("SELECT o FROM Offer o WHERE o.offeredCr = :cr AND o.offerId > :after ORDER BY o.offerId")
+    List<Offer> findPageByOfferedCr(@Param("cr") Cr companyRepresentative, @Param("after") long after,
+                                    Pageable page);
+}
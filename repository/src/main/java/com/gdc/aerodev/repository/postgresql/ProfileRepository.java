@@ -0,0 +1,92 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.Offer;
+import com.gdc.aerodev.model.ProjectType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Reads {@link ProfileView} by three queries whatever number of projects and offers user has: user, first page of
+ * his projects and first page of his offers joined with representatives and companies. Further pages are read by
+ * seek after id of last row, which is range scan of indexes on owner and id. Binary and secret columns are never
+ * selected.
+ *
+ * @author Yusupov Danil
+ * @see ProfileView
+ */
+@Repository
+public class ProfileRepository {
+
+    private static final String USER_SQL = "SELECT usr_id, usr_name, usr_first_name, usr_last_name, usr_biography, "
+            + "usr_country, usr_city, usr_rating, usr_views FROM aero.users WHERE usr_id = ?";
+
+    private static final String PROJECTS_SQL = "SELECT prj_id, prj_name, prj_type FROM aero.projects "
+            + "WHERE usr_id = ? AND prj_id > ? ORDER BY prj_id LIMIT ?";
+
+    private static final String OFFERS_SQL = "SELECT o.off_id, o.status, o.off_description, "
+            + "c.cr_id, c.cr_first_name, c.cr_last_name, c.cr_position, "
+            + "m.comp_id, m.comp_name, m.comp_website, m.comp_logo_url "
+            + "FROM aero.offers o "
+            + "LEFT JOIN aero.company_representatives c ON c.cr_id = o.cr_id "
+            + "LEFT JOIN aero.companies m ON m.comp_id = c.comp_id "
+            + "WHERE o.usr_id = ? AND o.off_id > ? ORDER BY o.off_id LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProfileRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param userId id of user
+     * @param size   size of pages of projects and offers
+     * @return (0) view of user's profile or <br>
+     * (1) {@code null} if there is no such user
+     */
+    public ProfileView find(Long userId, int size) {
+        List<ProfileView.UserEntry> users = jdbcTemplate.query(USER_SQL, (rs, i) -> new ProfileView.UserEntry(
+                rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                rs.getString(6), rs.getString(7), rs.getInt(8), rs.getLong(9)), userId);
+        if (users.isEmpty()) {
+            return null;
+        }
+        return new ProfileView(users.get(0), findProjects(userId, Keyset.FIRST, size),
+                findOffers(userId, Keyset.FIRST, size));
+    }
+
+    /**
+     * @param userId id of user
+     * @param after  id after which page starts, see {@link Keyset#after(String)}
+     * @param size   size of page
+     * @return page of user's projects ordered by id, empty if there is no such user
+     */
+    public Keyset<ProfileView.ProjectEntry> findProjects(Long userId, long after, int size) {
+        List<ProfileView.ProjectEntry> projects = jdbcTemplate.query(PROJECTS_SQL, (rs, i) ->
+                new ProfileView.ProjectEntry(rs.getLong(1), rs.getString(2),
+                        rs.getString(3) == null ? null : ProjectType.valueOf(rs.getString(3))),
+                userId, after, Keyset.limit(size));
+        return Keyset.of(projects, size, ProfileView.ProjectEntry::getProjectId);
+    }
+
+    /**
+     * @param userId id of user
+     * @param after  id after which page starts, see {@link Keyset#after(String)}
+     * @param size   size of page
+     * @return page of offers to user ordered by id, empty if there is no such user
+     */
+    public Keyset<ProfileView.OfferEntry> findOffers(Long userId, long after, int size) {
+        List<ProfileView.OfferEntry> offers = jdbcTemplate.query(OFFERS_SQL, (rs, i) -> {
+            ProfileView.CompanyEntry company = rs.getObject(8) == null ? null : new ProfileView.CompanyEntry(
+                    rs.getLong(8), rs.getString(9), rs.getString(10), rs.getString(11));
+            ProfileView.CrEntry cr = rs.getObject(4) == null ? null : new ProfileView.CrEntry(rs.getLong(4),
+                    rs.getString(5), rs.getString(6), rs.getString(7), company);
+            return new ProfileView.OfferEntry(rs.getLong(1),
+                    rs.getString(2) == null ? null : Offer.Status.valueOf(rs.getString(2)), rs.getString(3), cr);
+        }, userId, after, Keyset.limit(size));
+        return Keyset.of(offers, size, ProfileView.OfferEntry::getOfferId);
+    }
+}
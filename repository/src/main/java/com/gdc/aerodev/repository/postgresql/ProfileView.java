@@ -0,0 +1,247 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.Offer;
+import com.gdc.aerodev.model.ProjectType;
+
+/**
+ * Everything shown on user and profile pages: user, first pages of his projects and offers with their company
+ * representatives and companies. All parts are immutable copies of rows, so rendering of page can't trigger lazy
+ * loading of entities.
+ *
+ * @author Yusupov Danil
+ * @see ProfileRepository
+ */
+public class ProfileView {
+
+    private final UserEntry user;
+    private final Keyset<ProjectEntry> projects;
+    private final Keyset<OfferEntry> offers;
+
+    public ProfileView(UserEntry user, Keyset<ProjectEntry> projects, Keyset<OfferEntry> offers) {
+        this.user = user;
+        this.projects = projects;
+        this.offers = offers;
+    }
+
+    public UserEntry getUser() {
+        return user;
+    }
+
+    /**
+     * @return first page of projects of user ordered by id
+     */
+    public Keyset<ProjectEntry> getProjects() {
+        return projects;
+    }
+
+    /**
+     * @return first page of offers to user ordered by id
+     */
+    public Keyset<OfferEntry> getOffers() {
+        return offers;
+    }
+
+    /**
+     * Public info of user
+     */
+    public static class UserEntry {
+        private final Long userId;
+        private final String userName;
+        private final String userFirstName;
+        private final String userLastName;
+        private final String userBiography;
+        private final String userCountry;
+        private final String userCity;
+        private final int userRating;
+        private final long userViews;
+
+        public UserEntry(Long userId, String userName, String userFirstName, String userLastName,
+                         String userBiography, String userCountry, String userCity, int userRating, long userViews) {
+            this.userId = userId;
+            this.userName = userName;
+            this.userFirstName = userFirstName;
+            this.userLastName = userLastName;
+            this.userBiography = userBiography;
+            this.userCountry = userCountry;
+            this.userCity = userCity;
+            this.userRating = userRating;
+            this.userViews = userViews;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public String getUserFirstName() {
+            return userFirstName;
+        }
+
+        public String getUserLastName() {
+            return userLastName;
+        }
+
+        public String getUserBiography() {
+            return userBiography;
+        }
+
+        public String getUserCountry() {
+            return userCountry;
+        }
+
+        public String getUserCity() {
+            return userCity;
+        }
+
+        public int getUserRating() {
+            return userRating;
+        }
+
+        public long getUserViews() {
+            return userViews;
+        }
+    }
+
+    /**
+     * Project in list of user's projects
+     */
+    public static class ProjectEntry {
+        private final Long projectId;
+        private final String projectName;
+        private final ProjectType projectType;
+
+        public ProjectEntry(Long projectId, String projectName, ProjectType projectType) {
+            this.projectId = projectId;
+            this.projectName = projectName;
+            this.projectType = projectType;
+        }
+
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        public String getProjectName() {
+            return projectName;
+        }
+
+        public ProjectType getProjectType() {
+            return projectType;
+        }
+    }
+
+    /**
+     * Offer to user with representative, who made it
+     */
+    public static class OfferEntry {
+        private final Long offerId;
+        private final Offer.Status status;
+        private final String offerDescription;
+        private final CrEntry cr;
+
+        public OfferEntry(Long offerId, Offer.Status status, String offerDescription, CrEntry cr) {
+            this.offerId = offerId;
+            this.status = status;
+            this.offerDescription = offerDescription;
+            this.cr = cr;
+        }
+
+        public Long getOfferId() {
+            return offerId;
+        }
+
+        public Offer.Status getStatus() {
+            return status;
+        }
+
+        public String getOfferDescription() {
+            return offerDescription;
+        }
+
+        /**
+         * @return (0) representative, who made offer or <br>
+         * (1) {@code null} if offer has no representative
+         */
+        public CrEntry getCr() {
+            return cr;
+        }
+    }
+
+    /**
+     * Company representative without credentials
+     */
+    public static class CrEntry {
+        private final Long crId;
+        private final String crFirstName;
+        private final String crLastName;
+        private final String crPosition;
+        private final CompanyEntry company;
+
+        public CrEntry(Long crId, String crFirstName, String crLastName, String crPosition, CompanyEntry company) {
+            this.crId = crId;
+            this.crFirstName = crFirstName;
+            this.crLastName = crLastName;
+            this.crPosition = crPosition;
+            this.company = company;
+        }
+
+        public Long getCrId() {
+            return crId;
+        }
+
+        public String getCrFirstName() {
+            return crFirstName;
+        }
+
+        public String getCrLastName() {
+            return crLastName;
+        }
+
+        public String getCrPosition() {
+            return crPosition;
+        }
+
+        /**
+         * @return (0) company of representative or <br>
+         * (1) {@code null} if representative has no company
+         */
+        public CompanyEntry getCompany() {
+            return company;
+        }
+    }
+
+    /**
+     * Company of representative
+     */
+    public static class CompanyEntry {
+        private final Long compId;
+        private final String compName;
+        private final String compWebsite;
+        private final String compLogoUrl;
+
+        public CompanyEntry(Long compId, String compName, String compWebsite, String compLogoUrl) {
+            this.compId = compId;
+            this.compName = compName;
+            this.compWebsite = compWebsite;
+            this.compLogoUrl = compLogoUrl;
+        }
+
+        public Long getCompId() {
+            return compId;
+        }
+
+        public String getCompName() {
+            return compName;
+        }
+
+        public String getCompWebsite() {
+            return compWebsite;
+        }
+
+        public String getCompLogoUrl() {
+            return compLogoUrl;
+        }
+    }
+}
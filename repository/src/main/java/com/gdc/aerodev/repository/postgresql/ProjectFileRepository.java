@@ -3,6 +3,8 @@ package com.gdc.aerodev.repository.postgresql;
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectFile;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,14 @@ import java.util.List;
 @Repository
 public interface ProjectFileRepository extends JpaRepository<ProjectFile, Long> {
     List<ProjectFile> findAllByProject(Project project);
+
+    /**
+     * Takes original name of file without loading it's content
+     *
+     * @param fileId id of file
+     * @return (0) name of file or <br>
+     * (1) {@code null} if there is no such file or it has no name
+     */
+    @Query("SELECT f.fileName FROM ProjectFile f WHERE f.fileId = :id")
+    String findFileName(@Param("id") Long fileId);
 }
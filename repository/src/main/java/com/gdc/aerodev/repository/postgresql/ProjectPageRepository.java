@@ -0,0 +1,76 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.ProjectType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@link ProjectPageView} by one query. Project is joined with it's owner and content, ids of images and
+ * files are collected by {@code ARRAY()} subqueries. Binary columns are never selected, size of file is taken from
+ * {@code file_size} or {@code octet_length()}, which doesn't read content.
+ *
+ * @author Yusupov Danil
+ * @see ProjectPageView
+ */
+@Repository
+public class ProjectPageRepository {
+
+    private static final String SELECT_SQL = "SELECT p.prj_id, p.prj_name, p.prj_type, p.usr_id, u.usr_name, "
+            + "c.prj_description, c.prj_date, "
+            + "ARRAY(SELECT i.img_id FROM aero.project_images i WHERE i.prj_id = p.prj_id ORDER BY i.img_id), "
+            + "ARRAY(SELECT f.file_id FROM aero.project_files f WHERE f.prj_id = p.prj_id ORDER BY f.file_id), "
+            + "ARRAY(SELECT COALESCE(f.file_size, octet_length(f.file)) FROM aero.project_files f "
+            + "WHERE f.prj_id = p.prj_id ORDER BY f.file_id) "
+            + "FROM aero.projects p "
+            + "JOIN aero.users u ON u.usr_id = p.usr_id "
+            + "LEFT JOIN aero.project_content c ON c.prj_id = p.prj_id "
+            + "WHERE p.prj_id = ?";
+
+    private static final RowMapper<ProjectPageView> MAPPER = (rs, i) -> {
+        List<Long> fileIds = longs(rs.getArray(9));
+        List<Long> fileSizes = longs(rs.getArray(10));
+        List<ProjectPageView.FileEntry> files = new ArrayList<>(fileIds.size());
+        for (int j = 0; j < fileIds.size(); j++) {
+            files.add(new ProjectPageView.FileEntry(fileIds.get(j), fileSizes.get(j) == null ? 0 : fileSizes.get(j)));
+        }
+        return new ProjectPageView(rs.getLong(1), rs.getString(2),
+                rs.getString(3) == null ? null : ProjectType.valueOf(rs.getString(3)), rs.getLong(4),
+                rs.getString(5), rs.getString(6), rs.getTimestamp(7), longs(rs.getArray(8)), files);
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProjectPageRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @param projectId id of project
+     * @return (0) view of project page or <br>
+     * (1) {@code null} if there is no such project
+     */
+    public ProjectPageView find(Long projectId) {
+        List<ProjectPageView> result = jdbcTemplate.query(SELECT_SQL, MAPPER, projectId);
+        return result.isEmpty() ? null : result.get(0);
+    }
+
+    private static List<Long> longs(Array array) throws SQLException {
+        if (array == null) {
+            return new ArrayList<>();
+        }
+        List<Long> result = new ArrayList<>();
+        for (Object value : (Object[]) array.getArray()) {
+            result.add(value == null ? null : ((Number) value).longValue());
+        }
+        array.free();
+        return result;
+    }
+}
@@ -0,0 +1,120 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.ProjectType;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Everything shown on project page except binary content, which is requested by page separately. It's read by
+ * {@link ProjectPageRepository} in one query, so page doesn't load project, it's owner and content one by one.
+ *
+ * @author Yusupov Danil
+ * @see ProjectPageRepository
+ */
+public class ProjectPageView {
+
+    private final Long projectId;
+    private final String projectName;
+    private final ProjectType projectType;
+    private final Long ownerId;
+    private final String ownerName;
+    private final String description;
+    private final Date birthDay;
+    private final List<Long> imageIds;
+    private final List<FileEntry> files;
+
+    public ProjectPageView(Long projectId, String projectName, ProjectType projectType, Long ownerId,
+                           String ownerName, String description, Date birthDay, List<Long> imageIds,
+                           List<FileEntry> files) {
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.projectType = projectType;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.description = description;
+        this.birthDay = birthDay;
+        this.imageIds = Collections.unmodifiableList(imageIds);
+        this.files = Collections.unmodifiableList(files);
+    }
+
+    /**
+     * @return copy of this view with given image ids, e.g. with default image for project without images
+     */
+    public ProjectPageView withImageIds(List<Long> imageIds) {
+        return new ProjectPageView(projectId, projectName, projectType, ownerId, ownerName, description, birthDay,
+                imageIds, files);
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public ProjectType getProjectType() {
+        return projectType;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    /**
+     * @return (0) description of project or <br>
+     * (1) {@code null} if project has no content yet
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return (0) date of project or <br>
+     * (1) {@code null} if project has no content yet
+     */
+    public Date getBirthDay() {
+        return birthDay;
+    }
+
+    /**
+     * @return ids of images ordered by id
+     */
+    public List<Long> getImageIds() {
+        return imageIds;
+    }
+
+    /**
+     * @return files ordered by id
+     */
+    public List<FileEntry> getFiles() {
+        return files;
+    }
+
+    /**
+     * Id and size of project file
+     */
+    public static class FileEntry {
+        private final Long id;
+        private final long length;
+
+        public FileEntry(Long id, long length) {
+            this.id = id;
+            this.length = length;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
@@ -2,19 +2,36 @@ package com.gdc.aerodev.repository.postgresql;
 
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Project findByProjectId(Long id);
 
     Project findByProjectName(String name);
 
     List<Project> findAllByOwner(User user);
 
+    /**
+     * Reads page of {@link Keyset} by index on owner and id
+     *
+     * @param owner owner of projects
+     * @param after id after which page starts
+     * @param page  {@link Keyset#page(int)}
+     * @return projects of owner with id greater than {@code after} ordered by id
+     */
+    @Query("SELECT p FROM Project p WHERE p.owner = :owner AND p.projectId > :after ORDER BY p.projectId")
+    List<Project> findPageByOwner(@Param("owner") User owner, @Param("after") long after, Pageable page);
+
     // TODO: 16.07.2018 get top three
 }
@@ -0,0 +1,70 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.ProjectType;
+
+import java.util.Date;
+
+/**
+ * Signals of project popularity taken from database without loading project
+ *
+ * @author Yusupov Danil
+ * @see ProjectStatsRepository
+ */
+public class ProjectStats {
+
+    private final Long projectId;
+    private final Long ownerId;
+    private final ProjectType projectType;
+    private final Date created;
+    private final long views;
+    private final int images;
+    private final int offers;
+
+    public ProjectStats(Long projectId, Long ownerId, ProjectType projectType, Date created, long views, int images,
+                        int offers) {
+        this.projectId = projectId;
+        this.ownerId = ownerId;
+        this.projectType = projectType;
+        this.created = created;
+        this.views = views;
+        this.images = images;
+        this.offers = offers;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public ProjectType getProjectType() {
+        return projectType;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    /**
+     * @return number of views of project flushed to database
+     */
+    public long getViews() {
+        return views;
+    }
+
+    /**
+     * @return number of images of project
+     */
+    public int getImages() {
+        return images;
+    }
+
+    /**
+     * @return number of offers to owner of project
+     */
+    public int getOffers() {
+        return offers;
+    }
+}
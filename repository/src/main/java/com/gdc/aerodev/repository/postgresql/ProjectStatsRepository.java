@@ -0,0 +1,52 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.ProjectType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Counts signals of project popularity by aggregate queries, projects and their content aren't loaded
+ *
+ * @author Yusupov Danil
+ * @see ProjectStats
+ */
+@Repository
+public class ProjectStatsRepository {
+
+    private static final String SELECT_SQL = "SELECT p.prj_id, p.usr_id, p.prj_type, p.prj_created, p.prj_views, "
+            + "(SELECT COUNT(*) FROM aero.project_images i WHERE i.prj_id = p.prj_id), "
+            + "(SELECT COUNT(*) FROM aero.offers o WHERE o.usr_id = p.usr_id) "
+            + "FROM aero.projects p";
+
+    private static final RowMapper<ProjectStats> MAPPER = (rs, i) -> new ProjectStats(rs.getLong(1), rs.getLong(2),
+            rs.getString(3) == null ? null : ProjectType.valueOf(rs.getString(3)), rs.getTimestamp(4),
+            rs.getLong(5), rs.getInt(6), rs.getInt(7));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ProjectStatsRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return stats of all projects
+     */
+    public List<ProjectStats> findAll() {
+        return jdbcTemplate.query(SELECT_SQL, MAPPER);
+    }
+
+    /**
+     * @param projectId id of project
+     * @return (0) stats of project or <br>
+     * (1) {@code null} if there is no such project
+     */
+    public ProjectStats find(Long projectId) {
+        List<ProjectStats> result = jdbcTemplate.query(SELECT_SQL + " WHERE p.prj_id = ?", MAPPER, projectId);
+        return result.isEmpty() ? null : result.get(0);
+    }
+}
@@ -0,0 +1,39 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.hibernate.Cache;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Drops cached query results after rows were inserted past Hibernate, otherwise cached lookup by name could miss
+ * inserted row.
+ *
+ * @author Yusupov Danil
+ */
+class QueryRegions {
+
+    private QueryRegions() {
+    }
+
+    /**
+     * Drops cached queries at once, so current transaction sees inserted rows, and once more after transaction ends,
+     * because other transactions could cache results read before commit
+     */
+    static void evictAfterInsert(EntityManagerFactory entityManagerFactory) {
+        evict(entityManagerFactory);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(entityManagerFactory);
+                }
+            });
+        }
+    }
+
+    private static void evict(EntityManagerFactory entityManagerFactory) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegions();
+    }
+}
@@ -0,0 +1,13 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import com.gdc.aerodev.model.UploadChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface UploadChunkRepository extends JpaRepository<UploadChunk, Long> {
+
+    List<UploadChunk> findAllByUploadIdOrderByOffset(String uploadId);
+}
@@ -4,20 +4,46 @@ import com.gdc.aerodev.model.User;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     User findByUserId(Long id);
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     User findByUserName(String userName);
 
     User findByUserEmail(String email);
 
     @Query("SELECT u FROM User u ORDER BY u.userRating DESC")
     List<User> ratingOrdered(Pageable pageable);
+
+    /**
+     * Takes ratings of all users without loading users
+     *
+     * @return list of {@code [usr_id, usr_rating]} pairs
+     */
+    @Query("SELECT u.userId, u.userRating FROM User u")
+    List<Object[]> findAllRatings();
+
+    /**
+     * Changes rating without loading user
+     *
+     * @return number of updated users
+     */
+    @Modifying(clearAutomatically = true)
+    @Transactional
+    @Query("UPDATE User u SET u.userRating = :rating WHERE u.userId = :id")
+    int updateRating(@Param("id") Long userId, @Param("rating") int rating);
 }
\ No newline at end of file
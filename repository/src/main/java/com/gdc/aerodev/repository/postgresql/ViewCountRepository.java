@@ -0,0 +1,71 @@
+package com.gdc.aerodev.repository.postgresql;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Adds page views counted in memory to counter columns. All deltas of one table are written by single
+ * {@code UPDATE} joined with {@code unnest()} of id and delta arrays, so flush costs one round trip whatever number
+ * of rows it touches.
+ *
+ * @author Yusupov Danil
+ */
+@Repository
+public class ViewCountRepository {
+
+    /**
+     * Tables with view counters
+     */
+    public enum Target {
+        PROJECT("aero.projects", "prj_id", "prj_views"),
+        USER("aero.users", "usr_id", "usr_views");
+
+        private final String addSql;
+        private final String selectSql;
+
+        Target(String table, String idColumn, String viewsColumn) {
+            this.addSql = "UPDATE " + table + " t SET " + viewsColumn + " = t." + viewsColumn + " + d.delta "
+                    + "FROM unnest(?::BIGINT[], ?::BIGINT[]) AS d(id, delta) WHERE t." + idColumn + " = d.id";
+            this.selectSql = "SELECT " + viewsColumn + " FROM " + table + " WHERE " + idColumn + " = ?";
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public ViewCountRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds deltas to counters, rows which were removed are skipped
+     *
+     * @param target table of counters
+     * @param ids    ids of rows
+     * @param deltas views to add, {@code deltas[i]} belongs to {@code ids[i]}
+     * @return number of updated rows
+     */
+    public int add(Target target, Long[] ids, Long[] deltas) {
+        if (ids.length == 0) {
+            return 0;
+        }
+        return jdbcTemplate.update(target.addSql, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids));
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", deltas));
+        });
+    }
+
+    /**
+     * @param target table of counters
+     * @param id     id of row
+     * @return (0) stored number of views or <br>
+     * (1) {@code 0} if there is no such row
+     */
+    public long find(Target target, Long id) {
+        List<Long> result = jdbcTemplate.queryForList(target.selectSql, Long.class, id);
+        return result.isEmpty() ? 0 : result.get(0);
+    }
+}
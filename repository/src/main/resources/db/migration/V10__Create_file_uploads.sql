@@ -0,0 +1,24 @@
+-- Chunked uploads, see service module migration V27
+
+ALTER TABLE aero.project_files ADD COLUMN file_name VARCHAR(255);
+
+CREATE TABLE aero.file_uploads (
+  upl_id       VARCHAR(36)  PRIMARY KEY,
+  prj_id       INTEGER      NOT NULL REFERENCES aero.projects ON DELETE CASCADE,
+  usr_id       INTEGER      NOT NULL REFERENCES aero.users ON DELETE CASCADE,
+  file_name    VARCHAR(255) NOT NULL,
+  content_type VARCHAR(255),
+  upl_size     BIGINT       NOT NULL CHECK (upl_size >= 0),
+  upl_created  TIMESTAMP    NOT NULL DEFAULT now(),
+  upl_touched  TIMESTAMP    NOT NULL DEFAULT now()
+);
+
+CREATE TABLE aero.upload_chunks (
+  chunk_id     SERIAL PRIMARY KEY,
+  upl_id       VARCHAR(36) NOT NULL REFERENCES aero.file_uploads ON DELETE CASCADE,
+  chunk_offset BIGINT      NOT NULL CHECK (chunk_offset >= 0),
+  chunk_length BIGINT      NOT NULL CHECK (chunk_length > 0)
+);
+
+CREATE INDEX chunk_upl_idx ON aero.upload_chunks (upl_id);
+CREATE INDEX upl_touched_idx ON aero.file_uploads (upl_touched);
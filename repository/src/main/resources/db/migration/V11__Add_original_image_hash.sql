@@ -0,0 +1,5 @@
+-- Hashes of originals of re-encoded images, kept in blob store only if aerodev.image-encoding.keep-original is set.
+
+ALTER TABLE aero.avatars ADD COLUMN av_orig_hash VARCHAR(64);
+ALTER TABLE aero.project_images ADD COLUMN img_orig_hash VARCHAR(64);
+ALTER TABLE aero.project_content ADD COLUMN logo_orig_hash VARCHAR(64);
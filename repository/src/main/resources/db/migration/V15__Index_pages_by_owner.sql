@@ -0,0 +1,10 @@
+-- Pages of projects, offers and representatives are read after id of last row of previous page. Indexes on owner
+-- and id let every page be range scan, which stops after size of page.
+
+CREATE INDEX prj_usr_idx ON aero.projects (usr_id, prj_id);
+
+DROP INDEX aero.off_usr_idx;
+CREATE INDEX off_usr_idx ON aero.offers (usr_id, off_id);
+CREATE INDEX off_cr_idx ON aero.offers (cr_id, off_id);
+
+CREATE INDEX cr_comp_idx ON aero.company_representatives (comp_id, cr_id);
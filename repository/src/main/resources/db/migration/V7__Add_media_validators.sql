@@ -0,0 +1,17 @@
+-- Media validators, see service module migration V24
+
+ALTER TABLE aero.avatars ADD COLUMN av_etag VARCHAR(64);
+ALTER TABLE aero.avatars ADD COLUMN av_modified TIMESTAMP DEFAULT now();
+UPDATE aero.avatars SET av_etag = COALESCE(av_hash, md5(av_data));
+
+ALTER TABLE aero.project_images ADD COLUMN img_etag VARCHAR(64);
+ALTER TABLE aero.project_images ADD COLUMN img_modified TIMESTAMP DEFAULT now();
+UPDATE aero.project_images SET img_etag = COALESCE(img_hash, md5(prj_image));
+
+ALTER TABLE aero.project_content ADD COLUMN logo_etag VARCHAR(64);
+ALTER TABLE aero.project_content ADD COLUMN logo_modified TIMESTAMP DEFAULT now();
+UPDATE aero.project_content SET logo_etag = COALESCE(logo_hash, md5(prj_logo));
+
+ALTER TABLE aero.project_files ADD COLUMN file_etag VARCHAR(64);
+ALTER TABLE aero.project_files ADD COLUMN file_modified TIMESTAMP DEFAULT now();
+UPDATE aero.project_files SET file_etag = COALESCE(file_hash, md5(file));
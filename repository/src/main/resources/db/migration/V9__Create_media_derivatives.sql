@@ -0,0 +1,13 @@
+-- Derivatives of images, see service module migration V26
+
+CREATE TABLE aero.media_derivatives (
+  orig_hash  VARCHAR(64) NOT NULL,
+  drv_size   VARCHAR(16) NOT NULL,
+  drv_hash   VARCHAR(64) NOT NULL,
+  drv_length BIGINT      NOT NULL,
+  drv_type   VARCHAR(255),
+  drv_width  INTEGER,
+  drv_height INTEGER,
+  drv_date   TIMESTAMP   NOT NULL DEFAULT now(),
+  CONSTRAINT drv_pk PRIMARY KEY (orig_hash, drv_size)
+);
@@ -77,13 +77,13 @@ public class AvatarRepositoryTest extends FileSharer {
         User user = userRepository.findByUserId(userTwoId);
         Avatar avatar = new Avatar(null, "");
         avatar.setUser(user);
-        repository.save(avatar);
+        repository.saveAndFlush(avatar);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveProjectNullTest() {
         Avatar avatar = new Avatar(new byte[]{}, "");
-        repository.save(avatar);
+        repository.saveAndFlush(avatar);
     }
 
     private Avatar createAvatar() {
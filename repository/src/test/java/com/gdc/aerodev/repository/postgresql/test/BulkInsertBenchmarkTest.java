@@ -0,0 +1,90 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Company;
+import com.gdc.aerodev.model.Cr;
+import com.gdc.aerodev.repository.postgresql.CompanyRepository;
+import com.gdc.aerodev.repository.postgresql.CrRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Measures throughput of inserting companies with their representatives by Hibernate. Rows of both tables are
+ * persisted interleaved, as service would do it, so ordering of inserts is measured too. Number of rows is set by
+ * {@code -Dbenchmark.rows}.
+ * <p>
+ * Context is started anew, because ids are kept by Hibernate in blocks, and blocks taken by previous test classes
+ * belong to database which was recreated by {@link FlywayTest}.
+ */
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@DirtiesContext(classMode = ClassMode.BEFORE_CLASS)
+public class BulkInsertBenchmarkTest {
+
+    private static final Log log = LogFactory.getLog(BulkInsertBenchmarkTest.class);
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private CrRepository crRepository;
+
+    private int rows = Integer.getInteger("benchmark.rows", 1000);
+
+    @Test
+    public void bulkInsertTest() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long companies = companyRepository.count();
+        long crs = crRepository.count();
+        // warm up statements and generators
+        insert("warm-up", 50);
+        statistics.clear();
+        long started = System.nanoTime();
+        insert("bench", rows);
+        long elapsed = System.nanoTime() - started;
+        long statements = statistics.getPrepareStatementCount();
+        log.info(String.format("Inserted %d rows in %.1f ms (%.0f rows/s) by %d statements.", rows * 2,
+                elapsed / 1e6, rows * 2 / (elapsed / 1e9), statements));
+        assertEquals(companies + rows + 50, companyRepository.count());
+        assertEquals(crs + rows + 50, crRepository.count());
+        // ids are taken by blocks and rows are sent by batches, so there is no round trip per row
+        assertTrue("Statements: " + statements, statements < rows / 5);
+    }
+
+    private void insert(String prefix, int count) {
+        for (int i = 0; i < count; i++) {
+            Company company = new Company(prefix + " company " + i, "site", "logo");
+            entityManager.persist(company);
+            entityManager.persist(new Cr(prefix + "-cr" + i, "pass", prefix + i + "@mail.com", company, "First",
+                    "Last", "Engineer"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -90,7 +90,7 @@ public class CompanyRepositoryTest {
     @Test(expected = DataIntegrityViolationException.class)
     public void saveExistentNameTest(){
         Company company = new Company(compName, compWebsite, compLogoUrl);
-        repository.save(company);
+        repository.saveAndFlush(company);
     }
 
     private Company createCompany(){
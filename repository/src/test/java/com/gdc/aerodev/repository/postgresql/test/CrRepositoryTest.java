@@ -4,6 +4,7 @@ import com.gdc.aerodev.model.Company;
 import com.gdc.aerodev.model.Cr;
 import com.gdc.aerodev.repository.postgresql.CompanyRepository;
 import com.gdc.aerodev.repository.postgresql.CrRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
 import org.flywaydb.test.annotation.FlywayTest;
 import org.junit.Test;
@@ -16,6 +17,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
@@ -69,6 +72,20 @@ public class CrRepositoryTest {
         assertEquals(crPosition, repository.findByCrName(crName).getCrPosition());
     }
 
+    @Test
+    public void findPageTest(){
+        Company company = companyRepository.findById(compId).get();
+        Cr cr = repository.saveAndFlush(new Cr(name, "pass", "email", company, "first", "last", "position"));
+        Keyset<Cr> page = Keyset.of(repository.findPage(Keyset.FIRST, Keyset.page(count)), count, Cr::getCrId);
+        assertEquals(count, page.getItems().size());
+        page = Keyset.of(repository.findPage(Keyset.after(page.getNext()), Keyset.page(count)), count, Cr::getCrId);
+        assertEquals(Collections.singletonList(cr), page.getItems());
+        assertNull(page.getNext());
+        List<Cr> ofCompany = repository.findPageByCompany(company, Keyset.FIRST, Keyset.page(count));
+        assertEquals(repository.findAllByCompany(company).size(), ofCompany.size());
+        assertEquals(cr, ofCompany.get(ofCompany.size() - 1));
+    }
+
     @Test
     public void deleteTest(){
         Cr cr = createCr();
@@ -84,7 +101,7 @@ public class CrRepositoryTest {
         int num = 3;
         Company company = companyRepository.findById(compId).get();
         for (int i = 0; i < num; i++) {
-            repository.save(new Cr(name + i, "pass", "e" + i, company, "f", "s", "p"));
+            repository.saveAndFlush(new Cr(name + i, "pass", "e" + i, company, "f", "s", "p"));
         }
         companyRepository.deleteById(compId);
         assertEquals(count - 1, repository.findAll().size());
@@ -106,13 +123,13 @@ public class CrRepositoryTest {
     public void saveExistentNameTest(){
         Company company = companyRepository.findById(compId).get();
         Cr cr = new Cr(crName, "r", "ew", company, "efew", "fewf", "fwef");
-        repository.save(cr);
+        repository.saveAndFlush(cr);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveNullCompanyTest(){
         Cr cr = new Cr(name, "r", "ew", null, "efew", "fewf", "fwef");
-        repository.save(cr);
+        repository.saveAndFlush(cr);
     }
 
     @Test(expected = EmptyResultDataAccessException.class)
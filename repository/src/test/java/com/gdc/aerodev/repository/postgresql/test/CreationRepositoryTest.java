@@ -0,0 +1,111 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.CreationRepository;
+import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(CreationRepository.class)
+public class CreationRepositoryTest {
+
+    @Autowired
+    private CreationRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private String userName = "Newcomer";
+    private String userPassword = "hash";
+    private String userEmail = "newcomer@mail.com";
+    private String existentName = "Aigul";
+    private String existentEmail = "eml";
+    private String projectName = "New project";
+    private String existentProject = "Discover #1";
+    private Long ownerId = 1L;
+
+    @Test
+    public void insertUserTest() {
+        long count = userRepository.count();
+        Creation creation = repository.insertUser(userName, userPassword, userEmail, false);
+        assertTrue(creation.isCreated());
+        assertEquals(count + 1, userRepository.count());
+        User user = userRepository.findByUserName(userName);
+        assertEquals(creation.getId(), user.getUserId());
+        assertEquals(userEmail, user.getUserEmail());
+        assertEquals("", user.getUserBiography());
+        assertFalse(user.isMale());
+    }
+
+    @Test
+    public void insertProjectTest() {
+        Creation creation = repository.insertProject(projectName, ProjectType.DESIGN, ownerId);
+        assertTrue(creation.isCreated());
+        Project project = projectRepository.findByProjectId(creation.getId());
+        assertEquals(projectName, project.getProjectName());
+        assertEquals(ProjectType.DESIGN, project.getProjectType());
+        assertEquals(ownerId, project.getOwner().getUserId());
+    }
+
+    @Test
+    public void cachedLookupSeesCreatedUserTest() {
+        assertNull(userRepository.findByUserName(userName));
+        repository.insertUser(userName, userPassword, userEmail, true);
+        assertNotNull(userRepository.findByUserName(userName));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void insertDuplicateNameTest() {
+        long count = userRepository.count();
+        Creation creation = repository.insertUser(existentName, userPassword, userEmail, true);
+        assertEquals(Creation.Status.DUPLICATE_NAME, creation.getStatus());
+        assertNull(creation.getId());
+        assertEquals(count, userRepository.count());
+    }
+
+    @Test
+    public void insertDuplicateEmailTest() {
+        Creation creation = repository.insertUser(userName, userPassword, existentEmail, true);
+        assertEquals(Creation.Status.DUPLICATE_EMAIL, creation.getStatus());
+        assertNull(userRepository.findByUserName(userName));
+    }
+
+    @Test
+    public void insertDuplicateProjectTest() {
+        long count = projectRepository.count();
+        Creation creation = repository.insertProject(existentProject, ProjectType.DESIGN, ownerId);
+        assertEquals(Creation.Status.DUPLICATE_NAME, creation.getStatus());
+        assertEquals(count, projectRepository.count());
+    }
+
+    @Test
+    public void insertProjectOfFakeOwnerTest() {
+        Creation creation = repository.insertProject(projectName, ProjectType.DESIGN, 0L);
+        assertEquals(Creation.Status.MISSING_OWNER, creation.getStatus());
+        assertNull(projectRepository.findByProjectName(projectName));
+    }
+}
@@ -0,0 +1,61 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.repository.postgresql.DerivativeRepository;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(DerivativeRepository.class)
+public class DerivativeRepositoryTest {
+
+    @Autowired
+    private DerivativeRepository repository;
+
+    private String originalHash = "0000000000000000000000000000000000000000000000000000000000000001";
+    private String hash = "0000000000000000000000000000000000000000000000000000000000000002";
+    private MediaMeta original = new MediaMeta(MediaRepository.Source.PROJECT_IMAGE, 5L, "image/png", 1000,
+            originalHash, originalHash, null, 1000, 500);
+
+    @Test
+    public void saveTest() {
+        assertTrue(repository.save(originalHash, "small", hash, 100, "image/jpeg", 320, 160));
+        MediaMeta derivative = repository.find(original, "small");
+        assertEquals(hash, derivative.getHash());
+        assertEquals(hash, derivative.getEtag());
+        assertEquals(100, derivative.getLength());
+        assertEquals("image/jpeg", derivative.getContentType());
+        assertEquals(Integer.valueOf(320), derivative.getWidth());
+        assertEquals(original.getId(), derivative.getId());
+        assertNotNull(derivative.getModified());
+    }
+
+    @Test
+    public void saveTwiceTest() {
+        assertTrue(repository.save(originalHash, "small", hash, 100, "image/jpeg", 320, 160));
+        assertFalse(repository.save(originalHash, "small", originalHash, 1000, "image/png", 1000, 500));
+        assertEquals(hash, repository.find(original, "small").getHash());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void findMissingTest() {
+        assertNull(repository.find(original, "medium"));
+    }
+}
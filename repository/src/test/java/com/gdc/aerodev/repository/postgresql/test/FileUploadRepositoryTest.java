@@ -0,0 +1,90 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.FileUpload;
+import com.gdc.aerodev.model.UploadChunk;
+import com.gdc.aerodev.repository.postgresql.FileUploadRepository;
+import com.gdc.aerodev.repository.postgresql.UploadChunkRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+public class FileUploadRepositoryTest {
+
+    @Autowired
+    private FileUploadRepository repository;
+
+    @Autowired
+    private UploadChunkRepository chunkRepository;
+
+    private Long prjThreeId = 3L;
+    private Long userOneId = 1L;
+
+    @Test
+    public void createUploadTest() {
+        FileUpload upload = createUpload();
+        assertTrue(repository.findById(upload.getUploadId()).isPresent());
+    }
+
+    @Test
+    public void chunksTest() {
+        FileUpload upload = createUpload();
+        chunkRepository.save(new UploadChunk(upload.getUploadId(), 200, 100));
+        chunkRepository.save(new UploadChunk(upload.getUploadId(), 0, 200));
+        List<UploadChunk> chunks = chunkRepository.findAllByUploadIdOrderByOffset(upload.getUploadId());
+        assertEquals(2, chunks.size());
+        assertEquals(0, chunks.get(0).getOffset());
+        assertEquals(200, chunks.get(1).getOffset());
+    }
+
+    @Test
+    public void touchTest() {
+        FileUpload upload = createUpload();
+        Date past = new Date(System.currentTimeMillis() - 60_000);
+        assertEquals(1, repository.touch(upload.getUploadId(), past));
+        assertEquals(1, repository.findAllByTouchedBefore(new Date(System.currentTimeMillis() - 30_000)).size());
+    }
+
+    @Test
+    public void cascadeDeleteTest() {
+        FileUpload upload = createUpload();
+        chunkRepository.save(new UploadChunk(upload.getUploadId(), 0, 200));
+        repository.deleteById(upload.getUploadId());
+        repository.flush();
+        assertTrue(chunkRepository.findAllByUploadIdOrderByOffset(upload.getUploadId()).isEmpty());
+    }
+
+    //Abnormal tests
+
+    @Test(expected = DataIntegrityViolationException.class)
+    public void chunkWithoutUploadTest() {
+        chunkRepository.saveAndFlush(new UploadChunk(UUID.randomUUID().toString(), 0, 200));
+    }
+
+    @Test(expected = DataIntegrityViolationException.class)
+    public void uploadWithFakeProjectTest() {
+        repository.saveAndFlush(new FileUpload(UUID.randomUUID().toString(), 0L, userOneId, "mesh.cgns", null, 1000));
+    }
+
+    private FileUpload createUpload() {
+        return repository.saveAndFlush(new FileUpload(UUID.randomUUID().toString(), prjThreeId, userOneId,
+                "mesh.cgns", "application/octet-stream", 1000));
+    }
+}
@@ -0,0 +1,144 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Cr;
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.CrRepository;
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.Creation.Status;
+import com.gdc.aerodev.repository.postgresql.ImportRepository;
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(ImportRepository.class)
+public class ImportRepositoryTest {
+
+    @Autowired
+    private ImportRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private CrRepository crRepository;
+
+    private String existentName = "Aigul";
+    private String existentEmail = "eml";
+    private String existentProject = "Discover #1";
+
+    @Test
+    public void loadUsersTest() {
+        long count = userRepository.count();
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            rows.add(user("Imported" + i, "imported" + i + "@mail.com"));
+        }
+        rows.add(new String[]{"Quoted", "hash", "q@mail.com", "false", "\"Jo\", Jr", null, "", "Kazan"});
+        List<Creation> creations = repository.load(Target.USERS, rows);
+        assertEquals(rows.size(), creations.size());
+        for (Creation creation : creations) {
+            assertTrue(creation.isCreated());
+        }
+        assertEquals(count + rows.size(), userRepository.count());
+        User user = userRepository.findByUserName("Quoted");
+        assertEquals(creations.get(100).getId(), user.getUserId());
+        assertEquals("\"Jo\", Jr", user.getUserFirstName());
+        assertEquals("Kazan", user.getUserCity());
+        assertFalse(user.isMale());
+    }
+
+    @Test
+    public void loadProjectsTest() {
+        List<Creation> creations = repository.load(Target.PROJECTS, Arrays.asList(
+                new String[]{"Imported project", existentName, ProjectType.DESIGN.name()},
+                new String[]{"Untyped project", existentName, null}));
+        assertTrue(creations.get(0).isCreated());
+        assertTrue(creations.get(1).isCreated());
+        Project project = projectRepository.findByProjectName("Imported project");
+        assertEquals(creations.get(0).getId(), project.getProjectId());
+        assertEquals(ProjectType.DESIGN, project.getProjectType());
+        assertEquals(userRepository.findByUserName(existentName).getUserId(), project.getOwner().getUserId());
+    }
+
+    @Test
+    public void loadCompaniesAndCrsTest() {
+        List<Creation> companies = repository.load(Target.COMPANIES, Collections.singletonList(
+                new String[]{"Imported company", "site", null}));
+        assertTrue(companies.get(0).isCreated());
+        List<Creation> crs = repository.load(Target.CRS, Collections.singletonList(
+                new String[]{"imported-cr", "hash", "cr@mail.com", "Imported company", "First", "Last", "Engineer"}));
+        assertTrue(crs.get(0).isCreated());
+        Cr cr = crRepository.findById(crs.get(0).getId()).get();
+        assertEquals(companies.get(0).getId(), cr.getCompany().getCompId());
+        assertEquals("Engineer", cr.getCrPosition());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void rejectedRowsTest() {
+        long count = userRepository.count();
+        List<Creation> creations = repository.load(Target.USERS, Arrays.asList(
+                user(existentName, "new@mail.com"),
+                user("Fresh", existentEmail),
+                user("Twin", "twin@mail.com"),
+                user("Twin", "other@mail.com"),
+                user("Other", "twin@mail.com")));
+        assertEquals(Status.DUPLICATE_NAME, creations.get(0).getStatus());
+        assertEquals(Status.DUPLICATE_EMAIL, creations.get(1).getStatus());
+        assertTrue(creations.get(2).isCreated());
+        assertEquals(Status.DUPLICATE_NAME, creations.get(3).getStatus());
+        assertEquals(Status.DUPLICATE_EMAIL, creations.get(4).getStatus());
+        assertEquals(count + 1, userRepository.count());
+    }
+
+    @Test
+    public void missingOwnerTest() {
+        List<Creation> projects = repository.load(Target.PROJECTS, Arrays.asList(
+                new String[]{"Orphan project", "Nobody", null},
+                new String[]{existentProject, existentName, null}));
+        assertEquals(Status.MISSING_OWNER, projects.get(0).getStatus());
+        assertEquals(Status.DUPLICATE_NAME, projects.get(1).getStatus());
+        long count = crRepository.count();
+        List<Creation> crs = repository.load(Target.CRS, Collections.singletonList(
+                new String[]{"orphan-cr", "hash", "orphan@mail.com", "No company", "", "", null}));
+        assertEquals(Status.MISSING_OWNER, crs.get(0).getStatus());
+        assertEquals(count, crRepository.count());
+    }
+
+    @Test
+    public void emptyBatchTest() {
+        assertTrue(repository.load(Target.COMPANIES, Collections.emptyList()).isEmpty());
+    }
+
+    private String[] user(String name, String email) {
+        return new String[]{name, "hash", email, "true", "", "", "", ""};
+    }
+}
@@ -0,0 +1,57 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class KeysetTest {
+
+    @Test
+    public void pageTest() {
+        Keyset<Long> page = Keyset.of(Arrays.asList(3L, 7L, 9L), 2, Function.identity());
+        assertEquals(Arrays.asList(3L, 7L), page.getItems());
+        assertTrue(page.hasNext());
+        assertEquals(7L, Keyset.after(page.getNext()));
+    }
+
+    @Test
+    public void lastPageTest() {
+        Keyset<Long> page = Keyset.of(Arrays.asList(3L, 7L), 2, Function.identity());
+        assertEquals(2, page.getItems().size());
+        assertNull(page.getNext());
+        assertEquals(3, Keyset.limit(2));
+    }
+
+    @Test
+    public void firstPageTest() {
+        assertEquals(Keyset.FIRST, Keyset.after(null));
+        assertEquals(Keyset.FIRST, Keyset.after(""));
+    }
+
+    @Test
+    public void negativeIdTest() {
+        Keyset<Long> page = Keyset.of(Arrays.asList(-3L, -2L, 1L), 1, Function.identity());
+        assertEquals(-3L, Keyset.after(page.getNext()));
+    }
+
+    //Abnormal tests
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedCursorTest() {
+        Keyset.after("not a cursor");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shortCursorTest() {
+        Keyset.after("AAAA");
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutableTest() {
+        Keyset.of(Arrays.asList(3L, 7L), 2, Function.identity()).getItems().clear();
+    }
+}
@@ -0,0 +1,154 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Avatar;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.AvatarRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(MediaRepository.class)
+public class MediaRepositoryTest extends FileSharer {
+
+    @Autowired
+    private MediaRepository repository;
+
+    @Autowired
+    private AvatarRepository avatarRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long userTwoId = 2L;
+    private String contentType = "image/jpeg";
+
+    @Test
+    public void describeTest() {
+        byte[] data = getFile();
+        Avatar avatar = createAvatar(data);
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        assertEquals(data.length, meta.getLength());
+        assertEquals(contentType, meta.getContentType());
+        assertFalse(meta.isEmpty());
+    }
+
+    @Test
+    public void describeValidatorsTest() {
+        User user = userRepository.findByUserId(userTwoId);
+        Date modified = new Date(1500000000000L);
+        Avatar avatar = avatarRepository.saveAndFlush(new Avatar(user, getFile(), contentType)
+                .setAvatarEtag("etag").setAvatarModified(modified));
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        assertEquals("etag", meta.getEtag());
+        assertEquals(modified.getTime(), meta.getModified().getTime());
+    }
+
+    @Test
+    public void describeAllTest() {
+        User user = userRepository.findByUserId(userTwoId);
+        Avatar avatar = avatarRepository.saveAndFlush(new Avatar(user, getFile(), contentType)
+                .setAvatarWidth(640).setAvatarHeight(480));
+        List<MediaMeta> all = repository.describeAll(MediaRepository.Source.AVATAR, userTwoId);
+        MediaMeta meta = all.get(all.size() - 1);
+        assertEquals(avatar.getAvatarId(), meta.getId());
+        assertEquals(Integer.valueOf(640), meta.getWidth());
+        assertEquals(Integer.valueOf(480), meta.getHeight());
+        assertTrue(repository.describeAll(MediaRepository.Source.PROJECT_FILE, 0L).isEmpty());
+    }
+
+    @Test
+    public void copyWholeTest() throws IOException {
+        byte[] data = getFile();
+        Avatar avatar = createAvatar(data);
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(data.length, repository.copy(meta, 0, meta.getLength(), out));
+        assertArrayEquals(data, out.toByteArray());
+    }
+
+    @Test
+    public void copyRangeTest() throws IOException {
+        byte[] data = new byte[MediaRepository.CHUNK_SIZE * 2 + 10];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Avatar avatar = createAvatar(data);
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        int offset = MediaRepository.CHUNK_SIZE - 5;
+        int length = MediaRepository.CHUNK_SIZE + 10;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(length, repository.copy(meta, offset, length, out));
+        assertArrayEquals(Arrays.copyOfRange(data, offset, offset + length), out.toByteArray());
+    }
+
+    @Test
+    public void copyPastEndTest() throws IOException {
+        byte[] data = getFile();
+        Avatar avatar = createAvatar(data);
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(10, repository.copy(meta, data.length - 10, 100, out));
+    }
+
+    @Test
+    public void findInDatabaseTest() {
+        Avatar avatar = createAvatar(getFile());
+        assertTrue(repository.findInDatabase(MediaRepository.Source.AVATAR, Keyset.FIRST, 100)
+                .contains(avatar.getAvatarId()));
+        assertFalse(repository.findInDatabase(MediaRepository.Source.AVATAR, avatar.getAvatarId(), 100)
+                .contains(avatar.getAvatarId()));
+    }
+
+    @Test
+    public void markMovedTest() {
+        byte[] data = getFile();
+        Avatar avatar = createAvatar(data);
+        String hash = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef";
+        assertTrue(repository.markMoved(MediaRepository.Source.AVATAR, avatar.getAvatarId(), hash, data.length));
+        MediaMeta meta = repository.describe(MediaRepository.Source.AVATAR, avatar.getAvatarId());
+        assertTrue(meta.isStored());
+        assertEquals(hash, meta.getHash());
+        assertEquals(data.length, meta.getLength());
+        assertFalse(repository.findInDatabase(MediaRepository.Source.AVATAR, Keyset.FIRST, 100)
+                .contains(avatar.getAvatarId()));
+        assertFalse(repository.markMoved(MediaRepository.Source.AVATAR, avatar.getAvatarId(), hash, data.length));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void describeFakeIdTest() {
+        assertNull(repository.describe(MediaRepository.Source.PROJECT_IMAGE, 0L));
+    }
+
+    private Avatar createAvatar(byte[] data) {
+        User user = userRepository.findByUserId(userTwoId);
+        Avatar avatar = new Avatar(data, contentType);
+        avatar.setUser(user);
+        return avatarRepository.saveAndFlush(avatar);
+    }
+}
@@ -0,0 +1,77 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.repository.postgresql.NameRepository;
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(NameRepository.class)
+public class NameRepositoryTest {
+
+    @Autowired
+    private NameRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    private String userName = "Aigul";
+    private String userEmail = "eml";
+    private String projectName = "Discover #1";
+
+    @Test
+    public void forEachTest() {
+        List<String> names = new ArrayList<>();
+        repository.forEach(Kind.USER_NAME, names::add);
+        assertEquals(userRepository.count(), names.size());
+        assertTrue(names.contains(userName));
+        List<String> projects = new ArrayList<>();
+        repository.forEach(Kind.PROJECT_NAME, projects::add);
+        assertEquals(projectRepository.count(), projects.size());
+        assertTrue(projects.contains(projectName));
+    }
+
+    @Test
+    public void existsTest() {
+        assertTrue(repository.exists(Kind.USER_NAME, userName));
+        assertTrue(repository.exists(Kind.USER_EMAIL, userEmail));
+        assertTrue(repository.exists(Kind.PROJECT_NAME, projectName));
+    }
+
+    @Test
+    public void countTest() {
+        assertEquals(userRepository.count(), repository.count(Kind.USER_EMAIL));
+        assertEquals(projectRepository.count(), repository.count(Kind.PROJECT_NAME));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void notExistsTest() {
+        assertFalse(repository.exists(Kind.USER_NAME, "aigul"));
+        assertFalse(repository.exists(Kind.USER_EMAIL, userName));
+        assertFalse(repository.exists(Kind.PROJECT_NAME, ""));
+    }
+}
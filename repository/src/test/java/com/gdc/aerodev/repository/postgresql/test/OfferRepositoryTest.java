@@ -4,6 +4,7 @@ import com.gdc.aerodev.model.Cr;
 import com.gdc.aerodev.model.Offer;
 import com.gdc.aerodev.model.User;
 import com.gdc.aerodev.repository.postgresql.CrRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.repository.postgresql.OfferRepository;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
@@ -85,6 +86,19 @@ public class OfferRepositoryTest {
         assertEquals(offer, batch.get(0));
     }
 
+    @Test
+    public void getPageByUserAndCrTest() {
+        User user = userRepository.findByUserId(userId);
+        Cr cr = crRepository.findById(crId).get();
+        Offer first = createOffer();
+        Offer second = createOffer();
+        List<Offer> page = repository.findPageByOfferedUser(user, Keyset.FIRST, Keyset.page(1));
+        assertEquals(2, page.size());
+        assertEquals(first, page.get(0));
+        page = repository.findPageByOfferedCr(cr, first.getOfferId(), Keyset.page(1));
+        assertEquals(Collections.singletonList(second), page);
+    }
+
     @Test
     public void deleteTest() {
         Offer offer = createOffer();
@@ -117,20 +131,21 @@ public class OfferRepositoryTest {
     public void saveNullUserTest() {
         Cr cr = crRepository.findById(crId).get();
         Offer offer = new Offer(null, cr, description, status);
-        repository.save(offer);
+        repository.saveAndFlush(offer);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveNullCrTest() {
         User user = userRepository.findByUserId(userId);
         Offer offer = new Offer(user, null, description, status);
-        repository.save(offer);
+        repository.saveAndFlush(offer);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void deleteFakeOffer(){
         Offer offer = new Offer(null, null, description, status);
         repository.delete(offer);
+        repository.flush();
     }
 
     private Offer createOffer() {
@@ -0,0 +1,145 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Cr;
+import com.gdc.aerodev.model.Offer;
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.*;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(ProfileRepository.class)
+public class ProfileRepositoryTest {
+
+    @Autowired
+    private ProfileRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private OfferRepository offerRepository;
+
+    @Autowired
+    private CrRepository crRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId = 1L;
+    private Long crId = 1L;
+    private int size = 100;
+
+    @Test
+    public void findTest() {
+        User user = userRepository.findByUserId(userId);
+        ProfileView view = repository.find(userId, size);
+        assertEquals(user.getUserName(), view.getUser().getUserName());
+        assertEquals(user.getUserCity(), view.getUser().getUserCity());
+        assertEquals(projectRepository.findAllByOwner(user).size(), view.getProjects().getItems().size());
+        assertFalse(view.getProjects().hasNext());
+    }
+
+    @Test
+    public void findProjectsPagesTest() {
+        User user = userRepository.findByUserId(userId);
+        List<Project> all = projectRepository.findAllByOwner(user);
+        List<Long> paged = new ArrayList<>();
+        Keyset<ProfileView.ProjectEntry> page = repository.find(userId, 2).getProjects();
+        while (true) {
+            assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(p -> paged.add(p.getProjectId()));
+            if (!page.hasNext()) {
+                break;
+            }
+            page = repository.findProjects(userId, Keyset.after(page.getNext()), 2);
+        }
+        assertEquals(all.stream().map(Project::getProjectId).sorted().collect(Collectors.toList()), paged);
+    }
+
+    @Test
+    public void negativeIdTest() {
+        // production migrations seed projects with negative ids
+        jdbcTemplate.update("INSERT INTO aero.projects (prj_id, prj_name, usr_id, prj_type) "
+                + "VALUES (-2, 'Seeded project', ?, 'DESIGN')", userId);
+        ProfileView.ProjectEntry first = repository.find(userId, size).getProjects().getItems().get(0);
+        assertEquals(Long.valueOf(-2), first.getProjectId());
+        Keyset<ProfileView.ProjectEntry> page = repository.findProjects(userId, Keyset.FIRST, 1);
+        assertEquals(Long.valueOf(-2), page.getItems().get(0).getProjectId());
+        assertNotEquals(Long.valueOf(-2), repository.findProjects(userId, Keyset.after(page.getNext()), 1)
+                .getItems().get(0).getProjectId());
+        User user = userRepository.findByUserId(userId);
+        assertEquals(Long.valueOf(-2),
+                projectRepository.findPageByOwner(user, Keyset.FIRST, Keyset.page(1)).get(0).getProjectId());
+    }
+
+    @Test
+    public void findOffersTest() {
+        User user = userRepository.findByUserId(userId);
+        Cr cr = crRepository.findById(crId).get();
+        int before = repository.find(userId, size).getOffers().getItems().size();
+        Long offerId = offerRepository.saveAndFlush(new Offer(user, cr, "Join us", Offer.Status.INITIATED))
+                .getOfferId();
+        List<ProfileView.OfferEntry> offers = repository.find(userId, size).getOffers().getItems();
+        assertEquals(before + 1, offers.size());
+        ProfileView.OfferEntry offer = offers.get(offers.size() - 1);
+        assertEquals(offerId, offer.getOfferId());
+        assertEquals(Offer.Status.INITIATED, offer.getStatus());
+        assertEquals(cr.getCrLastName(), offer.getCr().getCrLastName());
+        assertEquals(cr.getCompany().getCompName(), offer.getCr().getCompany().getCompName());
+    }
+
+    @Test
+    public void findOffersPagesTest() {
+        User user = userRepository.findByUserId(userId);
+        Cr cr = crRepository.findById(crId).get();
+        for (int i = 0; i < 3; i++) {
+            offerRepository.save(new Offer(user, cr, "Offer " + i, Offer.Status.INITIATED));
+        }
+        offerRepository.flush();
+        int count = offerRepository.findAllByOfferedUser(user).size();
+        Keyset<ProfileView.OfferEntry> first = repository.findOffers(userId, Keyset.FIRST, count - 1);
+        assertEquals(count - 1, first.getItems().size());
+        assertTrue(first.hasNext());
+        Keyset<ProfileView.OfferEntry> last = repository.findOffers(userId, Keyset.after(first.getNext()), count - 1);
+        assertEquals(1, last.getItems().size());
+        assertFalse(last.hasNext());
+        assertEquals("Offer 2", last.getItems().get(0).getOfferDescription());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void findMissingTest() {
+        assertNull(repository.find(0L, size));
+        assertTrue(repository.findProjects(0L, Keyset.FIRST, size).getItems().isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutableTest() {
+        repository.find(userId, size).getProjects().getItems().clear();
+    }
+}
@@ -87,7 +87,7 @@ public class ProjectContentRepositoryTest {
     @Test(expected = DataIntegrityViolationException.class)
     public void saveNullProjectTest(){
         ProjectContent content = new ProjectContent(null, description, date);
-        repository.save(content);
+        repository.saveAndFlush(content);
     }
 
     private void createContent(){
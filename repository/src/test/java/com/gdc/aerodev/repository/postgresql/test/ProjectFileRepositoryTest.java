@@ -20,6 +20,7 @@ import java.nio.file.Files;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(SpringRunner.class)
 @AutoConfigureTestDatabase(replace = Replace.NONE)
@@ -77,12 +78,26 @@ public class ProjectFileRepositoryTest extends FileSharer {
         for (int i = 0; i < count; i++) {
             createFile();
         }
+        repository.flush();
         projectRepository.deleteById(prjThreeId);
         assertEquals(0, repository.findAll().size());
     }
 
+    @Test
+    public void findFileNameTest(){
+        ProjectFile file = createFile();
+        assertNull(repository.findFileName(file.getFileId()));
+        file = repository.save(file.setFileName("report.pdf"));
+        assertEquals("report.pdf", repository.findFileName(file.getFileId()));
+    }
+
     //Abnormal tests
 
+    @Test
+    public void findFakeFileNameTest(){
+        assertNull(repository.findFileName(0L));
+    }
+
     @Test
     public void getByFakeId(){
         assertEquals(Optional.empty(), repository.findById(0L));
@@ -93,13 +108,13 @@ public class ProjectFileRepositoryTest extends FileSharer {
         Project project = projectRepository.findByProjectId(prjThreeId);
         ProjectFile file = new ProjectFile(null, "");
         file.setProject(project);
-        repository.save(file);
+        repository.saveAndFlush(file);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveProjectNullTest(){
         ProjectFile file = new ProjectFile(new byte[]{}, "");
-        repository.save(file);
+        repository.saveAndFlush(file);
     }
 
     private ProjectFile createFile() {
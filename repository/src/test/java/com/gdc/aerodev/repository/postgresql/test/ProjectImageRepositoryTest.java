@@ -63,6 +63,7 @@ public class ProjectImageRepositoryTest {
         for (int i = 0; i < count; i++) {
             createImage();
         }
+        repository.flush();
         projectRepository.deleteById(prjThreeId);
         assertEquals(0, repository.findAll().size());
     }
@@ -89,13 +90,13 @@ public class ProjectImageRepositoryTest {
         Project project = projectRepository.findByProjectId(prjThreeId);
         ProjectImage image = new ProjectImage(null, "jpg");
         image.setProject(project);
-        repository.save(image);
+        repository.saveAndFlush(image);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveNullProjectTest(){
         ProjectImage image = new ProjectImage(new byte[]{}, "jpg");
-        repository.save(image);
+        repository.saveAndFlush(image);
     }
 
     private ProjectImage createImage() {
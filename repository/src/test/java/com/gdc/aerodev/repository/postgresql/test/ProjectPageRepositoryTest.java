@@ -0,0 +1,83 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.ProjectFile;
+import com.gdc.aerodev.model.ProjectImage;
+import com.gdc.aerodev.repository.postgresql.*;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(ProjectPageRepository.class)
+public class ProjectPageRepositoryTest {
+
+    @Autowired
+    private ProjectPageRepository repository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectImageRepository imageRepository;
+
+    @Autowired
+    private ProjectFileRepository fileRepository;
+
+    private Long projectId = 1L;
+
+    @Test
+    public void findTest() {
+        Project project = projectRepository.findByProjectId(projectId);
+        ProjectPageView view = repository.find(projectId);
+        assertEquals(project.getProjectName(), view.getProjectName());
+        assertEquals(project.getProjectType(), view.getProjectType());
+        assertEquals(project.getOwner().getUserId(), view.getOwnerId());
+        assertEquals(project.getOwner().getUserName(), view.getOwnerName());
+        assertTrue(view.getFiles().isEmpty());
+    }
+
+    @Test
+    public void findImagesAndFilesTest() {
+        Project project = projectRepository.findByProjectId(projectId);
+        Long imageId = imageRepository.saveAndFlush(new ProjectImage(project, new byte[]{1, 2}, "image/png"))
+                .getImageId();
+        ProjectFile file = new ProjectFile(new byte[]{1, 2, 3}, "text/plain");
+        file.setProject(project);
+        Long fileId = fileRepository.saveAndFlush(file).getFileId();
+        ProjectPageView view = repository.find(projectId);
+        assertTrue(view.getImageIds().contains(imageId));
+        assertEquals(1, view.getFiles().size());
+        assertEquals(fileId, view.getFiles().get(0).getId());
+        assertEquals(3, view.getFiles().get(0).getLength());
+    }
+
+    @Test
+    public void withImageIdsTest() {
+        ProjectPageView view = repository.find(projectId).withImageIds(Collections.singletonList(0L));
+        assertEquals(Collections.singletonList(0L), view.getImageIds());
+        assertEquals(projectId, view.getProjectId());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void findMissingTest() {
+        assertNull(repository.find(0L));
+    }
+}
@@ -3,6 +3,7 @@ package com.gdc.aerodev.repository.postgresql.test;
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectType;
 import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.repository.postgresql.ProjectRepository;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
 import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
@@ -18,6 +19,7 @@ import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.test.context.junit4.SpringRunner;
 import java.util.List;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 
 
@@ -65,6 +67,19 @@ public class ProjectRepositoryTest {
         assertEquals(prj2Name, projects.get(1).getProjectName());
     }
 
+    @Test
+    public void findPageByOwnerTest(){
+        User user = userRepository.findByUserId(prjOwnerId);
+        Keyset<Project> first = Keyset.of(repository.findPageByOwner(user, Keyset.FIRST, Keyset.page(2)), 2,
+                Project::getProjectId);
+        assertEquals(2, first.getItems().size());
+        assertEquals(prj2Name, first.getItems().get(1).getProjectName());
+        Keyset<Project> last = Keyset.of(repository.findPageByOwner(user, Keyset.after(first.getNext()),
+                Keyset.page(2)), 2, Project::getProjectId);
+        assertEquals(ownerPrjsCount - 2, last.getItems().size());
+        assertFalse(last.hasNext());
+    }
+
     @Test
     public void createProject(){
         User user = userRepository.findByUserId(prjOwnerId);
@@ -114,13 +129,13 @@ public class ProjectRepositoryTest {
     public void saveExistentNameTest(){
         User user = userRepository.findByUserId(prjOwnerId);
         Project project = new Project(prj1Name, type, user);
-        repository.save(project);
+        repository.saveAndFlush(project);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
     public void saveNullOwnerTest(){
         Project project = new Project(name, type, null);
-        repository.save(project);
+        repository.saveAndFlush(project);
     }
 
     @Test(expected = EmptyResultDataAccessException.class)
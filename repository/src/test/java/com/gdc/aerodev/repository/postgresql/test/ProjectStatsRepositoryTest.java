@@ -0,0 +1,72 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.ProjectImage;
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.repository.postgresql.ProjectImageRepository;
+import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.repository.postgresql.ProjectStats;
+import com.gdc.aerodev.repository.postgresql.ProjectStatsRepository;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(ProjectStatsRepository.class)
+public class ProjectStatsRepositoryTest {
+
+    @Autowired
+    private ProjectStatsRepository repository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private ProjectImageRepository imageRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long projectId = 1L;
+    private Long ownerId = 1L;
+
+    @Test
+    public void findAllTest() {
+        assertEquals(projectRepository.count(), repository.findAll().size());
+    }
+
+    @Test
+    public void findTest() {
+        imageRepository.saveAndFlush(new ProjectImage(projectRepository.findByProjectId(projectId), new byte[]{1},
+                "image/png"));
+        jdbcTemplate.update("INSERT INTO aero.offers (usr_id, cr_id, status) VALUES (?, 1, 'INITIATED')", ownerId);
+        ProjectStats stats = repository.find(projectId);
+        assertEquals(projectId, stats.getProjectId());
+        assertEquals(ownerId, stats.getOwnerId());
+        assertEquals(ProjectType.AERODYNAMICS, stats.getProjectType());
+        assertNotNull(stats.getCreated());
+        assertEquals(0, stats.getViews());
+        assertEquals(1, stats.getImages());
+        assertEquals(1, stats.getOffers());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void findMissingTest() {
+        assertNull(repository.find(0L));
+    }
+}
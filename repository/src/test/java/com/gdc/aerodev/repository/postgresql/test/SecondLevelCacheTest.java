@@ -0,0 +1,113 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Avatar;
+import com.gdc.aerodev.model.Company;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.CompanyRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.internal.StandardQueryCache;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.stat.Statistics;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    private Statistics statistics;
+    private Long companyId = 1L;
+    private Long userId = 2L;
+
+    @Before
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    public void companyCachedBetweenSessionsTest() {
+        find(Company.class, companyId);
+        long hits = statistics.getSecondLevelCacheHitCount();
+        Company company = find(Company.class, companyId);
+        assertNotNull(company);
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    public void userCachedBetweenSessionsTest() {
+        find(User.class, userId);
+        long hits = statistics.getSecondLevelCacheStatistics("aero.user").getHitCount();
+        assertEquals(userId, find(User.class, userId).getUserId());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheStatistics("aero.user").getHitCount());
+    }
+
+    @Test
+    public void queryCachedTest() {
+        String name = find(Company.class, companyId).getCompName();
+        companyRepository.findByCompName(name);
+        long hits = statistics.getQueryCacheHitCount();
+        assertEquals(companyId, companyRepository.findByCompName(name).getCompId());
+        assertEquals(hits + 1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    public void queryRegionsConfiguredTest() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        assertEquals(OptionalLong.of(5000), maximumSize(cacheManager, StandardQueryCache.class.getName()));
+        assertEquals(OptionalLong.of(1000), maximumSize(cacheManager, UpdateTimestampsCache.class.getName()));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void blobEntityNotCachedTest() {
+        assertFalse(entityManagerFactory.getCache().contains(Avatar.class, 1L));
+        assertFalse(Arrays.asList(statistics.getSecondLevelCacheRegionNames()).contains(Avatar.class.getName()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private OptionalLong maximumSize(CacheManager cacheManager, String region) {
+        Cache<?, ?> cache = cacheManager.getCache(region);
+        assertNotNull("Region " + region + " isn't created", cache);
+        return ((CaffeineConfiguration<?, ?>) cache.getConfiguration(CaffeineConfiguration.class)).getMaximumSize();
+    }
+
+    private <T> T find(Class<T> type, Long id) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.find(type, id);
+        } finally {
+            entityManager.close();
+        }
+    }
+}
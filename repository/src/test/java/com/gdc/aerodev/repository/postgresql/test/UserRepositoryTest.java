@@ -72,6 +72,23 @@ public class UserRepositoryTest {
         assertEquals(thirdTopName, users.get(2).getUserName());
     }
 
+    @Test
+    public void findAllRatingsTest(){
+        List<Object[]> ratings = repository.findAllRatings();
+        assertEquals(usersCount, ratings.size());
+        for (Object[] rating : ratings) {
+            User user = repository.findByUserId((Long) rating[0]);
+            assertEquals(user.getUserRating(), ((Integer) rating[1]).intValue());
+        }
+    }
+
+    @Test
+    public void updateRatingTest(){
+        assertEquals(1, repository.updateRating(id, 1000));
+        assertEquals(1000, repository.findByUserId(id).getUserRating());
+        assertEquals(0, repository.updateRating(0L, 1000));
+    }
+
     @Test
     public void findAllTest(){
         List<User> users = repository.findAll();
@@ -143,7 +160,7 @@ public class UserRepositoryTest {
                 "e",
                 true
         );
-        repository.save(user);
+        repository.saveAndFlush(user);
     }
 
     @Test(expected = DataIntegrityViolationException.class)
@@ -154,7 +171,7 @@ public class UserRepositoryTest {
                 email,
                 true
         );
-        repository.save(user);
+        repository.saveAndFlush(user);
     }
 
     @Test(expected = EmptyResultDataAccessException.class)
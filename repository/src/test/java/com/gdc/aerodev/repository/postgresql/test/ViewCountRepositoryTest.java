@@ -0,0 +1,65 @@
+package com.gdc.aerodev.repository.postgresql.test;
+
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.repository.postgresql.ViewCountRepository;
+import com.gdc.aerodev.repository.postgresql.ViewCountRepository.Target;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.test.annotation.FlywayTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import static org.junit.Assert.*;
+
+@RunWith(SpringRunner.class)
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@AutoConfigureEmbeddedDatabase
+@FlywayTest
+@DataJpaTest
+@Import(ViewCountRepository.class)
+public class ViewCountRepositoryTest {
+
+    @Autowired
+    private ViewCountRepository repository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Test
+    public void addTest() {
+        assertEquals(2, repository.add(Target.PROJECT, new Long[]{1L, 2L}, new Long[]{5L, 7L}));
+        assertEquals(1, repository.add(Target.PROJECT, new Long[]{1L}, new Long[]{3L}));
+        assertEquals(8, repository.find(Target.PROJECT, 1L));
+        assertEquals(7, repository.find(Target.PROJECT, 2L));
+        assertEquals(1, repository.add(Target.USER, new Long[]{1L}, new Long[]{4L}));
+        assertEquals(4, repository.find(Target.USER, 1L));
+    }
+
+    @Test
+    public void entityKeepsCounterTest() {
+        repository.add(Target.PROJECT, new Long[]{1L}, new Long[]{5L});
+        Project project = projectRepository.findByProjectId(1L);
+        project.setProjectName("Renamed");
+        projectRepository.saveAndFlush(project);
+        assertEquals(5, repository.find(Target.PROJECT, 1L));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void addEmptyTest() {
+        assertEquals(0, repository.add(Target.PROJECT, new Long[0], new Long[0]));
+    }
+
+    @Test
+    public void addMissingTest() {
+        assertEquals(0, repository.add(Target.USER, new Long[]{0L}, new Long[]{1L}));
+        assertEquals(0, repository.find(Target.USER, 0L));
+    }
+}
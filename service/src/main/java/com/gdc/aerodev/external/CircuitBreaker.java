@@ -0,0 +1,61 @@
+package com.gdc.aerodev.external;
+
+/**
+ * Stops calls to failing external service. After {@code failureThreshold} failures in a row circuit opens and
+ * calls aren't allowed for {@code openMillis}, then one trial call is allowed: it's success closes circuit, it's
+ * failure opens circuit again.
+ *
+ * @author Yusupov Danil
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int failures;
+    private long openedAt;
+
+    /**
+     * @param failureThreshold number of failures in a row, which opens circuit
+     * @param openMillis       time in milliseconds before trial call to open circuit
+     */
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Checks, if call can be made now. Open circuit turns to half-open after {@code openMillis}.
+     *
+     * @return (0) {@code true} if call is allowed or <br>
+     * (1) {@code false} if circuit is open
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    public synchronized void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+}
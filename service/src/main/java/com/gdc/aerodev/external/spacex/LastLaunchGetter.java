@@ -1,5 +1,6 @@
 package com.gdc.aerodev.external.spacex;
 
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.util.HashMap;
@@ -7,16 +8,30 @@ import java.util.Map;
 
 public class LastLaunchGetter {
 
+    /**
+     * Takes fields shown on home page. Fields missing or {@code null} in JSON (e.g. {@code launch_success} of
+     * upcoming launch) are mapped to {@code null}.
+     */
     public static Map<String, String> getData(JsonObject json){
         Map<String, String> map = new HashMap<>(7);
-        map.put("flight_number", json.get("flight_number").getAsString());
-        map.put("mission_name",json.get("mission_name").getAsString());
-        map.put("telemetry",json.get("telemetry").getAsJsonObject().get("flight_club").getAsString());
-        map.put("launch_success",json.get("launch_success").getAsString());
-        map.put("mission_patch",json.get("links").getAsJsonObject().get("mission_patch").getAsString());
-        map.put("wikipedia",json.get("links").getAsJsonObject().get("wikipedia").getAsString());
-        map.put("video_link",json.get("links").getAsJsonObject().get("video_link").getAsString());
+        map.put("flight_number", get(json, "flight_number"));
+        map.put("mission_name", get(json, "mission_name"));
+        map.put("telemetry", get(json, "telemetry", "flight_club"));
+        map.put("launch_success", get(json, "launch_success"));
+        map.put("mission_patch", get(json, "links", "mission_patch"));
+        map.put("wikipedia", get(json, "links", "wikipedia"));
+        map.put("video_link", get(json, "links", "video_link"));
         return map;
     }
 
+    private static String get(JsonObject json, String... path) {
+        JsonElement element = json;
+        for (String name : path) {
+            if (element == null || !element.isJsonObject()) {
+                return null;
+            }
+            element = element.getAsJsonObject().get(name);
+        }
+        return element == null || element.isJsonNull() ? null : element.getAsString();
+    }
 }
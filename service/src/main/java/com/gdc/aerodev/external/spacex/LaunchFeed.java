@@ -0,0 +1,117 @@
+package com.gdc.aerodev.external.spacex;
+
+import com.gdc.aerodev.external.CircuitBreaker;
+import com.gdc.aerodev.service.logging.LoggingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps snapshot of the latest SpaceX launch in memory, so pages never wait for SpaceX API. Snapshot is refreshed
+ * in background every {@code aerodev.spacex.refresh-period} milliseconds. Snapshot older than
+ * {@code aerodev.spacex.max-age} is still served, but refresh is started right away (stale-while-revalidate).
+ * Failing source is not called while circuit breaker is open.
+ *
+ * @author Yusupov Danil
+ * @see LaunchSource
+ * @see CircuitBreaker
+ */
+@Component
+public class LaunchFeed implements LoggingService {
+
+    private final LaunchSource source;
+    private final CircuitBreaker breaker;
+    private final long maxAge;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "launch-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Map<String, String> launch = Collections.emptyMap();
+    private volatile long fetchedAt;
+
+    public LaunchFeed(LaunchSource source,
+                      @Value("${aerodev.spacex.max-age:900000}") long maxAge,
+                      @Value("${aerodev.spacex.failure-threshold:3}") int failureThreshold,
+                      @Value("${aerodev.spacex.open-period:300000}") long openPeriod) {
+        this.source = source;
+        this.maxAge = maxAge;
+        this.breaker = new CircuitBreaker(failureThreshold, openPeriod);
+    }
+
+    /**
+     * Gives the latest known launch without waiting. Refresh is started in background, if snapshot is stale.
+     *
+     * @return (0) fields of launch as {@code LastLaunchGetter} maps them or <br>
+     * (1) empty map if launch wasn't fetched yet
+     */
+    public Map<String, String> getLatest() {
+        if (System.currentTimeMillis() - fetchedAt > maxAge && !refreshing.get()) {
+            try {
+                refresher.execute(this::refresh);
+            } catch (RejectedExecutionException e) {
+                log.debug("Launch feed is stopped, refresh is skipped.");
+            }
+        }
+        return launch;
+    }
+
+    /**
+     * Fetches launch from source and replaces snapshot. Only one refresh runs at once, concurrent calls return
+     * immediately. Snapshot is kept, if source fails.
+     *
+     * @return (0) {@code true} if snapshot was replaced or <br>
+     * (1) {@code false} if refresh failed or was skipped
+     */
+    @Scheduled(fixedDelayString = "${aerodev.spacex.refresh-period:300000}")
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            if (!breaker.allowRequest()) {
+                log.debug("SpaceX source is skipped, circuit is open.");
+                return false;
+            }
+            Map<String, String> fetched = Collections.unmodifiableMap(LastLaunchGetter.getData(source.fetch()));
+            launch = fetched;
+            fetchedAt = System.currentTimeMillis();
+            breaker.onSuccess();
+            log.debug("Refreshed SpaceX launch: flight " + fetched.get("flight_number") + ".");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            breaker.onFailure();
+            log.warn("Can't refresh SpaceX launch, previous snapshot is kept: " + e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    /**
+     * @return age of snapshot in milliseconds or {@code Long.MAX_VALUE} if launch wasn't fetched yet
+     */
+    public long getAge() {
+        return fetchedAt == 0 ? Long.MAX_VALUE : System.currentTimeMillis() - fetchedAt;
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return breaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+}
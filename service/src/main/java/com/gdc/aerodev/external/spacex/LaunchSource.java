@@ -0,0 +1,21 @@
+package com.gdc.aerodev.external.spacex;
+
+import com.google.gson.JsonObject;
+
+import java.io.IOException;
+
+/**
+ * Source of the latest SpaceX launch in format of SpaceX API v2
+ *
+ * @author Yusupov Danil
+ * @see LaunchFeed
+ */
+public interface LaunchSource {
+    /**
+     * Takes the latest launch
+     *
+     * @return launch as JSON object
+     * @throws IOException if source isn't available
+     */
+    JsonObject fetch() throws IOException;
+}
@@ -0,0 +1,60 @@
+package com.gdc.aerodev.external.spacex;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Takes the latest launch from SpaceX API. Connection and reading are limited by timeouts, so stuck API can't hold
+ * refreshing thread.
+ *
+ * @author Yusupov Danil
+ */
+@Component
+@ConditionalOnProperty(name = "aerodev.spacex.source", havingValue = "remote", matchIfMissing = true)
+public class RemoteLaunchSource implements LaunchSource {
+
+    private final String url;
+    private final int connectTimeout;
+    private final int readTimeout;
+
+    public RemoteLaunchSource(@Value("${aerodev.spacex.url:https://api.spacexdata.com/v2/launches/latest}") String url,
+                              @Value("${aerodev.spacex.connect-timeout:2000}") int connectTimeout,
+                              @Value("${aerodev.spacex.read-timeout:5000}") int readTimeout) {
+        this.url = url;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public JsonObject fetch() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        try {
+            connection.setConnectTimeout(connectTimeout);
+            connection.setReadTimeout(readTimeout);
+            connection.setRequestProperty("Accept", "application/json");
+            connection.setRequestProperty("User-Agent", "aero-dev");
+            int status = connection.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                throw new IOException("SpaceX API answered with status " + status);
+            }
+            try (Reader reader = new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8)) {
+                return new Gson().fromJson(reader, JsonObject.class);
+            } catch (JsonParseException e) {
+                throw new IOException("Malformed answer of SpaceX API", e);
+            }
+        } finally {
+            connection.disconnect();
+        }
+    }
+}
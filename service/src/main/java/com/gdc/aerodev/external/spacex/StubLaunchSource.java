@@ -0,0 +1,42 @@
+package com.gdc.aerodev.external.spacex;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Takes launch from classpath resource instead of SpaceX API. It's used by tests and offline development, set
+ * {@code aerodev.spacex.source=stub} to enable it.
+ *
+ * @author Yusupov Danil
+ */
+@Component
+@ConditionalOnProperty(name = "aerodev.spacex.source", havingValue = "stub")
+public class StubLaunchSource implements LaunchSource {
+
+    private final String resource;
+
+    public StubLaunchSource(@Value("${aerodev.spacex.stub-resource:spacex/latest-launch.json}") String resource) {
+        this.resource = resource;
+    }
+
+    @Override
+    public JsonObject fetch() throws IOException {
+        InputStream in = StubLaunchSource.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new FileNotFoundException("No launch resource '" + resource + "' in classpath");
+        }
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            return new Gson().fromJson(reader, JsonObject.class);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+/**
+ * This service tells if name of user, email or name of project is still free, so forms can check it while it's
+ * typed. Taken names are kept in Bloom filters, so free name is answered from memory and only names, which are
+ * probably taken, are checked by database. Filters are built on start, get every name taken by other services and
+ * are rebuilt periodically to forget released names.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.service.availability.BloomFilter
+ */
+public interface AvailabilityService extends LoggingService {
+    /**
+     * @param kind column of names
+     * @param name checked name
+     * @return {@code true} if nobody has this name
+     */
+    boolean isAvailable(Kind kind, String name);
+
+    /**
+     * Marks name as taken, must be called for every inserted or renamed row
+     *
+     * @param kind column of names
+     * @param name taken name
+     */
+    void taken(Kind kind, String name);
+
+    /**
+     * Builds filters from names in database and replaces current ones
+     *
+     * @return number of loaded names
+     */
+    long rebuild();
+}
@@ -1,8 +1,11 @@
 package com.gdc.aerodev.service;
 
 import com.gdc.aerodev.model.Avatar;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
 import com.gdc.aerodev.service.logging.LoggingService;
 
+import java.io.InputStream;
+
 /**
  * Generic interface of service, which works with {@code Avatar} entities
  *
@@ -20,6 +23,15 @@ public interface AvatarService extends LoggingService{
      */
     Long uploadAvatar(Long userId, byte[] bytes, String contentType);
 
+    /**
+     * Inserts avatar read from stream, content is never held in memory as whole
+     * @param userId owner
+     * @param content data, stream isn't closed
+     * @param contentType mime type
+     * @return id of created avatar
+     */
+    Long uploadAvatar(Long userId, InputStream content, String contentType);
+
     /**
      * Gives {@code Avatar} by {@code User} id
      * @param id of avatar's owner
@@ -27,4 +39,12 @@ public interface AvatarService extends LoggingService{
      *         (1) {@code null} if there is no avatar for this user
      */
     Avatar getAvatar(Long id);
+
+    /**
+     * Describes {@code Avatar} of {@code User} without loading image data. Default avatar is chosen the same
+     * way as in {@code getAvatar}.
+     * @param id of avatar's owner
+     * @return description of avatar for streaming
+     */
+    MediaMeta describeAvatar(Long id);
 }
@@ -1,13 +1,14 @@
 package com.gdc.aerodev.service;
 
+import com.gdc.aerodev.model.Company;
 import com.gdc.aerodev.model.Cr;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.service.logging.LoggingService;
 
-import java.util.List;
-
 public interface CrService extends LoggingService {
     Cr get(Long id);
     Cr get(String name);
     Long save(Cr cr);
-    List<Cr> getAll();
+    Keyset<Cr> getAll(String after);
+    Keyset<Cr> getByCompany(Company company, String after);
 }
@@ -0,0 +1,33 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.image.ImageSize;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+/**
+ * This service makes scaled copies of uploaded images in background, so small image slots don't receive
+ * full size originals.
+ *
+ * @author Yusupov Danil
+ * @see ImageSize
+ */
+public interface DerivativeService extends LoggingService {
+    /**
+     * Queues generation of all derivatives of stored image. Nothing is done if queue is full, missing derivatives
+     * will be queued again when requested.
+     *
+     * @param hash        SHA-256 of original in blob store
+     * @param contentType MIME type of original, {@code null} if unknown
+     */
+    void schedule(String hash, String contentType);
+
+    /**
+     * Finds ready derivative of image. Generation of missing derivative is queued.
+     *
+     * @param original described image
+     * @param size     required size
+     * @return (0) derivative or <br>
+     * (1) {@code null} if it isn't ready yet or original can't have derivatives
+     */
+    MediaMeta find(MediaMeta original, ImageSize size);
+}
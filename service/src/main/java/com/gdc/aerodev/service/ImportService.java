@@ -0,0 +1,30 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.service.importing.ImportFormat;
+import com.gdc.aerodev.service.importing.ImportReport;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+import java.io.Reader;
+
+/**
+ * This service imports users, projects, companies and representatives from CSV or JSON streams. Input is read by
+ * batches: next batch is checked in parallel while previous one is loaded by {@code COPY}, so only two batches are
+ * held in memory. Rejected record is reported and doesn't stop import.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.service.importing.ImportRules
+ * @see com.gdc.aerodev.repository.postgresql.ImportRepository
+ */
+public interface ImportService extends LoggingService {
+    /**
+     * Reads input to the end and loads every valid record. Passwords are read clear and stored hashed. Projects
+     * reference owner by name of user, representatives reference company by it's name.
+     *
+     * @param target filled table
+     * @param format format of input
+     * @param input  stream of records, isn't closed
+     * @return numbers of created and rejected rows with reasons
+     */
+    ImportReport importRows(Target target, ImportFormat format, Reader input);
+}
@@ -0,0 +1,63 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.service.logging.LoggingService;
+import com.gdc.aerodev.service.ranking.RankIndex;
+
+import java.util.List;
+
+/**
+ * This service ranks users by {@code usr_rating} without querying database. Ratings are kept in memory ordered,
+ * index is built from database on startup and updated by every change of rating.
+ *
+ * @author Yusupov Danil
+ * @see RankIndex
+ */
+public interface LeaderboardService extends LoggingService {
+    /**
+     * Gives users with the biggest rating
+     *
+     * @param k maximal number of users
+     * @return ids and ratings of users ordered by rank
+     */
+    List<RankIndex.Entry> getTop(int k);
+
+    /**
+     * Gives position of user in leaderboard
+     *
+     * @param userId id of {@code User}
+     * @return (0) rank of user starting from 1 or <br>
+     * (1) {@code 0} if user isn't ranked
+     */
+    int getRank(Long userId);
+
+    /**
+     * Gives users around given rank, e.g. neighbours of user on ranking page
+     *
+     * @param rank   rank of central user
+     * @param radius number of users before and after central one
+     * @return ids and ratings of users ordered by rank
+     */
+    List<RankIndex.Entry> getAround(int rank, int radius);
+
+    /**
+     * Puts new or changed rating of user into leaderboard
+     *
+     * @param userId id of {@code User}
+     * @param rating current rating of user
+     */
+    void update(Long userId, int rating);
+
+    /**
+     * Removes user from leaderboard
+     *
+     * @param userId id of {@code User}
+     */
+    void remove(Long userId);
+
+    /**
+     * Rebuilds leaderboard from database, queries are served by previous leaderboard while new one is built
+     *
+     * @return number of ranked users
+     */
+    int rebuild();
+}
@@ -0,0 +1,38 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+
+/**
+ * This service streams binary content of avatars, logos and images to clients. Content is never loaded as whole
+ * array, so memory per request doesn't depend on content size. Content moved to blob store is read from file.
+ *
+ * @author Yusupov Danil
+ * @see MediaMeta
+ */
+public interface MediaService extends LoggingService {
+    /**
+     * Copies part of media content to stream
+     *
+     * @param media  content described by one of services
+     * @param offset first byte to copy
+     * @param length number of bytes to copy
+     * @param out    target stream
+     * @return number of copied bytes
+     * @throws IOException if target stream fails
+     */
+    long copy(MediaMeta media, long offset, long length, OutputStream out) throws IOException;
+
+    /**
+     * Gives file of content kept in blob store, so it can be sent without copying through user space
+     *
+     * @param media content described by one of services
+     * @return (0) path to file of content or <br>
+     * (1) {@code null} if content is kept in database
+     */
+    Path locate(MediaMeta media);
+}
@@ -1,10 +1,9 @@
 package com.gdc.aerodev.service;
 
 import com.gdc.aerodev.model.Offer;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.service.logging.LoggingService;
 
-import java.util.List;
-
 public interface OfferService extends LoggingService {
 
     Offer getByOfferId(Long id);
@@ -15,8 +14,8 @@ public interface OfferService extends LoggingService {
 
     void deleteOffer(Long offerId);
 
-    List<Offer> getByUserId(Long userId);
+    Keyset<Offer> getByUserId(Long userId, String after);
 
-    List<Offer> getByCrId(Long crId);
+    Keyset<Offer> getByCrId(Long crId, String after);
 
 }
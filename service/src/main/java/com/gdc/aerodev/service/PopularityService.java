@@ -0,0 +1,86 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.service.counter.StripedCounter;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+import java.util.List;
+
+/**
+ * This service scores popularity of projects by their views, images, offers to their owners and age. Score decays
+ * with age of project: every {@code aerodev.popularity.half-life} popularity of project is halved compared to new
+ * ones. Scores are kept in memory, changed by events of other services and recomputed from database periodically,
+ * so top of projects is always ready.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.repository.postgresql.ProjectStats
+ */
+public interface PopularityService extends LoggingService {
+    /**
+     * Gives the most popular projects, top is kept ready, so it's never computed on call
+     *
+     * @return ids of up to {@code aerodev.popularity.top-size} projects ordered by popularity
+     */
+    List<Long> getTop();
+
+    /**
+     * Gives the most popular projects of one type, top is kept ready, so it's never computed on call
+     *
+     * @param type type of projects
+     * @return ids of up to {@code aerodev.popularity.top-size} projects ordered by popularity
+     */
+    List<Long> getTop(ProjectType type);
+
+    /**
+     * @param projectId id of project
+     * @return (0) score of project or <br>
+     * (1) {@code Double.NaN} if project isn't scored yet
+     */
+    double getScore(Long projectId);
+
+    /**
+     * Scores new project
+     *
+     * @param projectId id of project
+     * @param ownerId   id of owner
+     * @param type      type of project
+     */
+    void onCreated(Long projectId, Long ownerId, ProjectType type);
+
+    /**
+     * Moves project to top of another type
+     *
+     * @param projectId id of project
+     * @param type      new type of project
+     */
+    void onTypeChanged(Long projectId, ProjectType type);
+
+    /**
+     * Counts new image of project
+     *
+     * @param projectId id of project
+     */
+    void onImageAdded(Long projectId);
+
+    /**
+     * Counts new offer to user for all projects of user
+     *
+     * @param userId id of offered user
+     */
+    void onOfferAdded(Long userId);
+
+    /**
+     * Adds views of project pages, which were flushed by {@link ViewCountService}
+     *
+     * @param views views by project id
+     * @return number of rescored projects
+     */
+    int onViews(StripedCounter.Counts views);
+
+    /**
+     * Recomputes scores of all projects from database, so changes missed by events are taken into account
+     *
+     * @return number of scored projects
+     */
+    int recompute();
+}
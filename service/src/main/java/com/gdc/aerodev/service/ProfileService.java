@@ -0,0 +1,38 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.ProfileView;
+import com.gdc.aerodev.service.logging.LoggingService;
+
+/**
+ * This service reads user and profile pages. Page is read by fixed number of queries and returned as immutable
+ * {@code ProfileView}, so number of queries doesn't grow with number of offers and template can't load entities.
+ * Projects and offers are shown by pages of {@code aerodev.paging.page-size}, next pages are read by cursors.
+ *
+ * @author Yusupov Danil
+ * @see ProfileView
+ */
+public interface ProfileService extends LoggingService {
+    /**
+     * @param userId id of user
+     * @return (0) view of user, his projects and offers or <br>
+     * (1) {@code null} if there is no such user
+     */
+    ProfileView getProfile(Long userId);
+
+    /**
+     * @param userId id of user
+     * @param after  cursor of page, {@code null} for first page
+     * @return page of user's projects
+     * @throws com.gdc.aerodev.service.exception.ServiceException if cursor is malformed
+     */
+    Keyset<ProfileView.ProjectEntry> getProjects(Long userId, String after);
+
+    /**
+     * @param userId id of user
+     * @param after  cursor of page, {@code null} for first page
+     * @return page of offers to user
+     * @throws com.gdc.aerodev.service.exception.ServiceException if cursor is malformed
+     */
+    Keyset<ProfileView.OfferEntry> getOffers(Long userId, String after);
+}
@@ -1,8 +1,10 @@
 package com.gdc.aerodev.service;
 
 import com.gdc.aerodev.model.ProjectContent;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
 import com.gdc.aerodev.service.logging.LoggingService;
 
+import java.io.InputStream;
 import java.util.Date;
 
 /**
@@ -37,6 +39,16 @@ public interface ProjectContentService extends LoggingService {
      */
     boolean updateProjectContent(Long projectId, byte[] projectLogo, String projectDescription);
 
+    /**
+     * Replaces logo of project by one read from stream, content is never held in memory as whole
+     *
+     * @param projectId   id of target project
+     * @param projectLogo logo data, stream isn't closed
+     * @return (0) {@code true} if logo updated or <br>
+     * (1) {@code false} if not
+     */
+    boolean updateLogo(Long projectId, InputStream projectLogo);
+
     /**
      * Takes {@code ProjectContent} from DB
      *
@@ -53,4 +65,13 @@ public interface ProjectContentService extends LoggingService {
      * (1) {@code false} if entity already exists in DB
      */
     boolean isNew(Long projectId);
+
+    /**
+     * Describes logo of project without loading image data. If project has no logo, then default one will be
+     * described.
+     *
+     * @param projectId id of target project
+     * @return description of logo for streaming
+     */
+    MediaMeta describeLogo(Long projectId);
 }
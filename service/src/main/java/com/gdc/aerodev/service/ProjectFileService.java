@@ -0,0 +1,107 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.logging.LoggingService;
+import com.gdc.aerodev.service.upload.UploadStatus;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * This service works with files attached to projects. Files can be of any size, so they are uploaded by chunks
+ * in resumable sessions: client starts upload, sends chunks in any order (also in parallel), asks for missing
+ * ranges after interruption and commits upload when all chunks are sent.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.model.ProjectFile
+ * @see com.gdc.aerodev.model.FileUpload
+ */
+public interface ProjectFileService extends LoggingService {
+    /**
+     * Starts upload session
+     *
+     * @param projectId   id of project, which will own the file
+     * @param userId      id of uploading user
+     * @param fileName    original name of file
+     * @param contentType MIME type of file, can be {@code null}
+     * @param size        size of whole file in bytes
+     * @return status of new upload with the whole file missing
+     * @throws com.gdc.aerodev.service.exception.ServiceException if size exceeds limit
+     */
+    UploadStatus startUpload(Long projectId, Long userId, String fileName, String contentType, long size);
+
+    /**
+     * Writes chunk of file. Chunk is recorded only if it's written completely, so broken chunk must be sent again.
+     *
+     * @param uploadId id of upload
+     * @param offset   position of chunk in file
+     * @param content  chunk data, stream isn't closed
+     * @return number of written bytes
+     * @throws java.util.NoSuchElementException                   if there is no such upload or it's committed or
+     *                                                            aborted
+     * @throws com.gdc.aerodev.service.exception.ServiceException if chunk is out of file's bounds, can't be written
+     *                                                            or upload is being committed
+     */
+    long writeChunk(String uploadId, long offset, InputStream content);
+
+    /**
+     * Gives status of upload
+     *
+     * @param uploadId id of upload
+     * @return (0) status or <br>
+     * (1) {@code null} if there is no such upload
+     */
+    UploadStatus getUpload(String uploadId);
+
+    /**
+     * Creates project file from complete upload and closes upload session
+     *
+     * @param uploadId id of upload
+     * @return id of created file
+     * @throws java.util.NoSuchElementException                   if there is no such upload
+     * @throws com.gdc.aerodev.service.exception.ServiceException if some chunks are missing or upload is being
+     *                                                            committed already
+     */
+    Long commitUpload(String uploadId);
+
+    /**
+     * Cancels upload and removes received chunks
+     *
+     * @param uploadId id of upload
+     * @throws com.gdc.aerodev.service.exception.ServiceException if upload is being committed
+     */
+    void abortUpload(String uploadId);
+
+    /**
+     * Takes metadata of all files of project, content isn't loaded
+     *
+     * @param projectId id of project
+     * @return list of files metadata
+     */
+    List<MediaMeta> getAll(Long projectId);
+
+    /**
+     * Describes file by it's id without loading content
+     *
+     * @param fileId id of file
+     * @return (0) description of file for streaming or <br>
+     * (1) {@code null} if there is no such file
+     */
+    MediaMeta describe(Long fileId);
+
+    /**
+     * Takes original name of file without loading content
+     *
+     * @param fileId id of file
+     * @return (0) name of file or <br>
+     * (1) {@code null} if there is no such file or it was saved without name
+     */
+    String getFileName(Long fileId);
+
+    /**
+     * Removes uploads without activity for longer than allowed, with their temporary files
+     *
+     * @return number of removed uploads
+     */
+    int collectAbandoned();
+}
@@ -1,9 +1,11 @@
 package com.gdc.aerodev.service;
 
 import com.gdc.aerodev.model.ProjectImage;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
 import com.gdc.aerodev.service.logging.LoggingService;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -25,6 +27,17 @@ public interface ProjectImageService extends LoggingService {
      */
     Long createImage(Long projectId, byte[] image, String contentType);
 
+    /**
+     * Saves image read from stream, content is never held in memory as whole
+     *
+     * @param projectId   id of target project
+     * @param image       image data, stream isn't closed
+     * @param contentType type of image
+     * @return (0) {@code img_id} of saved image or <br>
+     * (1) {@code null} if stream is empty or type is unknown
+     */
+    Long createImage(Long projectId, InputStream image, String contentType);
+
     /**
      * Deletes image by it's id
      *
@@ -33,18 +46,27 @@ public interface ProjectImageService extends LoggingService {
     void deleteImage(Long imageId);
 
     /**
-     * Takes all images bind with one project
+     * Takes metadata of all images bind with one project, image data isn't loaded
      *
      * @param projectId id of target project
-     * @return list of images id!
+     * @return list of images metadata or list with default image, if project has no images
      */
-    List<ProjectImage> getAll(Long projectId);
+    List<MediaMeta> getAll(Long projectId);
 
     /**
-     * Gives image by it's id
+     * Loads image with it's data by id. Prefer {@code describe} and streaming where data isn't needed as array.
      *
      * @param imageId id of target image
      * @return image
      */
     ProjectImage get(Long imageId);
+
+    /**
+     * Describes image by it's id without loading image data
+     *
+     * @param imageId id of target image
+     * @return (0) description of image for streaming or <br>
+     * (1) {@code null} if there is no such image
+     */
+    MediaMeta describe(Long imageId);
 }
@@ -3,6 +3,9 @@ package com.gdc.aerodev.service;
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectType;
 import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.ProjectPageView;
 import com.gdc.aerodev.service.logging.LoggingService;
 
 import java.util.List;
@@ -25,6 +28,16 @@ public interface ProjectService extends LoggingService {
      */
     Long createProject(String projectName, Long projectOwner, ProjectType projectType);
 
+    /**
+     * Inserts {@code Project} by one statement, owner is referenced by id without loading it.
+     *
+     * @param projectName  name of new {@code Project}
+     * @param projectOwner ID of {@code User}, who creates this {@code Project}
+     * @param projectType  {@code ProjectType} of new {@code Project}
+     * @return {@code Creation} with id of inserted {@code Project} or reason of rejection
+     */
+    Creation create(String projectName, Long projectOwner, ProjectType projectType);
+
     /**
      * Updates existent {@code Project} chosen by {@param projectId} with input parameters. If there is no need to
      * change some parameter, it should be left as empty ones.
@@ -55,20 +68,31 @@ public interface ProjectService extends LoggingService {
      */
     Project getProject(Long id);
 
+    /**
+     * Reads everything shown on project page by one query, binary content isn't loaded. Project without images
+     * gets id of default image.
+     *
+     * @param id of target project
+     * @return (0) {@code ProjectPageView} or <br>
+     * (1) {@code null} if there is no such project
+     */
+    ProjectPageView getPage(Long id);
+
     /**
      * Encapsulates same method in {@code ProjectDao}
      *
-     * @return list top three projects with biggest rating
+     * @return list of three most popular projects
      */
     List<Project> getTopThree();
 
     /**
      * Encapsulates same method in {@code ProjectDao}
      *
-     * @param user owner of searching projects
-     * @return list of projects created by {@code User} with {@code userId}
+     * @param user  owner of searching projects
+     * @param after cursor of page, {@code null} for first page
+     * @return page of projects created by {@code User} with {@code userId}
      */
-    List<Project> getByUserId(User user);
+    Keyset<Project> getByUserId(User user, String after);
 
     /**
      * I don't know why I did this two weeks ago...
@@ -81,9 +105,9 @@ public interface ProjectService extends LoggingService {
      * Checks project owner matching with client
      *
      * @param project target project to check
-     * @param user  current session client
+     * @param userId id of current session client
      * @return (0) {@code true} if current client is owner of this project or <br>
      * (1) {@code false} if not...
      */
-    boolean isOwner(Project project, User user);
+    boolean isOwner(Project project, Long userId);
 }
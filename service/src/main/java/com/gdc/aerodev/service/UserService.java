@@ -1,6 +1,7 @@
 package com.gdc.aerodev.service;
 
 import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
 import com.gdc.aerodev.service.logging.LoggingService;
 
 import java.util.List;
@@ -24,6 +25,17 @@ public interface UserService extends LoggingService {
      */
     Long createUser(String userName, String userPassword, String userEmail, boolean isMale);
 
+    /**
+     * Inserts {@code User} by one statement, taken name or email is reported instead of being checked in advance.
+     *
+     * @param userName     name of new {@code User}
+     * @param userPassword password of {@code User}
+     * @param userEmail    email of {@code User}
+     * @param isMale       gender indicator
+     * @return {@code Creation} with id of inserted {@code User} or reason of rejection
+     */
+    Creation register(String userName, String userPassword, String userEmail, boolean isMale);
+
     /**
      * Updates existent {@code User} chosen by {@param userId} with input parameters. If there is no need to
      * change some parameter, it should be left as empty ones.
@@ -57,12 +69,22 @@ public interface UserService extends LoggingService {
     User getUser(Long id);
 
     /**
-     * Encapsulates same method in {@code UserDao}
+     * Takes top of {@code LeaderboardService}, so users are ordered without sorting table
      *
      * @return list of top three users with biggest rating
      */
     List<User> getTopThree();
 
+    /**
+     * Changes rating of user and it's place in leaderboard
+     *
+     * @param userId id of user
+     * @param rating new rating
+     * @return (0) {@code true} if rating was changed or <br>
+     * (1) {@code false} if there is no such user
+     */
+    boolean updateRating(Long userId, int rating);
+
     /**
      * Updates user's profile information.
      *
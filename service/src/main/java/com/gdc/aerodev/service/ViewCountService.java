@@ -0,0 +1,40 @@
+package com.gdc.aerodev.service;
+
+import com.gdc.aerodev.service.logging.LoggingService;
+
+/**
+ * This service counts views of project and user pages. Views are counted in memory, so counting costs no database
+ * round trip, and are added to counters in database by batch periodically and on shutdown.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.service.counter.StripedCounter
+ */
+public interface ViewCountService extends LoggingService {
+    /**
+     * Counts view of project page
+     *
+     * @param projectId id of project
+     */
+    void countProjectView(Long projectId);
+
+    /**
+     * Counts view of user page
+     *
+     * @param userId id of user
+     */
+    void countUserView(Long userId);
+
+    /**
+     * @param projectId id of project
+     * @return views of project counted since last flush
+     */
+    long getPendingProjectViews(Long projectId);
+
+    /**
+     * Adds views counted since last flush to counters in database. Views are counted again if database fails, so
+     * they are written by next flush.
+     *
+     * @return number of updated rows
+     */
+    int flush();
+}
@@ -0,0 +1,165 @@
+package com.gdc.aerodev.service.availability;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Set of strings, which can answer only "definitely absent" or "maybe present". Every string sets {@code k} bits
+ * of bit array, positions are taken by double hashing of one 128-bit MurmurHash3 of UTF-8 bytes. Bits are set by
+ * compare-and-set, so strings can be added and checked from many threads without locks. Strings can't be removed,
+ * so filter is rebuilt from scratch to drop them.
+ *
+ * @author Yusupov Danil
+ */
+public class BloomFilter {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private final AtomicLongArray bits;
+    private final long size;
+    private final int hashes;
+
+    /**
+     * @param expected number of strings, which filter keeps with desired rate of false positives
+     * @param fpp      desired rate of false positives, e.g. {@code 0.01}
+     */
+    public BloomFilter(long expected, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("Rate of false positives must be in (0, 1), but was " + fpp);
+        }
+        long n = Math.max(1, expected);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, (m + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.size = (long) words << 6;
+        this.hashes = Math.max(1, (int) Math.round((double) size / n * Math.log(2)));
+    }
+
+    /**
+     * @param value string to add
+     */
+    public void put(String value) {
+        long[] hash = hash(value);
+        long combined = hash[0];
+        for (int i = 0; i < hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % size;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                // another bit of the same word was set concurrently
+            }
+            combined += hash[1];
+        }
+    }
+
+    /**
+     * @param value string to check
+     * @return (0) {@code false} if string was never added or <br>
+     * (1) {@code true} if string was probably added
+     */
+    public boolean mightContain(String value) {
+        long[] hash = hash(value);
+        long combined = hash[0];
+        for (int i = 0; i < hashes; i++) {
+            long bit = (combined & Long.MAX_VALUE) % size;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += hash[1];
+        }
+        return true;
+    }
+
+    /**
+     * @return size of bit array
+     */
+    public long bitSize() {
+        return size;
+    }
+
+    /**
+     * @return number of bits set by every string
+     */
+    public int hashCount() {
+        return hashes;
+    }
+
+    /**
+     * MurmurHash3 x64 128-bit with zero seed
+     */
+    static long[] hash(String value) {
+        byte[] data = value.getBytes(StandardCharsets.UTF_8);
+        int blocks = data.length >>> 4;
+        long h1 = 0;
+        long h2 = 0;
+        for (int i = 0; i < blocks; i++) {
+            long k1 = getLong(data, i << 4);
+            long k2 = getLong(data, (i << 4) + 8);
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27) + h2;
+            h1 = h1 * 5 + 0x52dce729;
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31) + h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+        long k1 = 0;
+        long k2 = 0;
+        int tail = blocks << 4;
+        switch (data.length & 15) {
+            case 15: k2 ^= (long) (data[tail + 14] & 0xff) << 48;
+            case 14: k2 ^= (long) (data[tail + 13] & 0xff) << 40;
+            case 13: k2 ^= (long) (data[tail + 12] & 0xff) << 32;
+            case 12: k2 ^= (long) (data[tail + 11] & 0xff) << 24;
+            case 11: k2 ^= (long) (data[tail + 10] & 0xff) << 16;
+            case 10: k2 ^= (long) (data[tail + 9] & 0xff) << 8;
+            case 9: k2 ^= (long) (data[tail + 8] & 0xff);
+                h2 ^= mixK2(k2);
+            case 8: k1 ^= (long) (data[tail + 7] & 0xff) << 56;
+            case 7: k1 ^= (long) (data[tail + 6] & 0xff) << 48;
+            case 6: k1 ^= (long) (data[tail + 5] & 0xff) << 40;
+            case 5: k1 ^= (long) (data[tail + 4] & 0xff) << 32;
+            case 4: k1 ^= (long) (data[tail + 3] & 0xff) << 24;
+            case 3: k1 ^= (long) (data[tail + 2] & 0xff) << 16;
+            case 2: k1 ^= (long) (data[tail + 1] & 0xff) << 8;
+            case 1: k1 ^= (long) (data[tail] & 0xff);
+                h1 ^= mixK1(k1);
+            default:
+        }
+        h1 ^= data.length;
+        h2 ^= data.length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+        return new long[]{h1, h2};
+    }
+
+    private static long getLong(byte[] data, int offset) {
+        long value = 0;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (data[offset + i] & 0xff);
+        }
+        return value;
+    }
+
+    private static long mixK1(long k1) {
+        return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(long k2) {
+        return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb34fe63a7ed3L;
+        k ^= k >>> 33;
+        return k;
+    }
+}
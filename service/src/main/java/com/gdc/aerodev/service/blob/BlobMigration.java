@@ -0,0 +1,99 @@
+package com.gdc.aerodev.service.blob;
+
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import com.gdc.aerodev.service.cache.MediaCache;
+import com.gdc.aerodev.service.logging.LoggingService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tool for moving media content from {@code BYTEA} columns into {@code BlobStore}. It runs on application start if
+ * {@code aerodev.blob-store.migrate=true} is set. Rows are taken in batches of
+ * {@code aerodev.blob-store.migrate-batch} ids and every content is streamed slice by slice, so memory doesn't
+ * depend on content size. Database content is released only after blob is saved, so migration can be stopped and
+ * started again at any moment.
+ *
+ * @author Yusupov Danil
+ * @see BlobStore
+ * @see MediaRepository
+ */
+@Component
+@ConditionalOnProperty(name = "aerodev.blob-store.migrate", havingValue = "true")
+public class BlobMigration implements ApplicationRunner, LoggingService {
+
+    private final MediaRepository repository;
+
+    private final BlobStore store;
+
+    private final MediaCache cache;
+
+    private final int batchSize;
+
+    @Autowired
+    public BlobMigration(MediaRepository repository, BlobStore store, MediaCache cache,
+                         @Value("${aerodev.blob-store.migrate-batch:100}") int batchSize) {
+        this.repository = repository;
+        this.store = store;
+        this.cache = cache;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        for (MediaRepository.Source source : MediaRepository.Source.values()) {
+            long moved = migrate(source);
+            log.info("Moved " + moved + " rows of " + source + " to blob store.");
+        }
+    }
+
+    /**
+     * Moves all database content of one table
+     *
+     * @param source table of content
+     * @return number of moved rows
+     * @throws IOException if blob store fails
+     */
+    public long migrate(MediaRepository.Source source) throws IOException {
+        long moved = 0;
+        Long lastId = Keyset.FIRST;
+        List<Long> batch;
+        do {
+            batch = repository.findInDatabase(source, lastId, batchSize);
+            for (Long id : batch) {
+                if (migrate(source, id)) {
+                    moved++;
+                }
+                lastId = id;
+            }
+        } while (batch.size() == batchSize);
+        return moved;
+    }
+
+    private boolean migrate(MediaRepository.Source source, Long id) throws IOException {
+        MediaMeta media = repository.describe(source, id);
+        if (media == null || media.isStored()) {
+            return false;
+        }
+        StoredBlob blob;
+        try (BlobOutputStream out = store.create()) {
+            long copied = repository.copy(media, 0, media.getLength(), out);
+            if (copied != media.getLength()) {
+                log.warn("Skipped " + source + " with id " + id + ", content was changed during migration.");
+                return false;
+            }
+            blob = out.commit();
+        }
+        boolean moved = repository.markMoved(source, id, blob.getHash(), blob.getSize());
+        cache.invalidate(source, id);
+        return moved;
+    }
+}
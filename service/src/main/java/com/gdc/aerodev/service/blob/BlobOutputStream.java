@@ -0,0 +1,22 @@
+package com.gdc.aerodev.service.blob;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Stream for writing new content into {@code BlobStore}. Content becomes visible in store only after
+ * {@code commit()}, stream closed without commit leaves nothing behind.
+ *
+ * @author Yusupov Danil
+ * @see BlobStore#create()
+ */
+public abstract class BlobOutputStream extends OutputStream {
+
+    /**
+     * Finishes writing and publishes content in store
+     *
+     * @return reference to saved content
+     * @throws IOException if content can't be saved
+     */
+    public abstract StoredBlob commit() throws IOException;
+}
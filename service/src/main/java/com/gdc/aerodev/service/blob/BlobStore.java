@@ -0,0 +1,77 @@
+package com.gdc.aerodev.service.blob;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+/**
+ * Content-addressed storage of media content. Every content is kept once under it's SHA-256, so equal uploads
+ * share one blob and saved blob never changes.
+ *
+ * @author Yusupov Danil
+ * @see StoredBlob
+ */
+public interface BlobStore {
+
+    /**
+     * Opens stream for new content
+     *
+     * @return stream, which must be committed to save content
+     * @throws IOException if store isn't writable
+     */
+    BlobOutputStream create() throws IOException;
+
+    /**
+     * Saves content of stream, stream isn't closed
+     *
+     * @param content source of content
+     * @return reference to saved content
+     * @throws IOException if source or store fails
+     */
+    StoredBlob put(InputStream content) throws IOException;
+
+    /**
+     * Saves content of array
+     *
+     * @param content whole content
+     * @return reference to saved content
+     * @throws IOException if store fails
+     */
+    StoredBlob put(byte[] content) throws IOException;
+
+    /**
+     * Moves complete file into store. File is hashed by stream and moved without copying, if it's on the same file
+     * system as store, otherwise it's copied and removed.
+     *
+     * @param file file to move, it doesn't exist after call
+     * @return reference to saved content
+     * @throws IOException if file can't be read or moved
+     */
+    StoredBlob move(Path file) throws IOException;
+
+    /**
+     * Checks existence of content
+     *
+     * @param hash SHA-256 of content
+     * @return (0) {@code true} if content is saved or <br>
+     * (1) {@code false} if not
+     */
+    boolean contains(String hash);
+
+    /**
+     * Resolves file of content, which can be read directly or sent by {@code FileChannel.transferTo()}
+     *
+     * @param hash SHA-256 of content
+     * @return path to file of content
+     */
+    Path locate(String hash);
+
+    /**
+     * Loads whole content into memory, use it only where array is required by API
+     *
+     * @param hash SHA-256 of content
+     * @return content as array
+     * @throws IOException if content is missing or can't be read
+     */
+    byte[] read(String hash) throws IOException;
+}
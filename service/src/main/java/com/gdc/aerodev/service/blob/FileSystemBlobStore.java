@@ -0,0 +1,205 @@
+package com.gdc.aerodev.service.blob;
+
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.logging.LoggingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.bind.DatatypeConverter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * {@code BlobStore} on local file system. Blob with hash {@code abcdef...} is kept in file
+ * {@code <root>/ab/cd/abcdef...}, so no directory grows too big. New content is written to {@code <root>/tmp},
+ * synced and atomically moved to it's place, so readers never see partially written blob.
+ *
+ * @author Yusupov Danil
+ * @see BlobStore
+ */
+@Component
+public class FileSystemBlobStore implements BlobStore, LoggingService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    private final Path temp;
+
+    public FileSystemBlobStore(@Value("${aerodev.blob-store.root:${user.home}/.aero-dev/blobs}") String root) {
+        this.root = Paths.get(root).toAbsolutePath();
+        this.temp = this.root.resolve("tmp");
+        try {
+            Files.createDirectories(temp);
+        } catch (IOException e) {
+            throw new ServiceException("Can't create blob store at '" + this.root + "'", e);
+        }
+    }
+
+    @Override
+    public BlobOutputStream create() throws IOException {
+        return new FileBlobOutputStream(Files.createTempFile(temp, "blob", ".tmp"));
+    }
+
+    @Override
+    public StoredBlob put(InputStream content) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (BlobOutputStream out = create()) {
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.commit();
+        }
+    }
+
+    @Override
+    public StoredBlob put(byte[] content) throws IOException {
+        return put(new ByteArrayInputStream(content));
+    }
+
+    @Override
+    public StoredBlob move(Path file) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        long size = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+                size += read;
+            }
+        }
+        String hash = DatatypeConverter.printHexBinary(digest.digest()).toLowerCase();
+        Path target = locate(hash);
+        if (Files.exists(target)) {
+            Files.delete(file);
+            return new StoredBlob(hash, size);
+        }
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredBlob(hash, size);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.debug("File '" + file + "' is on another file system, it's copied to blob store.");
+            StoredBlob blob;
+            try (InputStream in = Files.newInputStream(file)) {
+                blob = put(in);
+            }
+            Files.delete(file);
+            return blob;
+        }
+    }
+
+    @Override
+    public boolean contains(String hash) {
+        return Files.isRegularFile(locate(hash));
+    }
+
+    @Override
+    public Path locate(String hash) {
+        if (hash == null || hash.length() < 4) {
+            throw new IllegalArgumentException("Illegal blob hash '" + hash + "'");
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    @Override
+    public byte[] read(String hash) throws IOException {
+        return Files.readAllBytes(locate(hash));
+    }
+
+    private class FileBlobOutputStream extends BlobOutputStream {
+
+        private final Path file;
+        private final FileChannel channel;
+        private final MessageDigest digest;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private long size;
+        private boolean closed;
+
+        private FileBlobOutputStream(Path file) throws IOException {
+            this.file = file;
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            this.digest = sha256();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("Blob stream is closed");
+            }
+            digest.update(b, off, len);
+            size += len;
+            while (len > 0) {
+                int part = Math.min(len, buffer.remaining());
+                buffer.put(b, off, part);
+                off += part;
+                len -= part;
+                if (!buffer.hasRemaining()) {
+                    drain();
+                }
+            }
+        }
+
+        @Override
+        public StoredBlob commit() throws IOException {
+            drain();
+            channel.force(false);
+            channel.close();
+            closed = true;
+            String hash = DatatypeConverter.printHexBinary(digest.digest()).toLowerCase();
+            Path target = locate(hash);
+            if (Files.exists(target)) {
+                Files.delete(file);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // the same content was committed concurrently
+                    Files.delete(file);
+                }
+            }
+            return new StoredBlob(hash, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                channel.close();
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new ServiceException("SHA-256 isn't supported", e);
+        }
+    }
+}
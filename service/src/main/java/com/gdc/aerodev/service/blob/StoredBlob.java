@@ -0,0 +1,33 @@
+package com.gdc.aerodev.service.blob;
+
+/**
+ * Reference to content saved in {@code BlobStore}
+ *
+ * @author Yusupov Danil
+ * @see BlobStore
+ */
+public class StoredBlob {
+
+    /**
+     * SHA-256 of content as lower case hex string, it's also the key of content in store
+     */
+    private final String hash;
+
+    /**
+     * Size of content in bytes
+     */
+    private final long size;
+
+    public StoredBlob(String hash, long size) {
+        this.hash = hash;
+        this.size = size;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,71 @@
+package com.gdc.aerodev.service.cache;
+
+import com.gdc.aerodev.service.logging.LoggingService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports hits, misses and puts of Hibernate second-level cache by region, so sizes and expiration of regions in
+ * {@code application.conf} can be tuned by real traffic. Regions are kept by Caffeine through JCache, so they are
+ * also exposed as {@code javax.cache} MBeans.
+ *
+ * @author Yusupov Danil
+ */
+@Component
+public class EntityCacheStatistics implements LoggingService {
+
+    private final Statistics statistics;
+
+    @Autowired
+    public EntityCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * @return {@code [hits, misses, puts, cached entries]} by name of region, empty if statistics are disabled
+     */
+    public Map<String, long[]> getRegions() {
+        Map<String, long[]> regions = new TreeMap<>();
+        if (!statistics.isStatisticsEnabled()) {
+            return regions;
+        }
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            SecondLevelCacheStatistics region = statistics.getSecondLevelCacheStatistics(name);
+            if (region != null) {
+                regions.put(name, new long[]{region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                        region.getElementCountInMemory()});
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * @return part of cacheable queries answered by query cache since start
+     */
+    public double getQueryHitRate() {
+        long hits = statistics.getQueryCacheHitCount();
+        long total = hits + statistics.getQueryCacheMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Scheduled(fixedDelayString = "${aerodev.entity-cache.report-period:600000}")
+    public void report() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder("Entity cache:");
+        getRegions().forEach((name, counts) -> report.append(' ').append(name)
+                .append(Arrays.toString(counts)));
+        log.info(report.append(", query hit rate ").append(String.format("%.3f", getQueryHitRate()))
+                .append('.').toString());
+    }
+}
@@ -0,0 +1,158 @@
+package com.gdc.aerodev.service.cache;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.logging.LoggingService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of media content. Cache is bounded by total size of content in bytes
+ * ({@code aerodev.media-cache.max-bytes}) and evicts by W-TinyLFU policy, so rarely requested big content doesn't
+ * push out hot one. Content bigger than {@code aerodev.media-cache.max-entry-bytes} is never cached. <br>
+ * Pinned content (defaults shown for users and projects without their own media) has zero weight and is never
+ * evicted. Content in blob store is cached by hash and never changes, content in database is cached by row and
+ * must be invalidated on every write.
+ *
+ * @author Yusupov Danil
+ * @see MediaMeta
+ */
+@Component
+public class MediaCache implements LoggingService {
+
+    private final MediaRepository repository;
+    private final BlobStore store;
+    private final long maxEntryBytes;
+    private final Set<String> pinned = ConcurrentHashMap.newKeySet();
+    private final Cache<String, byte[]> cache;
+
+    @Autowired
+    public MediaCache(MediaRepository repository, BlobStore store,
+                      @Value("${aerodev.media-cache.max-bytes:67108864}") long maxBytes,
+                      @Value("${aerodev.media-cache.max-entry-bytes:4194304}") long maxEntryBytes) {
+        this.repository = repository;
+        this.store = store;
+        this.maxEntryBytes = maxEntryBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .<String, byte[]>weigher((key, value) -> pinned.contains(key) ? 0 : value.length)
+                .recordStats()
+                // maintenance is cheap without listeners, so it's done by caller instead of common pool
+                .executor(Runnable::run)
+                .build();
+    }
+
+    /**
+     * Gives whole content, loading it if it isn't cached
+     *
+     * @param media described content
+     * @return content as array
+     * @throws IOException if content can't be loaded
+     */
+    public byte[] get(MediaMeta media) throws IOException {
+        if (media.getLength() > maxEntryBytes) {
+            return load(media);
+        }
+        try {
+            return cache.get(key(media), key -> {
+                try {
+                    return load(media);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Checks, if content can be cached
+     *
+     * @param media described content
+     * @return (0) {@code true} if content isn't too big or <br>
+     * (1) {@code false} if it must be streamed
+     */
+    public boolean accepts(MediaMeta media) {
+        return media.getLength() <= maxEntryBytes;
+    }
+
+    /**
+     * Pins content, so it's never evicted. Already cached content is weighed again.
+     *
+     * @param media described content
+     */
+    public void pin(MediaMeta media) {
+        String key = key(media);
+        if (pinned.add(key)) {
+            cache.asMap().computeIfPresent(key, (k, value) -> value);
+        }
+    }
+
+    /**
+     * Removes cached content of database row. Must be called after every change of row's content.
+     *
+     * @param source table of content
+     * @param id     id of row
+     */
+    public void invalidate(MediaRepository.Source source, Long id) {
+        cache.invalidate(key(source, id));
+    }
+
+    /**
+     * @return part of requests served from cache since start
+     */
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    /**
+     * @return total size of cached content in bytes, pinned content excluded
+     */
+    public long getResidentBytes() {
+        return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0L)).orElse(0L);
+    }
+
+    /**
+     * @return number of cached entries including pinned ones
+     */
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    @Scheduled(fixedDelayString = "${aerodev.media-cache.report-period:600000}")
+    public void report() {
+        CacheStats stats = cache.stats();
+        log.info("Media cache: " + getSize() + " entries, " + getResidentBytes() + " bytes, hit rate "
+                + String.format("%.3f", stats.hitRate()) + ", evicted " + stats.evictionCount() + ".");
+    }
+
+    private byte[] load(MediaMeta media) throws IOException {
+        if (media.isStored()) {
+            return store.read(media.getHash());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) media.getLength());
+        repository.copy(media, 0, media.getLength(), out);
+        return out.toByteArray();
+    }
+
+    private static String key(MediaMeta media) {
+        return media.isStored() ? "blob:" + media.getHash() : key(media.getSource(), media.getId());
+    }
+
+    private static String key(MediaRepository.Source source, Long id) {
+        return source + ":" + id;
+    }
+}
@@ -0,0 +1,14 @@
+package com.gdc.aerodev.service.configuration;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background tasks of services
+ *
+ * @author Yusupov Danil
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
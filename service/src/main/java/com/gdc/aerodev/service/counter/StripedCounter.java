@@ -0,0 +1,195 @@
+package com.gdc.aerodev.service.counter;
+
+/**
+ * Map of non-zero {@code long} ids to {@code long} counters, which is cheap to increment from many threads. Ids are
+ * spread over stripes like cells of {@code LongAdder}, every stripe is small open addressing table of primitive
+ * arrays guarded by it's own monitor, so concurrent increments rarely wait for each other and no boxed keys or
+ * entries are created. Counters are taken out by {@link #drain()}, which resets them.
+ *
+ * @author Yusupov Danil
+ */
+public class StripedCounter {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * @param stripes desired number of stripes, it's rounded up to power of two
+     */
+    public StripedCounter(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.stripes = new Stripe[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @param id non-zero id of counted entity
+     */
+    public void increment(long id) {
+        add(id, 1);
+    }
+
+    /**
+     * @param id    non-zero id of counted entity
+     * @param delta value to add to counter
+     */
+    public void add(long id, long delta) {
+        if (id == 0) {
+            throw new IllegalArgumentException("Id of counter must not be zero");
+        }
+        long hash = mix(id);
+        stripes[(int) (hash >>> 32) & mask].add(id, hash, delta);
+    }
+
+    /**
+     * @param id id of counted entity
+     * @return counted value since last drain
+     */
+    public long get(long id) {
+        if (id == 0) {
+            return 0;
+        }
+        long hash = mix(id);
+        return stripes[(int) (hash >>> 32) & mask].get(id, hash);
+    }
+
+    /**
+     * Takes all counters and resets them. Every stripe is swapped separately, so increments aren't blocked while
+     * other stripes are drained and no increment is lost or taken twice.
+     *
+     * @return non-zero counters since last drain
+     */
+    public Counts drain() {
+        long[][] keys = new long[stripes.length][];
+        long[][] values = new long[stripes.length][];
+        int total = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[i];
+            synchronized (stripe) {
+                keys[i] = stripe.keys;
+                values[i] = stripe.values;
+                total += stripe.size;
+                stripe.reset();
+            }
+        }
+        Counts counts = new Counts(total);
+        for (int i = 0; i < stripes.length; i++) {
+            for (int j = 0; j < keys[i].length; j++) {
+                if (keys[i][j] != 0 && values[i][j] != 0) {
+                    counts.put(keys[i][j], values[i][j]);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Spreads sequential ids over whole range of hash, finalizer of MurmurHash3
+     */
+    private static long mix(long id) {
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Open addressing table with linear probing, {@code 0} key marks free slot
+     */
+    private static class Stripe {
+        long[] keys;
+        long[] values;
+        int size;
+
+        Stripe() {
+            reset();
+        }
+
+        void reset() {
+            keys = new long[INITIAL_CAPACITY];
+            values = new long[INITIAL_CAPACITY];
+            size = 0;
+        }
+
+        synchronized void add(long id, long hash, long delta) {
+            int slot = find(keys, id, hash);
+            if (keys[slot] == 0) {
+                if ((size + 1) * 4 > keys.length * 3) {
+                    grow();
+                    slot = find(keys, id, hash);
+                }
+                keys[slot] = id;
+                size++;
+            }
+            values[slot] += delta;
+        }
+
+        synchronized long get(long id, long hash) {
+            int slot = find(keys, id, hash);
+            return keys[slot] == 0 ? 0 : values[slot];
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = find(keys, oldKeys[i], mix(oldKeys[i]));
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int find(long[] keys, long id, long hash) {
+            int m = keys.length - 1;
+            int slot = (int) hash & m;
+            while (keys[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & m;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Drained counters as parallel arrays of ids and values
+     */
+    public static class Counts {
+        private final long[] ids;
+        private final long[] values;
+        private int size;
+
+        Counts(int capacity) {
+            this.ids = new long[capacity];
+            this.values = new long[capacity];
+        }
+
+        void put(long id, long value) {
+            ids[size] = id;
+            values[size] = value;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long getId(int i) {
+            return ids[i];
+        }
+
+        public long getValue(int i) {
+            return values[i];
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.gdc.aerodev.service.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published by services after content shown to other users was written, so caches of rendered or derived content
+ * can drop it. Event is published synchronously in thread of writer.
+ *
+ * @author Yusupov Danil
+ */
+public class ContentChangedEvent extends ApplicationEvent {
+
+    /**
+     * Kinds of changed content
+     */
+    public enum Subject {
+        PROJECT, USER, AVATAR
+    }
+
+    private final Subject subject;
+    private final Long id;
+
+    /**
+     * @param source  service, which wrote content
+     * @param subject kind of content
+     * @param id      id of project or user
+     */
+    public ContentChangedEvent(Object source, Subject subject, Long id) {
+        super(source);
+        this.subject = subject;
+        this.id = id;
+    }
+
+    public Subject getSubject() {
+        return subject;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
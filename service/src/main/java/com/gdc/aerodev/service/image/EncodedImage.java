@@ -0,0 +1,62 @@
+package com.gdc.aerodev.service.image;
+
+import com.gdc.aerodev.service.blob.StoredBlob;
+
+import java.awt.Dimension;
+
+/**
+ * Image saved into blob store by {@code ImageEncoder}
+ *
+ * @author Yusupov Danil
+ * @see ImageEncoder
+ */
+public class EncodedImage {
+
+    private final StoredBlob blob;
+    private final String contentType;
+    private final Dimension dimensions;
+    private final String originalHash;
+
+    public EncodedImage(StoredBlob blob, String contentType, Dimension dimensions, String originalHash) {
+        this.blob = blob;
+        this.contentType = contentType;
+        this.dimensions = dimensions;
+        this.originalHash = originalHash;
+    }
+
+    /**
+     * @return reference to saved image
+     */
+    public StoredBlob getBlob() {
+        return blob;
+    }
+
+    /**
+     * @return MIME type of saved image, it differs from uploaded one if image was re-encoded
+     */
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * @return size of saved image in pixels or {@code null} if it's unknown
+     */
+    public Dimension getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return SHA-256 of kept original or {@code null} if original wasn't kept
+     */
+    public String getOriginalHash() {
+        return originalHash;
+    }
+
+    public Integer getWidth() {
+        return dimensions == null ? null : dimensions.width;
+    }
+
+    public Integer getHeight() {
+        return dimensions == null ? null : dimensions.height;
+    }
+}
@@ -0,0 +1,123 @@
+package com.gdc.aerodev.service.image;
+
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.logging.LoggingService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Saves uploaded images into blob store. If {@code aerodev.image-encoding.enabled} is set, image is decoded and
+ * encoded again: image is turned by it's EXIF orientation, metadata (EXIF, comments, color profiles) is dropped,
+ * image is scaled to fit {@code max-edge} and compressed to configured {@code format} and {@code quality}. Original
+ * is kept in blob store only if {@code keep-original} is set. Content which can't be decoded or which re-encoded
+ * image would be bigger is saved as it's uploaded.
+ *
+ * @author Yusupov Danil
+ * @see ImageScaler
+ */
+@Component
+public class ImageEncoder implements LoggingService {
+
+    private final BlobStore blobStore;
+    private final boolean enabled;
+    private final int maxEdge;
+    private final float quality;
+    private final String format;
+    private final boolean keepOriginal;
+    private final Path tempDir;
+
+    public ImageEncoder(BlobStore blobStore,
+                        @Value("${aerodev.image-encoding.enabled:false}") boolean enabled,
+                        @Value("${aerodev.image-encoding.max-edge:2048}") int maxEdge,
+                        @Value("${aerodev.image-encoding.quality:0.85}") float quality,
+                        @Value("${aerodev.image-encoding.format:auto}") String format,
+                        @Value("${aerodev.image-encoding.keep-original:false}") boolean keepOriginal,
+                        @Value("${aerodev.upload.temp-dir:${user.home}/.aero-dev/uploads}") String tempDir) {
+        if (!Arrays.asList(ImageScaler.AUTO, ImageScaler.JPEG, ImageScaler.PNG).contains(format)) {
+            throw new ServiceException("Unknown image format '" + format + "', use 'auto', 'jpeg' or 'png'");
+        }
+        this.blobStore = blobStore;
+        this.enabled = enabled;
+        this.maxEdge = maxEdge;
+        this.quality = quality;
+        this.format = format;
+        this.keepOriginal = keepOriginal;
+        this.tempDir = Paths.get(tempDir).toAbsolutePath();
+        if (enabled) {
+            try {
+                Files.createDirectories(this.tempDir);
+            } catch (IOException e) {
+                throw new ServiceException("Can't create directory for images at '" + this.tempDir + "'", e);
+            }
+        }
+    }
+
+    /**
+     * Saves uploaded image, re-encoding it if it's enabled
+     *
+     * @param content     uploaded image, stream isn't closed
+     * @param contentType MIME type of uploaded image, can be {@code null}
+     * @return saved image
+     * @throws IOException if content can't be read or saved
+     */
+    public EncodedImage store(InputStream content, String contentType) throws IOException {
+        if (!enabled) {
+            return asIs(blobStore.put(content), contentType);
+        }
+        Path original = Files.createTempFile(tempDir, "image", ".tmp");
+        try {
+            Files.copy(content, original, StandardCopyOption.REPLACE_EXISTING);
+            BufferedImage image = decode(original);
+            if (image == null) {
+                return asIs(blobStore.move(original), contentType);
+            }
+            // orientation is lost with metadata, so pixels are turned before encoding
+            BufferedImage scaled = ImageScaler.orient(ImageScaler.scale(image, maxEdge),
+                    ImageProbe.orientation(original));
+            byte[] bytes = ImageScaler.encode(scaled, format, quality);
+            long originalSize = Files.size(original);
+            if (bytes.length >= originalSize) {
+                log.debug("Kept image of " + originalSize + " bytes, it's re-encoded to " + bytes.length + " bytes.");
+                return asIs(blobStore.move(original), contentType);
+            }
+            StoredBlob encoded = blobStore.put(bytes);
+            String originalHash = keepOriginal ? blobStore.move(original).getHash() : null;
+            log.debug("Re-encoded image of " + originalSize + " bytes to " + encoded.getSize() + " bytes.");
+            return new EncodedImage(encoded, ImageScaler.contentType(scaled, format),
+                    new Dimension(scaled.getWidth(), scaled.getHeight()), originalHash);
+        } finally {
+            Files.deleteIfExists(original);
+        }
+    }
+
+    private EncodedImage asIs(StoredBlob blob, String contentType) {
+        return new EncodedImage(blob, contentType, ImageProbe.dimensions(blobStore.locate(blob.getHash())), null);
+    }
+
+    /**
+     * Decodes image, only pixels needed for {@code max-edge} are kept in memory
+     *
+     * @return (0) decoded image or <br>
+     * (1) {@code null} if content isn't supported image
+     */
+    private BufferedImage decode(Path file) {
+        try {
+            return ImageScaler.read(file, Math.max(1, maxEdge / 2));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Can't decode uploaded image: " + e.getMessage());
+            return null;
+        }
+    }
+}
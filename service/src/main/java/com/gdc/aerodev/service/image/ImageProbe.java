@@ -0,0 +1,133 @@
+package com.gdc.aerodev.service.image;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Dimension;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Reads dimensions and orientation of image from it's header without decoding pixels
+ *
+ * @author Yusupov Danil
+ */
+public class ImageProbe {
+
+    /**
+     * EXIF orientation of image, which is shown as it's stored
+     */
+    public static final int NORMAL_ORIENTATION = 1;
+
+    private static final int ORIENTATION_TAG = 0x0112;
+    private static final byte[] EXIF = {'E', 'x', 'i', 'f', 0, 0};
+
+    /**
+     * Takes width and height of image
+     *
+     * @param image encoded image
+     * @return (0) dimensions of image or <br>
+     * (1) {@code null} if format of image isn't supported or image is broken
+     */
+    public static Dimension dimensions(byte[] image) {
+        return dimensions((Object) new ByteArrayInputStream(image));
+    }
+
+    /**
+     * Takes width and height of image file
+     *
+     * @param image file of encoded image
+     * @return (0) dimensions of image or <br>
+     * (1) {@code null} if format of image isn't supported or image is broken
+     */
+    public static Dimension dimensions(Path image) {
+        return dimensions((Object) image.toFile());
+    }
+
+    /**
+     * Takes EXIF orientation of JPEG file. Only segments before image data are read.
+     *
+     * @param image file of encoded image
+     * @return (0) orientation from 1 to 8 as it's defined by EXIF or <br>
+     * (1) {@link #NORMAL_ORIENTATION} if image isn't JPEG or has no valid orientation
+     */
+    public static int orientation(Path image) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(image)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return NORMAL_ORIENTATION;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // start of scan or end of image, there is no metadata after them
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return NORMAL_ORIENTATION;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return NORMAL_ORIENTATION;
+                }
+                if (marker != 0xFFE1 || length < EXIF.length) {
+                    in.skipBytes(length);
+                    continue;
+                }
+                byte[] segment = new byte[length];
+                in.readFully(segment);
+                if (Arrays.equals(EXIF, Arrays.copyOf(segment, EXIF.length))) {
+                    return orientation(ByteBuffer.wrap(segment, EXIF.length, length - EXIF.length).slice());
+                }
+            }
+        } catch (IOException e) {
+            return NORMAL_ORIENTATION;
+        }
+    }
+
+    /**
+     * Finds orientation tag in first IFD of TIFF structure of EXIF segment
+     */
+    private static int orientation(ByteBuffer tiff) {
+        try {
+            tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiff.getInt(4);
+            int count = tiff.getShort(ifd) & 0xFFFF;
+            for (int i = 0; i < count; i++) {
+                int entry = ifd + 2 + i * 12;
+                if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                    int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                    return orientation >= 1 && orientation <= 8 ? orientation : NORMAL_ORIENTATION;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // broken segment
+        }
+        return NORMAL_ORIENTATION;
+    }
+
+    private static Dimension dimensions(Object image) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(image)) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                return new Dimension(reader.getWidth(0), reader.getHeight(0));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.gdc.aerodev.service.image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Decodes, scales and encodes images with standard {@code javax.imageio}
+ *
+ * @author Yusupov Danil
+ */
+public class ImageScaler {
+
+    /**
+     * Format chosen by image: PNG for images with transparency, JPEG for others
+     */
+    public static final String AUTO = "auto";
+    public static final String JPEG = "jpeg";
+    public static final String PNG = "png";
+
+    /**
+     * Decodes image file. Big images are subsampled while decoding, so only every n-th pixel is kept in memory,
+     * but result is still at least twice bigger than {@code minEdge}.
+     *
+     * @param file    encoded image
+     * @param minEdge the biggest edge which will be made from decoded image
+     * @return (0) decoded image or <br>
+     * (1) {@code null} if format isn't supported
+     * @throws IOException if file can't be read or decoded
+     */
+    public static BufferedImage read(Path file, int minEdge) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int edge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, edge / (minEdge * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales image to fit square with side of {@code maxEdge}. Image is halved step by step, so scaled image stays
+     * smooth with bilinear interpolation.
+     *
+     * @param image   source image
+     * @param maxEdge side of square
+     * @return scaled image or source image, if it already fits
+     */
+    public static BufferedImage scale(BufferedImage image, int maxEdge) {
+        int edge = Math.max(image.getWidth(), image.getHeight());
+        if (edge <= maxEdge) {
+            return image;
+        }
+        int width = Math.max(1, image.getWidth() * maxEdge / edge);
+        int height = Math.max(1, image.getHeight() * maxEdge / edge);
+        BufferedImage result = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            result = resize(result, w, h);
+        } while (w != width || h != height);
+        return result;
+    }
+
+    /**
+     * Turns image as it's described by EXIF orientation, so it's shown right without metadata
+     *
+     * @param image       decoded image
+     * @param orientation EXIF orientation from 1 to 8
+     * @return turned image or source image, if it has normal orientation
+     * @see ImageProbe#orientation(Path)
+     */
+    public static BufferedImage orient(BufferedImage image, int orientation) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        AffineTransform transform;
+        switch (orientation) {
+            case 2: // mirrored horizontally
+                transform = new AffineTransform(-1, 0, 0, 1, w, 0);
+                break;
+            case 3: // rotated by 180 degrees
+                transform = new AffineTransform(-1, 0, 0, -1, w, h);
+                break;
+            case 4: // mirrored vertically
+                transform = new AffineTransform(1, 0, 0, -1, 0, h);
+                break;
+            case 5: // transposed
+                transform = new AffineTransform(0, 1, 1, 0, 0, 0);
+                break;
+            case 6: // rotated by 90 degrees clockwise to be shown
+                transform = new AffineTransform(0, 1, -1, 0, h, 0);
+                break;
+            case 7: // transversed
+                transform = new AffineTransform(0, -1, -1, 0, h, w);
+                break;
+            case 8: // rotated by 90 degrees counterclockwise to be shown
+                transform = new AffineTransform(0, -1, 1, 0, 0, w);
+                break;
+            default:
+                return image;
+        }
+        boolean swapped = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage result = new BufferedImage(swapped ? h : w, swapped ? w : h, type);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.drawImage(image, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    /**
+     * Encodes image to PNG, if it has transparency, or to JPEG otherwise
+     *
+     * @param image   image to encode
+     * @param quality JPEG quality from 0 to 1
+     * @return encoded image
+     * @throws IOException if image can't be encoded
+     */
+    public static byte[] encode(BufferedImage image, float quality) throws IOException {
+        return encode(image, AUTO, quality);
+    }
+
+    /**
+     * Encodes image to given format. Metadata of source isn't written, so encoded image contains pixels only.
+     * Transparent pixels are put on white background, if image is encoded to JPEG.
+     *
+     * @param image   image to encode
+     * @param format  one of {@code AUTO}, {@code JPEG} or {@code PNG}
+     * @param quality JPEG quality from 0 to 1
+     * @return encoded image
+     * @throws IOException if image can't be encoded
+     */
+    public static byte[] encode(BufferedImage image, String format, float quality) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (isPng(image, format)) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(rgb(image), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * MIME type of image encoded by {@code encode}
+     */
+    public static String contentType(BufferedImage image) {
+        return contentType(image, AUTO);
+    }
+
+    /**
+     * MIME type of image encoded by {@code encode} to given format
+     */
+    public static String contentType(BufferedImage image, String format) {
+        return isPng(image, format) ? "image/png" : "image/jpeg";
+    }
+
+    private static boolean isPng(BufferedImage image, String format) {
+        return PNG.equals(format) || (!JPEG.equals(format) && image.getColorModel().hasAlpha());
+    }
+
+    private static BufferedImage resize(BufferedImage image, int width, int height) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage result = new BufferedImage(width, height, type);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(image, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+
+    private static BufferedImage rgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        BufferedImage result = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = result.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            g.drawImage(image, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,58 @@
+package com.gdc.aerodev.service.image;
+
+/**
+ * Fixed sizes of image derivatives. Image is scaled to fit square with side of {@code maxEdge} pixels keeping
+ * it's proportions, smaller images aren't scaled.
+ *
+ * @author Yusupov Danil
+ */
+public enum ImageSize {
+    /**
+     * Icons, e.g. avatar in navigation bar
+     */
+    THUMB(64),
+    /**
+     * Cards of home page
+     */
+    SMALL(320),
+    /**
+     * Project page and profile
+     */
+    MEDIUM(800);
+
+    private final int maxEdge;
+
+    ImageSize(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int getMaxEdge() {
+        return maxEdge;
+    }
+
+    /**
+     * Name of size used in URLs and database
+     */
+    public String getName() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Finds size by it's name
+     *
+     * @param name name of size in any case
+     * @return (0) {@code ImageSize} or <br>
+     * (1) {@code null} if name is {@code null} or unknown
+     */
+    public static ImageSize of(String name) {
+        if (name == null) {
+            return null;
+        }
+        for (ImageSize size : values()) {
+            if (size.name().equalsIgnoreCase(name)) {
+                return size;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.NameRepository;
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.service.AvailabilityService;
+import com.gdc.aerodev.service.availability.BloomFilter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of availability of names by Bloom filter per column. Filter is sized by number of names in
+ * database with {@code aerodev.availability.headroom} times more room, so rate of false positives stays near
+ * {@code aerodev.availability.fpp} until next rebuild. Names taken during rebuild are put to both old and new filter,
+ * so they can't be lost by replacing filter. Filters are read without locks, so checks of names don't wait for
+ * each other.
+ *
+ * @author Yusupov Danil
+ * @see AvailabilityService
+ * @see NameRepository
+ */
+@Service
+public class AvailabilityServiceImpl implements AvailabilityService {
+
+    private final NameRepository repository;
+    private final double fpp;
+    private final double headroom;
+    private final int minCapacity;
+    private final Map<Kind, BloomFilter> filters = new ConcurrentHashMap<>();
+    private final Map<Kind, BloomFilter> building = new EnumMap<>(Kind.class);
+    private final LongAdder answered = new LongAdder();
+    private final LongAdder checked = new LongAdder();
+
+    @Autowired
+    public AvailabilityServiceImpl(NameRepository repository,
+                                   @Value("${aerodev.availability.fpp:0.01}") double fpp,
+                                   @Value("${aerodev.availability.headroom:2}") double headroom,
+                                   @Value("${aerodev.availability.min-capacity:10000}") int minCapacity) {
+        this.repository = repository;
+        this.fpp = fpp;
+        this.headroom = Math.max(1, headroom);
+        this.minCapacity = minCapacity;
+    }
+
+    @Override
+    public boolean isAvailable(Kind kind, String name) {
+        if (name == null || name.isEmpty()) {
+            return false;
+        }
+        BloomFilter filter = filters.get(kind);
+        if (filter != null && !filter.mightContain(name)) {
+            answered.increment();
+            return true;
+        }
+        checked.increment();
+        return !repository.exists(kind, name);
+    }
+
+    @Override
+    public synchronized void taken(Kind kind, String name) {
+        BloomFilter filter = filters.get(kind);
+        if (filter != null) {
+            filter.put(name);
+        }
+        BloomFilter next = building.get(kind);
+        if (next != null) {
+            next.put(name);
+        }
+    }
+
+    @Override
+    @PostConstruct
+    @Scheduled(initialDelayString = "${aerodev.availability.rebuild-period:86400000}",
+            fixedDelayString = "${aerodev.availability.rebuild-period:86400000}")
+    public long rebuild() {
+        long loaded = 0;
+        for (Kind kind : Kind.values()) {
+            long expected = Math.max(minCapacity, (long) (repository.count(kind) * headroom));
+            BloomFilter next = new BloomFilter(expected, fpp);
+            synchronized (this) {
+                building.put(kind, next);
+            }
+            long[] count = new long[1];
+            try {
+                repository.forEach(kind, name -> {
+                    next.put(name);
+                    count[0]++;
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    building.remove(kind);
+                }
+                throw e;
+            }
+            synchronized (this) {
+                building.remove(kind);
+                filters.put(kind, next);
+            }
+            loaded += count[0];
+            log.debug("Availability filter of " + kind + " keeps " + count[0] + " names in " + next.bitSize()
+                    + " bits by " + next.hashCount() + " hashes.");
+        }
+        log.info("Availability filters are rebuilt with " + loaded + " names, " + answered.sumThenReset()
+                + " names were answered from memory and " + checked.sumThenReset() + " by database since last "
+                + "rebuild.");
+        return loaded;
+    }
+}
@@ -3,11 +3,27 @@ package com.gdc.aerodev.service.impl;
 import com.gdc.aerodev.model.Avatar;
 import com.gdc.aerodev.model.User;
 import com.gdc.aerodev.repository.postgresql.AvatarRepository;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
 import com.gdc.aerodev.service.AvatarService;
+import com.gdc.aerodev.service.DerivativeService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.cache.MediaCache;
+import com.gdc.aerodev.service.event.ContentChangedEvent;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.image.EncodedImage;
+import com.gdc.aerodev.service.image.ImageEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -30,6 +46,36 @@ public class AvatarServiceImpl implements AvatarService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * DAO for streaming avatar's data
+     */
+    private final MediaRepository mediaRepository;
+
+    /**
+     * Storage of avatar's data
+     */
+    private final BlobStore blobStore;
+
+    /**
+     * Re-encoder of uploaded avatars
+     */
+    private final ImageEncoder imageEncoder;
+
+    /**
+     * Generator of scaled avatars
+     */
+    private final DerivativeService derivativeService;
+
+    /**
+     * Cache of avatar's data
+     */
+    private final MediaCache mediaCache;
+
+    /**
+     * Publisher of changed avatars
+     */
+    private final ApplicationEventPublisher publisher;
+
     /**
      * Id of default avatar for male user
      */
@@ -41,9 +87,18 @@ public class AvatarServiceImpl implements AvatarService {
     private final Long DEFAULT_WOMAN_AVATAR = 2L;
 
     @Autowired
-    public AvatarServiceImpl(AvatarRepository avatarRepository, UserRepository userRepository) {
+    public AvatarServiceImpl(AvatarRepository avatarRepository, UserRepository userRepository,
+                             MediaRepository mediaRepository, BlobStore blobStore, ImageEncoder imageEncoder,
+                             DerivativeService derivativeService, MediaCache mediaCache,
+                             ApplicationEventPublisher publisher) {
         this.avatarRepository = avatarRepository;
         this.userRepository = userRepository;
+        this.mediaRepository = mediaRepository;
+        this.blobStore = blobStore;
+        this.imageEncoder = imageEncoder;
+        this.derivativeService = derivativeService;
+        this.mediaCache = mediaCache;
+        this.publisher = publisher;
     }
 
     /**
@@ -62,21 +117,85 @@ public class AvatarServiceImpl implements AvatarService {
         Optional<Avatar> avatar = avatarRepository.findById(userId);
         User user = userRepository.findByUserId(userId);
         if (!avatar.isPresent()) {
-            if (user.isMale()) {
-                return avatarRepository.findById(DEFAULT_MAN_AVATAR).get();
-            } else {
-                return avatarRepository.findById(DEFAULT_WOMAN_AVATAR).get();
+            MediaMeta defaultAvatar = describeDefault(user);
+            try {
+                return new Avatar(defaultAvatar.getId(), mediaCache.get(defaultAvatar), defaultAvatar.getContentType());
+            } catch (IOException e) {
+                throw new ServiceException("Can't load default avatar with id " + defaultAvatar.getId(), e);
             }
         } else {
-            return avatar.get();
+            return withData(avatar.get());
         }
     }
 
+    @Override
+    public MediaMeta describeAvatar(Long userId) {
+        MediaMeta avatar = mediaRepository.describe(MediaRepository.Source.AVATAR, userId);
+        if (avatar == null) {
+            avatar = describeDefault(userRepository.findByUserId(userId));
+        }
+        return avatar;
+    }
+
+    /**
+     * Describes default avatar chosen by sex of user and pins it in cache
+     */
+    private MediaMeta describeDefault(User user) {
+        Long defaultAvatar = user.isMale() ? DEFAULT_MAN_AVATAR : DEFAULT_WOMAN_AVATAR;
+        MediaMeta avatar = mediaRepository.describe(MediaRepository.Source.AVATAR, defaultAvatar);
+        mediaCache.pin(avatar);
+        return avatar;
+    }
+
     @Override
     public Long uploadAvatar(Long userId, byte[] bytes, String contentType) {
+        return uploadAvatar(userId, new ByteArrayInputStream(bytes), contentType);
+    }
+
+    @Override
+    public Long uploadAvatar(Long userId, InputStream content, String contentType) {
         User user = userRepository.findByUserId(userId);
-        Long avatarId = avatarRepository.findByUser(user).getAvatarId();
-        return avatarRepository.save(new Avatar(user, bytes, contentType)).getAvatarId();
+        EncodedImage image;
+        try {
+            image = imageEncoder.store(content, contentType);
+        } catch (IOException e) {
+            throw new ServiceException("Can't save avatar of user with id " + userId, e);
+        }
+        // content is cached by row, so rows shown before upload are dropped from cache
+        List<MediaMeta> previous = mediaRepository.describeAll(MediaRepository.Source.AVATAR, userId);
+        StoredBlob blob = image.getBlob();
+        Avatar avatar = new Avatar(user, null, image.getContentType())
+                .setAvatarHash(blob.getHash())
+                .setAvatarSize(blob.getSize())
+                .setAvatarEtag(blob.getHash())
+                .setAvatarModified(new Date())
+                .setAvatarWidth(image.getWidth())
+                .setAvatarHeight(image.getHeight())
+                .setAvatarOriginalHash(image.getOriginalHash());
+        Long id = avatarRepository.save(avatar).getAvatarId();
+        for (MediaMeta old : previous) {
+            mediaCache.invalidate(MediaRepository.Source.AVATAR, old.getId());
+        }
+        derivativeService.schedule(blob.getHash(), image.getContentType());
+        publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.AVATAR, userId));
+        return id;
+    }
+
+    /**
+     * Loads data of avatar moved to blob store. Returns detached copy, so loaded data is never written back
+     * to database.
+     */
+    private Avatar withData(Avatar avatar) {
+        if (avatar.getAvatarHash() == null) {
+            return avatar;
+        }
+        try {
+            return new Avatar(avatar.getAvatarId(), blobStore.read(avatar.getAvatarHash()), avatar.getContentType())
+                    .setAvatarHash(avatar.getAvatarHash())
+                    .setAvatarSize(avatar.getAvatarSize());
+        } catch (IOException e) {
+            throw new ServiceException("Can't load avatar with id " + avatar.getAvatarId(), e);
+        }
     }
 }
 
@@ -1,21 +1,24 @@
 package com.gdc.aerodev.service.impl;
 
+import com.gdc.aerodev.model.Company;
 import com.gdc.aerodev.model.Cr;
 import com.gdc.aerodev.repository.postgresql.CrRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.service.CrService;
 import com.gdc.aerodev.service.exception.ServiceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class CrServiceImpl implements CrService {
     private CrRepository repository;
+    private int pageSize;
 
     @Autowired
-    public CrServiceImpl(CrRepository repository) {
+    public CrServiceImpl(CrRepository repository, @Value("${aerodev.paging.page-size:20}") int pageSize) {
         this.repository = repository;
+        this.pageSize = pageSize;
     }
 
     @Override
@@ -43,7 +46,13 @@ public class CrServiceImpl implements CrService {
     }
 
     @Override
-    public List<Cr> getAll() {
-        return repository.findAll();
+    public Keyset<Cr> getAll(String after) {
+        return Keyset.of(repository.findPage(Pages.after(after), Keyset.page(pageSize)), pageSize, Cr::getCrId);
+    }
+
+    @Override
+    public Keyset<Cr> getByCompany(Company company, String after) {
+        return Keyset.of(repository.findPageByCompany(company, Pages.after(after), Keyset.page(pageSize)), pageSize,
+                Cr::getCrId);
     }
 }
@@ -0,0 +1,124 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.DerivativeRepository;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.DerivativeService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.image.ImageScaler;
+import com.gdc.aerodev.service.image.ImageSize;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.awt.image.BufferedImage;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * Implementation of service for generating image derivatives on bounded pool of
+ * {@code aerodev.derivatives.threads} workers with queue of {@code aerodev.derivatives.queue} originals. Original is
+ * decoded once for all sizes.
+ *
+ * @author Yusupov Danil
+ * @see DerivativeService
+ * @see DerivativeRepository
+ */
+@Service
+public class DerivativeServiceImpl implements DerivativeService {
+
+    private final DerivativeRepository repository;
+    private final BlobStore store;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Hashes of originals queued or being processed
+     */
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public DerivativeServiceImpl(DerivativeRepository repository, BlobStore store,
+                                 @Value("${aerodev.derivatives.threads:2}") int threads,
+                                 @Value("${aerodev.derivatives.queue:100}") int queue,
+                                 @Value("${aerodev.derivatives.quality:0.85}") float quality) {
+        this.repository = repository;
+        this.store = store;
+        this.quality = quality;
+        this.executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                new ArrayBlockingQueue<>(queue), r -> {
+            Thread thread = new Thread(r, "derivatives");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void schedule(String hash, String contentType) {
+        if (hash == null || (contentType != null && !contentType.startsWith("image/")) || !queued.add(hash)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(hash, contentType);
+                } finally {
+                    queued.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            queued.remove(hash);
+            log.debug("Derivatives queue is full, skipped image " + hash);
+        }
+    }
+
+    @Override
+    public MediaMeta find(MediaMeta original, ImageSize size) {
+        if (!original.isStored()) {
+            return null;
+        }
+        MediaMeta derivative = repository.find(original, size.getName());
+        if (derivative == null) {
+            schedule(original.getHash(), original.getContentType());
+        }
+        return derivative;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(String hash, String contentType) {
+        try {
+            int maxEdge = 0;
+            for (ImageSize size : ImageSize.values()) {
+                maxEdge = Math.max(maxEdge, size.getMaxEdge());
+            }
+            BufferedImage image = ImageScaler.read(store.locate(hash), maxEdge);
+            if (image == null) {
+                log.debug("Unsupported image format of " + hash);
+                return;
+            }
+            int edge = Math.max(image.getWidth(), image.getHeight());
+            for (ImageSize size : ImageSize.values()) {
+                if (edge <= size.getMaxEdge()) {
+                    // small image is a derivative of itself
+                    repository.save(hash, size.getName(), hash, store.locate(hash).toFile().length(), contentType,
+                            image.getWidth(), image.getHeight());
+                    continue;
+                }
+                BufferedImage scaled = ImageScaler.scale(image, size.getMaxEdge());
+                StoredBlob blob = store.put(ImageScaler.encode(scaled, quality));
+                repository.save(hash, size.getName(), blob.getHash(), blob.getSize(), ImageScaler.contentType(scaled),
+                        scaled.getWidth(), scaled.getHeight());
+            }
+            log.debug("Generated derivatives of image " + hash);
+        } catch (Exception e) {
+            log.warn("Can't generate derivatives of image " + hash + ": " + e.getMessage());
+        }
+    }
+}
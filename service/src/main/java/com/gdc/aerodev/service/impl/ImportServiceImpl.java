@@ -0,0 +1,234 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.Creation.Status;
+import com.gdc.aerodev.repository.postgresql.ImportRepository;
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.service.AvailabilityService;
+import com.gdc.aerodev.service.ImportService;
+import com.gdc.aerodev.service.LeaderboardService;
+import com.gdc.aerodev.service.PopularityService;
+import com.gdc.aerodev.service.event.ContentChangedEvent;
+import com.gdc.aerodev.service.importing.ImportFormat;
+import com.gdc.aerodev.service.importing.ImportReport;
+import com.gdc.aerodev.service.importing.ImportRules;
+import com.gdc.aerodev.service.importing.MalformedRecordException;
+import com.gdc.aerodev.service.importing.RecordReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Import runs in thread of caller, records are checked on own fork-join pool of {@code aerodev.import.threads}
+ * workers. Input is read by batches of {@code aerodev.import.batch-size} records and batch is checked while previous
+ * one is loaded, so reading, checking and loading overlap. Every imported user is added to leaderboard, popularity
+ * is recomputed once after import of projects instead of row by row.
+ *
+ * @author Yusupov Danil
+ * @see ImportService
+ * @see ImportRepository
+ */
+@Service
+public class ImportServiceImpl implements ImportService {
+
+    /**
+     * Read record, row of values is set by check
+     */
+    private static class Row {
+        private final long position;
+        private final Map<String, String> values;
+        private String[] row;
+        private String error;
+
+        private Row(long position, Map<String, String> values, String error) {
+            this.position = position;
+            this.values = values;
+            this.error = error;
+        }
+    }
+
+    private final ImportRepository repository;
+    private final AvailabilityService availability;
+    private final LeaderboardService leaderboard;
+    private final PopularityService popularity;
+    private final ApplicationEventPublisher publisher;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int maxErrors;
+
+    @Autowired
+    public ImportServiceImpl(ImportRepository repository, AvailabilityService availability,
+                             LeaderboardService leaderboard, PopularityService popularity,
+                             ApplicationEventPublisher publisher,
+                             @Value("${aerodev.import.batch-size:1000}") int batchSize,
+                             @Value("${aerodev.import.threads:0}") int threads,
+                             @Value("${aerodev.import.max-errors:1000}") int maxErrors) {
+        this.repository = repository;
+        this.availability = availability;
+        this.leaderboard = leaderboard;
+        this.popularity = popularity;
+        this.publisher = publisher;
+        this.pool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = maxErrors;
+    }
+
+    @Override
+    public ImportReport importRows(Target target, ImportFormat format, Reader input) {
+        long started = System.currentTimeMillis();
+        ImportReport report = new ImportReport(target, maxErrors);
+        RecordReader reader = format.open(input);
+        Long lastCreated = null;
+        ForkJoinTask<List<Row>> checking = null;
+        List<Row> batch;
+        do {
+            batch = read(reader, report);
+            ForkJoinTask<List<Row>> next = batch.isEmpty() ? null : check(target, batch);
+            if (checking != null) {
+                lastCreated = load(target, checking.join(), report, lastCreated);
+            }
+            checking = next;
+        } while (batch.size() == batchSize && report.getFailure() == null);
+        if (checking != null) {
+            lastCreated = load(target, checking.join(), report, lastCreated);
+        }
+        if (lastCreated != null) {
+            if (target == Target.USERS) {
+                publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.USER, lastCreated));
+            } else if (target == Target.PROJECTS) {
+                popularity.recompute();
+                publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.PROJECT,
+                        lastCreated));
+            }
+        }
+        log.info("Imported " + report + " in " + (System.currentTimeMillis() - started) + " ms.");
+        return report;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reads up to {@code batch-size} records, malformed record is kept with error
+     */
+    private List<Row> read(RecordReader reader, ImportReport report) {
+        List<Row> batch = new ArrayList<>(batchSize);
+        while (batch.size() < batchSize) {
+            try {
+                Map<String, String> values = reader.next();
+                if (values == null) {
+                    break;
+                }
+                batch.add(new Row(reader.position(), values, null));
+            } catch (MalformedRecordException e) {
+                batch.add(new Row(e.getPosition(), null, e.getMessage()));
+            } catch (IOException e) {
+                log.error("Import of " + report.getTarget() + " stopped after record " + reader.position() + ": "
+                        + e.getMessage());
+                report.failed("Input isn't readable after record " + reader.position() + ": " + e.getMessage());
+                break;
+            }
+        }
+        return batch;
+    }
+
+    private ForkJoinTask<List<Row>> check(Target target, List<Row> batch) {
+        return pool.submit(() -> {
+            batch.parallelStream()
+                    .filter(row -> row.error == null)
+                    .forEach(row -> {
+                        try {
+                            row.row = ImportRules.toRow(target, row.values);
+                        } catch (IllegalArgumentException e) {
+                            row.error = e.getMessage();
+                        }
+                    });
+            return batch;
+        });
+    }
+
+    /**
+     * Loads valid rows of batch and reports every row in order of input
+     *
+     * @return id of last created row
+     */
+    private Long load(Target target, List<Row> batch, ImportReport report, Long lastCreated) {
+        List<String[]> rows = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            if (row.error == null) {
+                rows.add(row.row);
+            }
+        }
+        List<Creation> creations = null;
+        String failure = null;
+        try {
+            creations = repository.load(target, rows);
+        } catch (DataAccessException e) {
+            log.error("Batch of " + rows.size() + " " + target + " wasn't loaded: " + e.getMessage());
+            failure = "Batch wasn't loaded: " + e.getMostSpecificCause().getMessage();
+        }
+        int next = 0;
+        for (Row row : batch) {
+            if (row.error != null) {
+                report.rejected(row.position, Status.INVALID, row.error);
+                continue;
+            }
+            Creation creation = creations == null ? Creation.rejected(Status.CONFLICT) : creations.get(next++);
+            if (creation.isCreated()) {
+                report.created();
+                taken(target, row.row, creation.getId());
+                lastCreated = creation.getId();
+            } else {
+                report.rejected(row.position, creation.getStatus(),
+                        failure == null ? reason(target, creation.getStatus(), row.row) : failure);
+            }
+        }
+        return lastCreated;
+    }
+
+    /**
+     * Tells in-memory indexes about created row, imported users start with zero rating
+     */
+    private void taken(Target target, String[] row, Long id) {
+        if (target == Target.USERS) {
+            availability.taken(Kind.USER_NAME, value(target, row, "name"));
+            availability.taken(Kind.USER_EMAIL, value(target, row, "email"));
+            leaderboard.update(id, 0);
+        } else if (target == Target.PROJECTS) {
+            availability.taken(Kind.PROJECT_NAME, value(target, row, "name"));
+        }
+    }
+
+    private String reason(Target target, Status status, String[] row) {
+        switch (status) {
+            case DUPLICATE_NAME:
+                return "Name '" + value(target, row, "name") + "' is taken";
+            case DUPLICATE_EMAIL:
+                return "Email '" + value(target, row, "email") + "' is taken";
+            case MISSING_OWNER:
+                return target == Target.CRS
+                        ? "Company '" + value(target, row, "company") + "' doesn't exist"
+                        : "User '" + value(target, row, "owner") + "' doesn't exist";
+            default:
+                return "Name or email was taken by concurrent insert";
+        }
+    }
+
+    private static String value(Target target, String[] row, String column) {
+        return row[target.getColumns().indexOf(column)];
+    }
+}
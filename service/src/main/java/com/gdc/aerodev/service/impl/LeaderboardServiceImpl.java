@@ -0,0 +1,102 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import com.gdc.aerodev.service.LeaderboardService;
+import com.gdc.aerodev.service.ranking.RankIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of leaderboard of users kept in memory. Updates made while leaderboard is rebuilt are kept and
+ * applied to rebuilt one before it replaces current one, so ratings read from database before update aren't
+ * brought back.
+ *
+ * @author Yusupov Danil
+ * @see LeaderboardService
+ * @see RankIndex
+ */
+@Service
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private final UserRepository repository;
+    private final Object rebuildLock = new Object();
+    private volatile RankIndex index = new RankIndex();
+    /**
+     * Ratings by user changed since running rebuild started, {@code null} rating for removed user, {@code null} if
+     * there is no running rebuild
+     */
+    private Map<Long, Integer> changes;
+
+    @Autowired
+    public LeaderboardServiceImpl(UserRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<RankIndex.Entry> getTop(int k) {
+        return index.top(k);
+    }
+
+    @Override
+    public int getRank(Long userId) {
+        return index.rank(userId);
+    }
+
+    @Override
+    public List<RankIndex.Entry> getAround(int rank, int radius) {
+        return index.around(rank, radius);
+    }
+
+    @Override
+    public synchronized void update(Long userId, int rating) {
+        index.put(userId, rating);
+        if (changes != null) {
+            changes.put(userId, rating);
+        }
+    }
+
+    @Override
+    public synchronized void remove(Long userId) {
+        index.remove(userId);
+        if (changes != null) {
+            changes.put(userId, null);
+        }
+    }
+
+    @Override
+    @PostConstruct
+    public int rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (this) {
+                changes = new HashMap<>();
+            }
+            try {
+                RankIndex rebuilt = new RankIndex();
+                for (Object[] rating : repository.findAllRatings()) {
+                    rebuilt.put((Long) rating[0], (Integer) rating[1]);
+                }
+                synchronized (this) {
+                    changes.forEach((userId, rating) -> {
+                        if (rating == null) {
+                            rebuilt.remove(userId);
+                        } else {
+                            rebuilt.put(userId, rating);
+                        }
+                    });
+                    index = rebuilt;
+                }
+                log.info("Built leaderboard of " + rebuilt.size() + " users.");
+                return rebuilt.size();
+            } finally {
+                synchronized (this) {
+                    changes = null;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import com.gdc.aerodev.service.MediaService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.cache.MediaCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+/**
+ * Implementation of service for streaming media content from database or blob store
+ *
+ * @author Yusupov Danil
+ * @see MediaService
+ * @see MediaRepository
+ * @see BlobStore
+ * @see MediaCache
+ */
+@Service
+public class MediaServiceImpl implements MediaService {
+
+    private final MediaRepository repository;
+    private final BlobStore store;
+    private final MediaCache cache;
+
+    @Autowired
+    public MediaServiceImpl(MediaRepository repository, BlobStore store, MediaCache cache) {
+        this.repository = repository;
+        this.store = store;
+        this.cache = cache;
+    }
+
+    @Override
+    public long copy(MediaMeta media, long offset, long length, OutputStream out) throws IOException {
+        if (cache.accepts(media)) {
+            byte[] content = cache.get(media);
+            if (offset >= content.length) {
+                return 0;
+            }
+            int count = (int) Math.min(length, content.length - offset);
+            out.write(content, (int) offset, count);
+            return count;
+        }
+        long copied = media.isStored()
+                ? copyFile(store.locate(media.getHash()), offset, length, out)
+                : repository.copy(media, offset, length, out);
+        if (copied < length) {
+            log.warn("Copied " + copied + " of " + length + " bytes of " + media.getSource() + " with id "
+                    + media.getId() + ", content was changed during transfer.");
+        }
+        return copied;
+    }
+
+    @Override
+    public Path locate(MediaMeta media) {
+        return media.isStored() ? store.locate(media.getHash()) : null;
+    }
+
+    private long copyFile(Path file, long offset, long length, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        try (FileChannel channel = FileChannel.open(file)) {
+            long end = Math.min(offset + length, channel.size());
+            long position = offset;
+            while (position < end) {
+                long sent = channel.transferTo(position, end - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            return position - offset;
+        }
+    }
+}
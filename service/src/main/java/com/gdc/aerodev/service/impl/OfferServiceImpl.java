@@ -4,27 +4,33 @@ import com.gdc.aerodev.model.Cr;
 import com.gdc.aerodev.model.Offer;
 import com.gdc.aerodev.model.User;
 import com.gdc.aerodev.repository.postgresql.CrRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
 import com.gdc.aerodev.repository.postgresql.OfferRepository;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
 import com.gdc.aerodev.service.OfferService;
+import com.gdc.aerodev.service.PopularityService;
 import com.gdc.aerodev.service.exception.ServiceException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-
 @Service
 public class OfferServiceImpl implements OfferService {
 
     private OfferRepository repository;
     private UserRepository userRepository;
     private CrRepository crRepository;
+    private PopularityService popularity;
+    private int pageSize;
 
     @Autowired
-    public OfferServiceImpl(OfferRepository repository, UserRepository userRepository, CrRepository crRepository) {
+    public OfferServiceImpl(OfferRepository repository, UserRepository userRepository, CrRepository crRepository,
+                            PopularityService popularity, @Value("${aerodev.paging.page-size:20}") int pageSize) {
         this.repository = repository;
         this.userRepository = userRepository;
         this.crRepository = crRepository;
+        this.popularity = popularity;
+        this.pageSize = pageSize;
     }
 
     @Override
@@ -42,7 +48,9 @@ public class OfferServiceImpl implements OfferService {
         if (user == null){
             throw new ServiceException("There is no engineer with id:" + userId + " for new offer.");
         }
-        return repository.save(new Offer(user, cr, description, Offer.Status.INITIATED)).getOfferId();
+        Long id = repository.save(new Offer(user, cr, description, Offer.Status.INITIATED)).getOfferId();
+        popularity.onOfferAdded(userId);
+        return id;
     }
 
     @Override
@@ -64,14 +72,16 @@ public class OfferServiceImpl implements OfferService {
     }
 
     @Override
-    public List<Offer> getByUserId(Long userId) {
+    public Keyset<Offer> getByUserId(Long userId, String after) {
         User user = userRepository.findByUserId(userId);
-        return repository.findAllByOfferedUser(user);
+        return Keyset.of(repository.findPageByOfferedUser(user, Pages.after(after), Keyset.page(pageSize)),
+                pageSize, Offer::getOfferId);
     }
 
     @Override
-    public List<Offer> getByCrId(Long crId) {
+    public Keyset<Offer> getByCrId(Long crId, String after) {
         Cr cr = crRepository.findById(crId).get();
-        return repository.findAllByOfferedCr(cr);
+        return Keyset.of(repository.findPageByOfferedCr(cr, Pages.after(after), Keyset.page(pageSize)),
+                pageSize, Offer::getOfferId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.service.exception.ServiceException;
+
+/**
+ * Reads cursors of pages, which come back from clients
+ *
+ * @author Yusupov Danil
+ * @see Keyset
+ */
+final class Pages {
+
+    private Pages() {
+    }
+
+    /**
+     * @param cursor cursor of page or {@code null} for first page
+     * @return id after which page starts
+     * @throws ServiceException if cursor wasn't made by {@code Keyset}
+     */
+    static long after(String cursor) {
+        try {
+            return Keyset.after(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Wrong cursor of page: '" + cursor + "'.", e);
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.repository.postgresql.ProjectStats;
+import com.gdc.aerodev.repository.postgresql.ProjectStatsRepository;
+import com.gdc.aerodev.service.PopularityService;
+import com.gdc.aerodev.service.counter.StripedCounter;
+import com.gdc.aerodev.service.exception.ServiceException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of popularity scoring. Score is kept in log scale with forward decay:
+ * {@code log2(1 + views * w + images * w + offers * w) + (created - landmark) / half-life}, so scores of different
+ * projects stay comparable without decaying all of them as time goes. Projects are ordered by score overall and
+ * by type, tops of {@code top-size} ids are rebuilt only when change touches them, so reading top costs nothing.
+ * Views are counted by {@code ViewCountService}, which passes them here by batch when it flushes them to database, so
+ * page views don't contend for orders. Full recompute runs on own fork-join pool, events received while it reads
+ * database are applied to recomputed scores.
+ *
+ * @author Yusupov Danil
+ * @see PopularityService
+ * @see ProjectStatsRepository
+ * @see ViewCountServiceImpl
+ */
+@Service
+public class PopularityServiceImpl implements PopularityService {
+
+    /**
+     * Start of forward decay, 2018-01-01 UTC
+     */
+    private static final long LANDMARK = 1514764800000L;
+
+    private static final double LN2 = Math.log(2);
+
+    private final ProjectStatsRepository repository;
+    private final ForkJoinPool pool;
+    private final int topSize;
+    private final double halfLife;
+    private final double viewWeight;
+    private final double imageWeight;
+    private final double offerWeight;
+
+    private final Object recomputeLock = new Object();
+
+    private final Map<Long, Scored> scores = new ConcurrentHashMap<>();
+    private final Map<Long, List<Scored>> byOwner = new HashMap<>();
+    private final NavigableSet<Ranked> overall = new TreeSet<>();
+    private final Map<ProjectType, NavigableSet<Ranked>> byType = new EnumMap<>(ProjectType.class);
+    private volatile Top top = Top.EMPTY;
+    private final Map<ProjectType, Top> topByType = new ConcurrentHashMap<>();
+    /**
+     * Events received since running recompute started, {@code null} if there is no running recompute
+     */
+    private Changes changes;
+
+    @Autowired
+    public PopularityServiceImpl(ProjectStatsRepository repository,
+                                 @Value("${aerodev.popularity.parallelism:0}") int parallelism,
+                                 @Value("${aerodev.popularity.top-size:10}") int topSize,
+                                 @Value("${aerodev.popularity.half-life:604800000}") long halfLife,
+                                 @Value("${aerodev.popularity.weight.view:1}") double viewWeight,
+                                 @Value("${aerodev.popularity.weight.image:5}") double imageWeight,
+                                 @Value("${aerodev.popularity.weight.offer:10}") double offerWeight) {
+        this.repository = repository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.topSize = Math.max(1, topSize);
+        this.halfLife = halfLife;
+        this.viewWeight = viewWeight;
+        this.imageWeight = imageWeight;
+        this.offerWeight = offerWeight;
+        for (ProjectType type : ProjectType.values()) {
+            byType.put(type, new TreeSet<>());
+            topByType.put(type, Top.EMPTY);
+        }
+    }
+
+    @Override
+    public List<Long> getTop() {
+        return top.ids;
+    }
+
+    @Override
+    public List<Long> getTop(ProjectType type) {
+        return type == null ? top.ids : topByType.get(type).ids;
+    }
+
+    @Override
+    public double getScore(Long projectId) {
+        Scored scored = scores.get(projectId);
+        return scored == null ? Double.NaN : scored.score;
+    }
+
+    @Override
+    public synchronized void onCreated(Long projectId, Long ownerId, ProjectType type) {
+        if (scores.containsKey(projectId)) {
+            return;
+        }
+        Scored scored = new Scored(projectId, ownerId, type, System.currentTimeMillis(), 0, 0, 0);
+        scored.score = score(scored);
+        if (changes != null) {
+            changes.created.add(projectId);
+        }
+        scores.put(projectId, scored);
+        index(scored);
+        place(scored, null, Double.NaN);
+    }
+
+    @Override
+    public synchronized void onTypeChanged(Long projectId, ProjectType type) {
+        if (changes != null) {
+            changes.types.put(projectId, type);
+        }
+        Scored scored = scores.get(projectId);
+        if (scored != null && scored.type != type) {
+            ProjectType oldType = scored.type;
+            scored.type = type;
+            place(scored, oldType, scored.score);
+        }
+    }
+
+    @Override
+    public synchronized void onImageAdded(Long projectId) {
+        if (changes != null) {
+            changes.images.merge(projectId, 1, Integer::sum);
+        }
+        Scored scored = scores.get(projectId);
+        if (scored != null) {
+            scored.images++;
+            rescore(scored);
+        }
+    }
+
+    @Override
+    public synchronized void onOfferAdded(Long userId) {
+        if (changes != null) {
+            changes.offers.merge(userId, 1, Integer::sum);
+        }
+        for (Scored scored : byOwner.getOrDefault(userId, Collections.emptyList())) {
+            scored.offers++;
+            rescore(scored);
+        }
+    }
+
+    @Override
+    public synchronized int onViews(StripedCounter.Counts views) {
+        int rescored = 0;
+        for (int i = 0; i < views.size(); i++) {
+            Scored scored = scores.get(views.getId(i));
+            if (scored != null) {
+                scored.views += views.getValue(i);
+                rescore(scored);
+                rescored++;
+            }
+        }
+        return rescored;
+    }
+
+    @Override
+    @PostConstruct
+    @Scheduled(initialDelayString = "${aerodev.popularity.recompute-period:3600000}",
+            fixedDelayString = "${aerodev.popularity.recompute-period:3600000}")
+    public int recompute() {
+        synchronized (recomputeLock) {
+            synchronized (this) {
+                changes = new Changes();
+            }
+            try {
+                return recompute(repository.findAll());
+            } finally {
+                synchronized (this) {
+                    changes = null;
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Scores projects by statistics read from database and replaces all scores by them. Events received since
+     * statistics began to be read are applied to them: projects created meanwhile are kept, last type change wins, and
+     * images and offers are added, so event of change, which statistics already show, is counted twice until next
+     * recompute, but no event is lost.
+     */
+    private int recompute(List<ProjectStats> stats) {
+        List<Scored> computed;
+        try {
+            computed = pool.submit(() -> stats.parallelStream()
+                    .map(s -> {
+                        Scored scored = new Scored(s.getProjectId(), s.getOwnerId(), s.getProjectType(),
+                                s.getCreated() == null ? LANDMARK : s.getCreated().getTime(), s.getViews(),
+                                s.getImages(), s.getOffers());
+                        scored.score = score(scored);
+                        return scored;
+                    })
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Recompute of popularity is interrupted", e);
+        } catch (ExecutionException e) {
+            throw new ServiceException("Can't recompute popularity", e.getCause());
+        }
+        synchronized (this) {
+            Map<Long, Scored> previous = new HashMap<>(scores);
+            scores.clear();
+            byOwner.clear();
+            overall.clear();
+            byType.values().forEach(Set::clear);
+            for (Scored scored : computed) {
+                Scored old = previous.get(scored.id);
+                // views flushed while statistics were read can be missing from them
+                if (old != null && old.views > scored.views) {
+                    scored.views = old.views;
+                }
+                ProjectType type = changes.types.get(scored.id);
+                if (type != null) {
+                    scored.type = type;
+                }
+                scored.images += changes.images.getOrDefault(scored.id, 0);
+                if (scored.ownerId != null) {
+                    scored.offers += changes.offers.getOrDefault(scored.ownerId, 0);
+                }
+                scored.score = score(scored);
+                restore(scored);
+            }
+            // created project, which statistics don't show yet, already has all of it's events
+            for (Long id : changes.created) {
+                Scored created = previous.get(id);
+                if (created != null && !scores.containsKey(id)) {
+                    restore(created);
+                }
+            }
+            top = Top.of(overall, topSize);
+            byType.forEach((type, set) -> topByType.put(type, Top.of(set, topSize)));
+        }
+        log.info("Recomputed popularity of " + computed.size() + " projects.");
+        return computed.size();
+    }
+
+    private double score(Scored scored) {
+        double signals = 1 + viewWeight * scored.views + imageWeight * scored.images + offerWeight * scored.offers;
+        return Math.log(signals) / LN2 + (scored.created - LANDMARK) / halfLife;
+    }
+
+    /**
+     * Puts scored project to emptied scores and orders
+     */
+    private void restore(Scored scored) {
+        scores.put(scored.id, scored);
+        index(scored);
+        overall.add(new Ranked(scored.score, scored.id));
+        if (scored.type != null) {
+            byType.get(scored.type).add(new Ranked(scored.score, scored.id));
+        }
+    }
+
+    private void index(Scored scored) {
+        if (scored.ownerId != null) {
+            byOwner.computeIfAbsent(scored.ownerId, id -> new ArrayList<>()).add(scored);
+        }
+    }
+
+    private void rescore(Scored scored) {
+        double oldScore = scored.score;
+        scored.score = score(scored);
+        place(scored, scored.type, oldScore);
+    }
+
+    /**
+     * Moves project to it's place in orders and rebuilds tops, which were changed
+     *
+     * @param oldType  type, which project was ordered in
+     * @param oldScore score, which project was ordered by, {@code NaN} for new project
+     */
+    private void place(Scored scored, ProjectType oldType, double oldScore) {
+        Ranked old = Double.isNaN(oldScore) ? null : new Ranked(oldScore, scored.id);
+        Ranked current = new Ranked(scored.score, scored.id);
+        if (old != null) {
+            overall.remove(old);
+        }
+        overall.add(current);
+        top = top.update(overall, old, current, topSize);
+        if (old != null && oldType != null) {
+            NavigableSet<Ranked> set = byType.get(oldType);
+            set.remove(old);
+            if (oldType != scored.type) {
+                topByType.put(oldType, topByType.get(oldType).update(set, old, null, topSize));
+            }
+        }
+        if (scored.type != null) {
+            NavigableSet<Ranked> set = byType.get(scored.type);
+            set.add(current);
+            Ranked replaced = oldType == scored.type ? old : null;
+            topByType.put(scored.type, topByType.get(scored.type).update(set, replaced, current, topSize));
+        }
+    }
+
+    /**
+     * Signals and score of project
+     */
+    private static class Scored {
+        final long id;
+        final Long ownerId;
+        ProjectType type;
+        final long created;
+        long views;
+        int images;
+        int offers;
+        double score;
+
+        Scored(long id, Long ownerId, ProjectType type, long created, long views, int images, int offers) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.type = type;
+            this.created = created;
+            this.views = views;
+            this.images = images;
+            this.offers = offers;
+        }
+    }
+
+    /**
+     * Created projects, new types and images by project, offers by owner received during recompute
+     */
+    private static class Changes {
+        final Set<Long> created = new HashSet<>();
+        final Map<Long, ProjectType> types = new HashMap<>();
+        final Map<Long, Integer> images = new HashMap<>();
+        final Map<Long, Integer> offers = new HashMap<>();
+    }
+
+    /**
+     * Position of project in order, the best score goes first
+     */
+    private static class Ranked implements Comparable<Ranked> {
+        final double score;
+        final long id;
+
+        Ranked(double score, long id) {
+            this.score = score;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(Ranked other) {
+            int c = Double.compare(other.score, score);
+            return c != 0 ? c : Long.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Immutable top of order
+     */
+    private static class Top {
+        static final Top EMPTY = new Top(Collections.emptyList());
+
+        final List<Ranked> ranked;
+        final List<Long> ids;
+
+        Top(List<Ranked> ranked) {
+            this.ranked = ranked;
+            this.ids = Collections.unmodifiableList(ranked.stream().map(r -> r.id).collect(Collectors.toList()));
+        }
+
+        static Top of(NavigableSet<Ranked> set, int size) {
+            List<Ranked> ranked = new ArrayList<>(size);
+            for (Ranked r : set) {
+                if (ranked.size() == size) {
+                    break;
+                }
+                ranked.add(r);
+            }
+            return new Top(Collections.unmodifiableList(ranked));
+        }
+
+        /**
+         * Rebuilds top from order only if removed or added position belongs to it
+         */
+        Top update(NavigableSet<Ranked> set, Ranked removed, Ranked added, int size) {
+            boolean touched = (removed != null && ids.contains(removed.id))
+                    || (added != null && (ranked.size() < size || added.compareTo(ranked.get(ranked.size() - 1)) < 0));
+            return touched ? of(set, size) : this;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.ProfileRepository;
+import com.gdc.aerodev.repository.postgresql.ProfileView;
+import com.gdc.aerodev.service.ProfileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementation of service for reading user and profile pages. Queries of one page run in one read-only
+ * transaction, so they see the same state of database.
+ *
+ * @author Yusupov Danil
+ * @see ProfileService
+ * @see ProfileRepository
+ */
+@Service
+public class ProfileServiceImpl implements ProfileService {
+
+    private final ProfileRepository repository;
+    private final int pageSize;
+
+    @Autowired
+    public ProfileServiceImpl(ProfileRepository repository, @Value("${aerodev.paging.page-size:20}") int pageSize) {
+        this.repository = repository;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ProfileView getProfile(Long userId) {
+        ProfileView view = repository.find(userId, pageSize);
+        if (view == null) {
+            log.debug("There is no user with id " + userId + " for profile.");
+        }
+        return view;
+    }
+
+    @Override
+    public Keyset<ProfileView.ProjectEntry> getProjects(Long userId, String after) {
+        return repository.findProjects(userId, Pages.after(after), pageSize);
+    }
+
+    @Override
+    public Keyset<ProfileView.OfferEntry> getOffers(Long userId, String after) {
+        return repository.findOffers(userId, Pages.after(after), pageSize);
+    }
+}
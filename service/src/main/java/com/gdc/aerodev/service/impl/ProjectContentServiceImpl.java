@@ -2,13 +2,25 @@ package com.gdc.aerodev.service.impl;
 
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectContent;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
 import com.gdc.aerodev.repository.postgresql.ProjectContentRepository;
 import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.service.DerivativeService;
 import com.gdc.aerodev.service.ProjectContentService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.cache.MediaCache;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.image.EncodedImage;
+import com.gdc.aerodev.service.image.ImageEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -24,6 +36,11 @@ public class ProjectContentServiceImpl implements ProjectContentService {
 
     private ProjectContentRepository contentRepository;
     private ProjectRepository projectRepository;
+    private MediaRepository mediaRepository;
+    private BlobStore blobStore;
+    private ImageEncoder imageEncoder;
+    private DerivativeService derivativeService;
+    private MediaCache mediaCache;
 
     /**
      * Id of default project, which id already exists in database for development purposes
@@ -31,9 +48,16 @@ public class ProjectContentServiceImpl implements ProjectContentService {
     private final Long DEFAULT_PROJECT = 1L;
 
     @Autowired
-    public ProjectContentServiceImpl(ProjectContentRepository contentRepository, ProjectRepository projectRepository) {
+    public ProjectContentServiceImpl(ProjectContentRepository contentRepository, ProjectRepository projectRepository,
+                                     MediaRepository mediaRepository, BlobStore blobStore, ImageEncoder imageEncoder,
+                                     DerivativeService derivativeService, MediaCache mediaCache) {
         this.contentRepository = contentRepository;
         this.projectRepository = projectRepository;
+        this.mediaRepository = mediaRepository;
+        this.blobStore = blobStore;
+        this.imageEncoder = imageEncoder;
+        this.derivativeService = derivativeService;
+        this.mediaCache = mediaCache;
     }
 
     @Override
@@ -48,7 +72,11 @@ public class ProjectContentServiceImpl implements ProjectContentService {
         }
         try {
             Project project = projectRepository.findByProjectId(projectId);
-            contentRepository.save(new ProjectContent(project, projectLogo, projectDescription, new Date()));
+            ProjectContent content = new ProjectContent(project, null, projectDescription, new Date());
+            if (projectLogo != null && projectLogo.length != 0) {
+                storeLogo(content, projectLogo);
+            }
+            contentRepository.save(content);
             return true;
         } catch (DataIntegrityViolationException e) {
             return false;
@@ -59,13 +87,27 @@ public class ProjectContentServiceImpl implements ProjectContentService {
     public boolean updateProjectContent(Long projectId, byte[] projectLogo, String projectDescription) {
         ProjectContent content = contentRepository.findById(projectId).get();
         if (projectLogo.length != 0) {
-            content.setProjectLogo(projectLogo);
+            storeLogo(content, projectLogo);
         }
         if (!projectDescription.equals("")) {
             content.setProjectDescription(projectDescription);
         }
         try {
             contentRepository.save(content);
+            mediaCache.invalidate(MediaRepository.Source.PROJECT_LOGO, content.getContentId());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean updateLogo(Long projectId, InputStream projectLogo) {
+        ProjectContent content = contentRepository.findById(projectId).get();
+        storeLogo(content, projectLogo);
+        try {
+            contentRepository.save(content);
+            mediaCache.invalidate(MediaRepository.Source.PROJECT_LOGO, content.getContentId());
             return true;
         } catch (DataIntegrityViolationException e) {
             return false;
@@ -75,9 +117,23 @@ public class ProjectContentServiceImpl implements ProjectContentService {
     @Override
     public ProjectContent get(Long projectId) {
         ProjectContent content = contentRepository.findById(projectId).get();
+        if (content.getLogoHash() != null) {
+            // detached copy, so loaded logo is never written back to database
+            return new ProjectContent(content.getProject(), loadLogo(content.getLogoHash()),
+                    content.getProjectDescription(), content.getProjectBirthDay())
+                    .setContentId(content.getContentId())
+                    .setLogoHash(content.getLogoHash())
+                    .setLogoSize(content.getLogoSize());
+        }
         if (content.getProjectLogo() == null || content.getProjectLogo().length == 0) {
             log.debug("No project logo for project with id: " + projectId);
-            byte[] logo = contentRepository.findById(DEFAULT_PROJECT).get().getProjectLogo();
+            MediaMeta defaultLogo = describeDefault();
+            byte[] logo;
+            try {
+                logo = mediaCache.get(defaultLogo);
+            } catch (IOException e) {
+                throw new ServiceException("Can't load default project logo", e);
+            }
             log.debug("Loaded default logo: " + logo.length + " bytes.");
             content.setProjectLogo(logo);
         }
@@ -89,4 +145,55 @@ public class ProjectContentServiceImpl implements ProjectContentService {
         return !contentRepository.existsById(projectId);
     }
 
+    @Override
+    public MediaMeta describeLogo(Long projectId) {
+        MediaMeta logo = mediaRepository.describe(MediaRepository.Source.PROJECT_LOGO, projectId);
+        if (logo == null) {
+            throw new NoSuchElementException("No content for project with id: " + projectId);
+        }
+        if (logo.isEmpty()) {
+            log.debug("No project logo for project with id: " + projectId);
+            logo = describeDefault();
+        }
+        return logo;
+    }
+
+    /**
+     * Describes logo of default project and pins it in cache
+     */
+    private MediaMeta describeDefault() {
+        MediaMeta logo = mediaRepository.describe(MediaRepository.Source.PROJECT_LOGO, DEFAULT_PROJECT);
+        mediaCache.pin(logo);
+        return logo;
+    }
+
+    private void storeLogo(ProjectContent content, byte[] projectLogo) {
+        storeLogo(content, new ByteArrayInputStream(projectLogo));
+    }
+
+    private void storeLogo(ProjectContent content, InputStream projectLogo) {
+        try {
+            EncodedImage logo = imageEncoder.store(projectLogo, null);
+            StoredBlob blob = logo.getBlob();
+            content.setProjectLogo(null);
+            content.setLogoHash(blob.getHash())
+                    .setLogoSize(blob.getSize())
+                    .setLogoEtag(blob.getHash())
+                    .setLogoModified(new Date());
+            content.setLogoWidth(logo.getWidth())
+                    .setLogoHeight(logo.getHeight())
+                    .setLogoOriginalHash(logo.getOriginalHash());
+            derivativeService.schedule(blob.getHash(), logo.getContentType());
+        } catch (IOException e) {
+            throw new ServiceException("Can't save project logo", e);
+        }
+    }
+
+    private byte[] loadLogo(String hash) {
+        try {
+            return blobStore.read(hash);
+        } catch (IOException e) {
+            throw new ServiceException("Can't load project logo " + hash, e);
+        }
+    }
 }
@@ -0,0 +1,353 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.model.FileUpload;
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.ProjectFile;
+import com.gdc.aerodev.model.UploadChunk;
+import com.gdc.aerodev.repository.postgresql.*;
+import com.gdc.aerodev.service.ProjectFileService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.upload.UploadStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Implementation of service for uploading project files by chunks. Every upload has sparse temporary file of
+ * declared size in {@code aerodev.upload.temp-dir}, chunks are written right into their place of this file, so
+ * they can come in any order and in parallel. Committed file is moved into blob store without copying. Uploads
+ * without activity for {@code aerodev.upload.session-ttl} milliseconds are removed. <br>
+ * Chunks are written under read lock of their upload, commit and abort take write lock, so they wait for chunks in
+ * flight, and chunk coming after commit has started is rejected: file can't change while it's hashed and moved, and
+ * no chunk is recorded for removed upload.
+ *
+ * @author Yusupov Danil
+ * @see ProjectFileService
+ * @see FileUploadRepository
+ * @see UploadChunkRepository
+ */
+@Service
+public class ProjectFileServiceImpl implements ProjectFileService {
+
+    private final FileUploadRepository uploadRepository;
+    private final UploadChunkRepository chunkRepository;
+    private final ProjectFileRepository fileRepository;
+    private final ProjectRepository projectRepository;
+    private final MediaRepository mediaRepository;
+    private final BlobStore blobStore;
+    private final Path tempDir;
+    private final long maxFileBytes;
+    private final long sessionTtl;
+
+    private enum State {
+        OPEN,
+        COMMITTING,
+        /**
+         * Committed or aborted
+         */
+        CLOSED
+    }
+
+    /**
+     * Lock and state of upload in this process
+     */
+    private static class Guard {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicReference<State> state = new AtomicReference<>(State.OPEN);
+    }
+
+    /**
+     * Guards of uploads, which were written, committed or aborted and aren't closed yet
+     */
+    private final ConcurrentMap<String, Guard> guards = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ProjectFileServiceImpl(FileUploadRepository uploadRepository, UploadChunkRepository chunkRepository,
+                                  ProjectFileRepository fileRepository, ProjectRepository projectRepository,
+                                  MediaRepository mediaRepository, BlobStore blobStore,
+                                  @Value("${aerodev.upload.temp-dir:${user.home}/.aero-dev/uploads}") String tempDir,
+                                  @Value("${aerodev.upload.max-project-file-bytes:10737418240}") long maxFileBytes,
+                                  @Value("${aerodev.upload.session-ttl:86400000}") long sessionTtl) {
+        this.uploadRepository = uploadRepository;
+        this.chunkRepository = chunkRepository;
+        this.fileRepository = fileRepository;
+        this.projectRepository = projectRepository;
+        this.mediaRepository = mediaRepository;
+        this.blobStore = blobStore;
+        this.tempDir = Paths.get(tempDir).toAbsolutePath();
+        this.maxFileBytes = maxFileBytes;
+        this.sessionTtl = sessionTtl;
+        try {
+            Files.createDirectories(this.tempDir);
+        } catch (IOException e) {
+            throw new ServiceException("Can't create upload directory at '" + this.tempDir + "'", e);
+        }
+    }
+
+    @Override
+    public UploadStatus startUpload(Long projectId, Long userId, String fileName, String contentType, long size) {
+        if (size < 0 || size > maxFileBytes) {
+            throw new ServiceException("File size must be from 0 to " + maxFileBytes + " bytes, but it's " + size);
+        }
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new ServiceException("File name is required");
+        }
+        String uploadId = UUID.randomUUID().toString();
+        try (RandomAccessFile part = new RandomAccessFile(part(uploadId).toFile(), "rw")) {
+            // sparse file, disk space is taken by received chunks only
+            part.setLength(size);
+        } catch (IOException e) {
+            throw new ServiceException("Can't create temporary file of upload", e);
+        }
+        FileUpload upload = uploadRepository.save(
+                new FileUpload(uploadId, projectId, userId, fileName.trim(), contentType, size));
+        log.debug("Started upload " + uploadId + " of " + size + " bytes for project with id: " + projectId);
+        return status(upload);
+    }
+
+    @Override
+    public long writeChunk(String uploadId, long offset, InputStream content) {
+        Guard guard = guard(uploadId);
+        // chunk is rejected at once instead of waiting for commit
+        checkOpen(uploadId, guard);
+        guard.lock.readLock().lock();
+        try {
+            checkOpen(uploadId, guard);
+            return write(uploadId, offset, content);
+        } catch (NoSuchElementException e) {
+            guards.remove(uploadId, guard);
+            throw e;
+        } finally {
+            guard.lock.readLock().unlock();
+        }
+    }
+
+    private static void checkOpen(String uploadId, Guard guard) {
+        State state = guard.state.get();
+        if (state == State.COMMITTING) {
+            throw new ServiceException("Upload " + uploadId + " is being committed");
+        }
+        if (state == State.CLOSED) {
+            throw new NoSuchElementException("Upload " + uploadId + " was committed or aborted");
+        }
+    }
+
+    private long write(String uploadId, long offset, InputStream content) {
+        FileUpload upload = uploadRepository.findById(uploadId)
+                .orElseThrow(() -> new NoSuchElementException("No upload with id: " + uploadId));
+        if (offset < 0 || offset >= upload.getSize()) {
+            throw new ServiceException("Chunk offset " + offset + " is out of file of " + upload.getSize() + " bytes");
+        }
+        long limit = upload.getSize() - offset;
+        long written = 0;
+        ReadableByteChannel source = Channels.newChannel(content);
+        try (FileChannel channel = FileChannel.open(part(uploadId), StandardOpenOption.WRITE)) {
+            while (written < limit) {
+                long transferred = channel.transferFrom(source, offset + written, limit - written);
+                if (transferred == 0) {
+                    break;
+                }
+                written += transferred;
+            }
+            if (written == limit && content.read() != -1) {
+                throw new ServiceException("Chunk at " + offset + " exceeds declared size of file");
+            }
+        } catch (NoSuchFileException e) {
+            throw new NoSuchElementException("Upload " + uploadId + " was removed");
+        } catch (IOException e) {
+            throw new ServiceException("Can't write chunk at " + offset + " of upload " + uploadId, e);
+        }
+        if (written == 0) {
+            throw new ServiceException("Chunk at " + offset + " is empty");
+        }
+        chunkRepository.save(new UploadChunk(uploadId, offset, written));
+        uploadRepository.touch(uploadId, new Date());
+        return written;
+    }
+
+    @Override
+    public UploadStatus getUpload(String uploadId) {
+        return uploadRepository.findById(uploadId).map(this::status).orElse(null);
+    }
+
+    @Override
+    public Long commitUpload(String uploadId) {
+        Guard guard = guard(uploadId);
+        if (!guard.state.compareAndSet(State.OPEN, State.COMMITTING)) {
+            if (guard.state.get() == State.CLOSED) {
+                throw new NoSuchElementException("Upload " + uploadId + " was committed or aborted");
+            }
+            throw new ServiceException("Upload " + uploadId + " is being committed already");
+        }
+        // new chunks are rejected now, chunks in flight are waited for
+        guard.lock.writeLock().lock();
+        boolean closed = false;
+        try {
+            Optional<FileUpload> found = uploadRepository.findById(uploadId);
+            if (!found.isPresent()) {
+                closed = true;
+                throw new NoSuchElementException("No upload with id: " + uploadId);
+            }
+            FileUpload upload = found.get();
+            UploadStatus status = status(upload);
+            if (!status.isComplete()) {
+                throw new ServiceException("Upload " + uploadId + " misses " + (status.getSize() - status.getReceived())
+                        + " bytes");
+            }
+            StoredBlob blob = blobStore.move(part(uploadId));
+            Project project = projectRepository.findByProjectId(upload.getProjectId());
+            ProjectFile file = new ProjectFile(null, upload.getContentType())
+                    .setProject(project)
+                    .setFileName(upload.getFileName())
+                    .setFileHash(blob.getHash())
+                    .setFileSize(blob.getSize())
+                    .setFileEtag(blob.getHash())
+                    .setFileModified(new Date());
+            Long fileId = fileRepository.save(file).getFileId();
+            uploadRepository.deleteById(uploadId);
+            closed = true;
+            log.info("Committed upload " + uploadId + " as file with id: " + fileId);
+            return fileId;
+        } catch (IOException e) {
+            throw new ServiceException("Can't move upload " + uploadId + " to blob store", e);
+        } finally {
+            // failed commit can be retried
+            guard.state.set(closed ? State.CLOSED : State.OPEN);
+            guard.lock.writeLock().unlock();
+            if (closed) {
+                guards.remove(uploadId, guard);
+            }
+        }
+    }
+
+    @Override
+    public void abortUpload(String uploadId) {
+        Guard guard = guard(uploadId);
+        if (guard.state.getAndUpdate(s -> s == State.COMMITTING ? s : State.CLOSED) == State.COMMITTING) {
+            throw new ServiceException("Upload " + uploadId + " is being committed");
+        }
+        guard.lock.writeLock().lock();
+        try {
+            if (uploadRepository.existsById(uploadId)) {
+                uploadRepository.deleteById(uploadId);
+            }
+            deletePart(uploadId);
+        } finally {
+            guard.lock.writeLock().unlock();
+            guards.remove(uploadId, guard);
+        }
+    }
+
+    @Override
+    public List<MediaMeta> getAll(Long projectId) {
+        return mediaRepository.describeAll(MediaRepository.Source.PROJECT_FILE, projectId);
+    }
+
+    @Override
+    public MediaMeta describe(Long fileId) {
+        return mediaRepository.describe(MediaRepository.Source.PROJECT_FILE, fileId);
+    }
+
+    @Override
+    public String getFileName(Long fileId) {
+        return fileRepository.findFileName(fileId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${aerodev.upload.gc-period:3600000}")
+    public int collectAbandoned() {
+        Date expired = new Date(System.currentTimeMillis() - sessionTtl);
+        int removed = 0;
+        for (FileUpload upload : uploadRepository.findAllByTouchedBefore(expired)) {
+            try {
+                abortUpload(upload.getUploadId());
+                removed++;
+            } catch (ServiceException e) {
+                log.debug("Abandoned upload isn't removed: " + e.getMessage());
+            }
+        }
+        // temporary files left by uploads, which rows were lost
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(tempDir, "*.part")) {
+            for (Path part : parts) {
+                String uploadId = part.getFileName().toString().replace(".part", "");
+                if (Files.getLastModifiedTime(part).toMillis() < expired.getTime()
+                        && !uploadRepository.existsById(uploadId) && !isCommitting(uploadId)) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Can't clean upload directory: " + e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("Removed " + removed + " abandoned uploads.");
+        }
+        return removed;
+    }
+
+    /**
+     * Merges received chunks and finds missing ranges of file
+     */
+    private UploadStatus status(FileUpload upload) {
+        List<UploadStatus.Range> missing = new ArrayList<>();
+        long covered = 0;
+        long received = 0;
+        for (UploadChunk chunk : chunkRepository.findAllByUploadIdOrderByOffset(upload.getUploadId())) {
+            long end = chunk.getOffset() + chunk.getLength();
+            if (chunk.getOffset() > covered) {
+                missing.add(new UploadStatus.Range(covered, chunk.getOffset() - covered));
+            }
+            if (end > covered) {
+                received += end - Math.max(covered, chunk.getOffset());
+                covered = end;
+            }
+        }
+        if (covered < upload.getSize()) {
+            missing.add(new UploadStatus.Range(covered, upload.getSize() - covered));
+        }
+        return new UploadStatus(upload.getUploadId(), upload.getProjectId(), upload.getUserId(), upload.getFileName(),
+                upload.getSize(), received, missing);
+    }
+
+    private Guard guard(String uploadId) {
+        return guards.computeIfAbsent(uploadId, id -> new Guard());
+    }
+
+    private boolean isCommitting(String uploadId) {
+        Guard guard = guards.get(uploadId);
+        return guard != null && guard.state.get() == State.COMMITTING;
+    }
+
+    private Path part(String uploadId) {
+        return tempDir.resolve(uploadId + ".part");
+    }
+
+    private void deletePart(String uploadId) {
+        try {
+            Files.deleteIfExists(part(uploadId));
+        } catch (IOException e) {
+            log.warn("Can't delete temporary file of upload " + uploadId + ": " + e.getMessage());
+        }
+    }
+}
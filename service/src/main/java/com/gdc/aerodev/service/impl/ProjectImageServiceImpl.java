@@ -2,12 +2,26 @@ package com.gdc.aerodev.service.impl;
 
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectImage;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
 import com.gdc.aerodev.repository.postgresql.ProjectImageRepository;
 import com.gdc.aerodev.repository.postgresql.ProjectRepository;
+import com.gdc.aerodev.service.DerivativeService;
+import com.gdc.aerodev.service.PopularityService;
 import com.gdc.aerodev.service.ProjectImageService;
+import com.gdc.aerodev.service.blob.BlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.cache.MediaCache;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.image.EncodedImage;
+import com.gdc.aerodev.service.image.ImageEncoder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
 
 /**
@@ -23,6 +37,12 @@ public class ProjectImageServiceImpl implements ProjectImageService {
 
     private ProjectImageRepository repository;
     private ProjectRepository projectRepository;
+    private MediaRepository mediaRepository;
+    private BlobStore blobStore;
+    private ImageEncoder imageEncoder;
+    private DerivativeService derivativeService;
+    private MediaCache mediaCache;
+    private PopularityService popularity;
 
     /**
      * Id of default image, which is already exists in database. <br>
@@ -31,9 +51,18 @@ public class ProjectImageServiceImpl implements ProjectImageService {
     private final Long DEFAULT_IMAGE = 0L;
 
     @Autowired
-    public ProjectImageServiceImpl(ProjectImageRepository repository, ProjectRepository projectRepository) {
+    public ProjectImageServiceImpl(ProjectImageRepository repository, ProjectRepository projectRepository,
+                                   MediaRepository mediaRepository, BlobStore blobStore, ImageEncoder imageEncoder,
+                                   DerivativeService derivativeService, MediaCache mediaCache,
+                                   PopularityService popularity) {
         this.repository = repository;
         this.projectRepository = projectRepository;
+        this.mediaRepository = mediaRepository;
+        this.blobStore = blobStore;
+        this.imageEncoder = imageEncoder;
+        this.derivativeService = derivativeService;
+        this.mediaCache = mediaCache;
+        this.popularity = popularity;
     }
 
     @Override
@@ -41,8 +70,37 @@ public class ProjectImageServiceImpl implements ProjectImageService {
         if (image.length == 0 || contentType.equals("")) {
             return null;
         }
+        return createImage(projectId, new ByteArrayInputStream(image), contentType);
+    }
+
+    @Override
+    public Long createImage(Long projectId, InputStream image, String contentType) {
+        if (contentType == null || contentType.equals("")) {
+            return null;
+        }
         Project project = projectRepository.findByProjectId(projectId);
-        return repository.save(new ProjectImage(project, image, contentType)).getImageId();
+        EncodedImage encoded;
+        try {
+            encoded = imageEncoder.store(image, contentType);
+        } catch (IOException e) {
+            throw new ServiceException("Can't save image of project with id " + projectId, e);
+        }
+        StoredBlob blob = encoded.getBlob();
+        if (blob.getSize() == 0) {
+            return null;
+        }
+        ProjectImage projectImage = new ProjectImage(project, null, encoded.getContentType())
+                .setImageHash(blob.getHash())
+                .setImageSize(blob.getSize())
+                .setImageEtag(blob.getHash())
+                .setImageModified(new Date())
+                .setImageWidth(encoded.getWidth())
+                .setImageHeight(encoded.getHeight())
+                .setImageOriginalHash(encoded.getOriginalHash());
+        Long id = repository.save(projectImage).getImageId();
+        derivativeService.schedule(blob.getHash(), encoded.getContentType());
+        popularity.onImageAdded(projectId);
+        return id;
     }
 
     @Override
@@ -51,22 +109,40 @@ public class ProjectImageServiceImpl implements ProjectImageService {
             return;
         }
         repository.deleteById(imageId);
+        mediaCache.invalidate(MediaRepository.Source.PROJECT_IMAGE, imageId);
     }
 
     @Override
-    public List<ProjectImage> getAll(Long projectId) {
-        Project project = projectRepository.findByProjectId(projectId);
-        List<ProjectImage> imagesId = repository.findAllByProject(project);
-        if (imagesId.isEmpty()) {
+    public List<MediaMeta> getAll(Long projectId) {
+        List<MediaMeta> images = mediaRepository.describeAll(MediaRepository.Source.PROJECT_IMAGE, projectId);
+        if (images.isEmpty()) {
             log.debug("No images for project with id: " + projectId + ".");
-            imagesId.add(repository.findById(DEFAULT_IMAGE).get());
-            log.debug("Added default image's id to empty list.");
+            MediaMeta defaultImage = mediaRepository.describe(MediaRepository.Source.PROJECT_IMAGE, DEFAULT_IMAGE);
+            mediaCache.pin(defaultImage);
+            images.add(defaultImage);
+            log.debug("Added default image to empty list.");
         }
-        return imagesId;
+        return images;
     }
 
     @Override
     public ProjectImage get(Long imageId) {
-        return repository.findById(imageId).get();
+        ProjectImage image = repository.findById(imageId).get();
+        if (image.getImageHash() == null) {
+            return image;
+        }
+        // detached copy, so loaded data is never written back to database
+        try {
+            return new ProjectImage(image.getImageId(), blobStore.read(image.getImageHash()), image.getContentType())
+                    .setImageHash(image.getImageHash())
+                    .setImageSize(image.getImageSize());
+        } catch (IOException e) {
+            throw new ServiceException("Can't load image with id " + imageId, e);
+        }
+    }
+
+    @Override
+    public MediaMeta describe(Long imageId) {
+        return mediaRepository.describe(MediaRepository.Source.PROJECT_IMAGE, imageId);
     }
 }
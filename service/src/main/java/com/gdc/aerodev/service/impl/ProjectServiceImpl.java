@@ -3,15 +3,30 @@ package com.gdc.aerodev.service.impl;
 import com.gdc.aerodev.model.Project;
 import com.gdc.aerodev.model.ProjectType;
 import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.CreationRepository;
+import com.gdc.aerodev.repository.postgresql.Keyset;
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.repository.postgresql.ProjectPageRepository;
+import com.gdc.aerodev.repository.postgresql.ProjectPageView;
 import com.gdc.aerodev.repository.postgresql.ProjectRepository;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
+import com.gdc.aerodev.service.AvailabilityService;
+import com.gdc.aerodev.service.PopularityService;
 import com.gdc.aerodev.service.ProjectService;
+import com.gdc.aerodev.service.event.ContentChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of service for managing projects in database
@@ -25,11 +40,32 @@ public class ProjectServiceImpl implements ProjectService {
 
     private ProjectRepository repository;
     private UserRepository userRepository;
+    private PopularityService popularity;
+    private ApplicationEventPublisher publisher;
+    private ProjectPageRepository pageRepository;
+    private CreationRepository creationRepository;
+    private AvailabilityService availability;
+    private int pageSize;
+
+    /**
+     * Id of image shown for project without images
+     */
+    private static final long DEFAULT_IMAGE = 0L;
 
     @Autowired
-    public ProjectServiceImpl(ProjectRepository repository, UserRepository userRepository) {
+    public ProjectServiceImpl(ProjectRepository repository, UserRepository userRepository,
+                              ProjectPageRepository pageRepository, CreationRepository creationRepository,
+                              PopularityService popularity, AvailabilityService availability,
+                              ApplicationEventPublisher publisher,
+                              @Value("${aerodev.paging.page-size:20}") int pageSize) {
         this.repository = repository;
         this.userRepository = userRepository;
+        this.pageRepository = pageRepository;
+        this.creationRepository = creationRepository;
+        this.popularity = popularity;
+        this.availability = availability;
+        this.publisher = publisher;
+        this.pageSize = pageSize;
     }
 
     public ProjectServiceImpl() {
@@ -37,22 +73,26 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public Long createProject(String projectName, Long projectOwner, ProjectType projectType) {
+        return create(projectName, projectOwner, projectType).getId();
+    }
+
+    @Override
+    public Creation create(String projectName, Long projectOwner, ProjectType projectType) {
         if (projectName.equals("") || projectOwner == null) {
-            return null;
-        }
-        if (isExistentName(projectName)) {
-            log.error("Project with name '" + projectName + "' is already exists.");
-            return null;
+            return Creation.invalid();
         }
-        try {
-            User user = userRepository.findByUserId(projectOwner);
-            Long id = repository.save(new Project(projectName, projectType, user)).getProjectId();
-            log.info("Project '" + projectName + "' created with id " + id + ".");
-            return id;
-        } catch (DataIntegrityViolationException e) {
-            return null;
-            //FIXME: No need to return long?!
+        Creation creation = creationRepository.insertProject(projectName, projectType, projectOwner);
+        if (!creation.isCreated()) {
+            log.error("Project '" + projectName + "' of user with id " + projectOwner + " wasn't created: "
+                    + creation + ".");
+            return creation;
         }
+        Long id = creation.getId();
+        availability.taken(Kind.PROJECT_NAME, projectName);
+        log.info("Project '" + projectName + "' created with id " + id + ".");
+        popularity.onCreated(id, projectOwner, projectType);
+        publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.PROJECT, id));
+        return creation;
     }
 
     @Override
@@ -67,8 +107,12 @@ public class ProjectServiceImpl implements ProjectService {
         }
         project.setProjectType(projectType);
         try {
+            Long id = repository.save(project).getProjectId();
+            availability.taken(Kind.PROJECT_NAME, project.getProjectName());
             log.info("Project '" + projectName + "' successfully updated.");
-            return repository.save(project).getProjectId();
+            popularity.onTypeChanged(id, projectType);
+            publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.PROJECT, id));
+            return id;
         } catch (DataIntegrityViolationException e) {
             return null;
         }
@@ -85,13 +129,23 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public boolean isOwner(Project project, User user) {
-        return project.getOwner().equals(user);
+    public ProjectPageView getPage(Long id) {
+        ProjectPageView view = pageRepository.find(id);
+        if (view != null && view.getImageIds().isEmpty()) {
+            return view.withImageIds(Collections.singletonList(DEFAULT_IMAGE));
+        }
+        return view;
+    }
+
+    @Override
+    public boolean isOwner(Project project, Long userId) {
+        return project.getOwner().getUserId().equals(userId);
     }
 
     @Override
-    public List<Project> getByUserId(User user) {
-        return repository.findAllByOwner(user);
+    public Keyset<Project> getByUserId(User user, String after) {
+        return Keyset.of(repository.findPageByOwner(user, Pages.after(after), Keyset.page(pageSize)), pageSize,
+                Project::getProjectId);
     }
 
     @Override
@@ -101,7 +155,10 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public List<Project> getTopThree() {
-        return repository.findAll(new PageRequest(0, 3)).getContent();
+        List<Long> ids = popularity.getTop().stream().limit(3).collect(Collectors.toList());
+        Map<Long, Project> projects = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Project::getProjectId, Function.identity()));
+        return ids.stream().map(projects::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     /**
@@ -1,14 +1,25 @@
 package com.gdc.aerodev.service.impl;
 
 import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.CreationRepository;
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
 import com.gdc.aerodev.repository.postgresql.UserRepository;
+import com.gdc.aerodev.service.AvailabilityService;
+import com.gdc.aerodev.service.LeaderboardService;
 import com.gdc.aerodev.service.UserService;
+import com.gdc.aerodev.service.event.ContentChangedEvent;
+import com.gdc.aerodev.service.ranking.RankIndex;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of service for managing users in database
@@ -21,15 +32,39 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository repository;
+    private final CreationRepository creationRepository;
+    private final LeaderboardService leaderboard;
+    private final AvailabilityService availability;
+    private final ApplicationEventPublisher publisher;
 
     @Autowired
-    public UserServiceImpl(UserRepository repository) {
+    public UserServiceImpl(UserRepository repository, CreationRepository creationRepository,
+                           LeaderboardService leaderboard, AvailabilityService availability,
+                           ApplicationEventPublisher publisher) {
         this.repository = repository;
+        this.creationRepository = creationRepository;
+        this.leaderboard = leaderboard;
+        this.availability = availability;
+        this.publisher = publisher;
     }
 
     @Override
     public List<User> getTopThree() {
-        return repository.findAll(new PageRequest(0, 3)).getContent();
+        List<Long> ids = leaderboard.getTop(3).stream().map(RankIndex.Entry::getId).collect(Collectors.toList());
+        Map<Long, User> users = repository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+        return ids.stream().map(users::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean updateRating(Long userId, int rating) {
+        if (repository.updateRating(userId, rating) == 0) {
+            return false;
+        }
+        leaderboard.update(userId, rating);
+        changed(userId);
+        log.debug("Rating of user with id " + userId + " is " + rating + ", rank " + leaderboard.getRank(userId) + ".");
+        return true;
     }
 
     @Override
@@ -44,30 +79,32 @@ public class UserServiceImpl implements UserService {
             log.error("Nothing to update for user '" + getUser(id).getUserName() + "'.");
         } else {
             log.info("Updated info for user '" + getUser(id).getUserName() + "'.");
+            changed(id);
         }
     }
 
     @Override
     public Long createUser(String userName, String userPassword, String userEmail, boolean isMale) {
+        return register(userName, userPassword, userEmail, isMale).getId();
+    }
+
+    @Override
+    public Creation register(String userName, String userPassword, String userEmail, boolean isMale) {
         if (userName.equals("") || userPassword.equals("") || userEmail.equals("")) {
-            return null;
+            return Creation.invalid();
         }
-        if (isExistentName(userName)) {
-            log.error("User with name '" + userName + "' is already exists.");
-            return null;
-        }
-        User emailOwner = repository.findByUserEmail(userEmail);
-        if (emailOwner != null) {
-            log.error("This email is already used by '" + emailOwner.getUserName() + "' with id " + emailOwner.getUserId()+ ".");
-            return null;
-        }
-        try {
-            Long id = repository.save(new User(userName, userPassword, userEmail, isMale)).getUserId();
-            log.info("Successful created user '" + userName + "' with id " + id + ".");
-            return id;
-        } catch (DataIntegrityViolationException e) {
-            return null;
+        Creation creation = creationRepository.insertUser(userName, userPassword, userEmail, isMale);
+        if (!creation.isCreated()) {
+            log.error("User '" + userName + "' with email '" + userEmail + "' wasn't created: " + creation + ".");
+            return creation;
         }
+        Long id = creation.getId();
+        availability.taken(Kind.USER_NAME, userName);
+        availability.taken(Kind.USER_EMAIL, userEmail);
+        leaderboard.update(id, 0);
+        changed(id);
+        log.info("Successful created user '" + userName + "' with id " + id + ".");
+        return creation;
     }
 
     @Override
@@ -95,7 +132,11 @@ public class UserServiceImpl implements UserService {
         }
         user.setUserLevel(userLevel);
         try {
-            return repository.save(user).getUserId();
+            Long id = repository.save(user).getUserId();
+            availability.taken(Kind.USER_NAME, user.getUserName());
+            availability.taken(Kind.USER_EMAIL, user.getUserEmail());
+            changed(id);
+            return id;
         } catch (DataIntegrityViolationException e) {
             return null;
         }
@@ -127,4 +168,8 @@ public class UserServiceImpl implements UserService {
         return repository.findByUserName(userName) != null;
     }
 
+    private void changed(Long userId) {
+        publisher.publishEvent(new ContentChangedEvent(this, ContentChangedEvent.Subject.USER, userId));
+    }
+
 }
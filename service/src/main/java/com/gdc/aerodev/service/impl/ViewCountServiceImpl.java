@@ -0,0 +1,101 @@
+package com.gdc.aerodev.service.impl;
+
+import com.gdc.aerodev.repository.postgresql.ViewCountRepository;
+import com.gdc.aerodev.repository.postgresql.ViewCountRepository.Target;
+import com.gdc.aerodev.service.PopularityService;
+import com.gdc.aerodev.service.ViewCountService;
+import com.gdc.aerodev.service.counter.StripedCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+
+/**
+ * Implementation of view counting with write-behind to database. Every target has own {@code StripedCounter}, which
+ * is drained and written by one {@code UPDATE} per target. Written views of projects are passed to
+ * {@code PopularityService}, so every view is counted once.
+ *
+ * @author Yusupov Danil
+ * @see ViewCountService
+ * @see ViewCountRepository
+ */
+@Service
+public class ViewCountServiceImpl implements ViewCountService {
+
+    private final ViewCountRepository repository;
+    private final PopularityService popularity;
+    private final StripedCounter projectViews;
+    private final StripedCounter userViews;
+
+    @Autowired
+    public ViewCountServiceImpl(ViewCountRepository repository, PopularityService popularity,
+                                @Value("${aerodev.views.stripes:0}") int stripes) {
+        this.repository = repository;
+        this.popularity = popularity;
+        int size = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors() * 2;
+        this.projectViews = new StripedCounter(size);
+        this.userViews = new StripedCounter(size);
+    }
+
+    @Override
+    public void countProjectView(Long projectId) {
+        if (projectId != null && projectId != 0) {
+            projectViews.increment(projectId);
+        }
+    }
+
+    @Override
+    public void countUserView(Long userId) {
+        if (userId != null && userId != 0) {
+            userViews.increment(userId);
+        }
+    }
+
+    @Override
+    public long getPendingProjectViews(Long projectId) {
+        return projectId == null ? 0 : projectViews.get(projectId);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${aerodev.views.flush-period:10000}")
+    public synchronized int flush() {
+        return flush(Target.PROJECT, projectViews) + flush(Target.USER, userViews);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int updated = flush();
+        log.info("Flushed views of " + updated + " pages on shutdown.");
+    }
+
+    private int flush(Target target, StripedCounter counter) {
+        StripedCounter.Counts counts = counter.drain();
+        if (counts.size() == 0) {
+            return 0;
+        }
+        Long[] ids = new Long[counts.size()];
+        Long[] deltas = new Long[counts.size()];
+        for (int i = 0; i < counts.size(); i++) {
+            ids[i] = counts.getId(i);
+            deltas[i] = counts.getValue(i);
+        }
+        try {
+            int updated = repository.add(target, ids, deltas);
+            log.debug("Flushed views of " + updated + " rows of " + target + ".");
+            if (target == Target.PROJECT) {
+                popularity.onViews(counts);
+            }
+            return updated;
+        } catch (DataAccessException e) {
+            for (int i = 0; i < counts.size(); i++) {
+                counter.add(counts.getId(i), counts.getValue(i));
+            }
+            log.error("Can't flush views of " + counts.size() + " rows of " + target + ", they are kept for next flush.",
+                    e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.gdc.aerodev.service.importing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads RFC 4180 records, first record names fields. Quoted value may have commas, quotes written twice and line
+ * breaks. Empty value without quotes is read as {@code null}, blank lines are skipped.
+ *
+ * @author Yusupov Danil
+ */
+public class CsvRecordReader implements RecordReader {
+
+    private final Reader reader;
+    private String[] header;
+    private long line = 1;
+    private long position;
+
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        if (header == null) {
+            List<String> names = readRecord();
+            if (names == null) {
+                return null;
+            }
+            // byte order mark left by spreadsheet editors
+            if (names.get(0) != null && names.get(0).startsWith("\uFEFF")) {
+                names.set(0, names.get(0).substring(1));
+            }
+            header = names.toArray(new String[0]);
+        }
+        List<String> values = readRecord();
+        if (values == null) {
+            return null;
+        }
+        if (values.size() > header.length) {
+            throw new MalformedRecordException(position,
+                    "Record has " + values.size() + " values, but header names " + header.length + " fields");
+        }
+        Map<String, String> record = new HashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            record.put(header[i], values.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRecord() throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            if (c == '\n') {
+                line++;
+            }
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        position = line;
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            boolean quoted = c == '"';
+            if (quoted) {
+                while (true) {
+                    c = reader.read();
+                    if (c == -1) {
+                        throw new IOException("Quote opened in record at line " + position + " isn't closed");
+                    }
+                    if (c == '"') {
+                        c = reader.read();
+                        if (c != '"') {
+                            break;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    value.append((char) c);
+                }
+            }
+            // text after closing quote is kept as is
+            while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                value.append((char) c);
+                c = reader.read();
+            }
+            values.add(quoted || value.length() > 0 ? value.toString() : null);
+            value.setLength(0);
+            if (c != ',') {
+                break;
+            }
+            c = reader.read();
+        }
+        if (c == '\n') {
+            line++;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,45 @@
+package com.gdc.aerodev.service.importing;
+
+import java.io.Reader;
+
+/**
+ * Formats of imported files
+ *
+ * @author Yusupov Danil
+ */
+public enum ImportFormat {
+    /**
+     * RFC 4180 values, first record names fields
+     */
+    CSV("text/csv"),
+    /**
+     * Array of flat objects
+     */
+    JSON("application/json");
+
+    private final String contentType;
+
+    ImportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public RecordReader open(Reader reader) {
+        return this == CSV ? new CsvRecordReader(reader) : new JsonRecordReader(reader);
+    }
+
+    /**
+     * @param contentType content type of request, may have parameters
+     * @return format or {@code null} if type isn't supported
+     */
+    public static ImportFormat of(String contentType) {
+        if (contentType != null) {
+            String type = contentType.split(";")[0].trim();
+            for (ImportFormat format : values()) {
+                if (format.contentType.equalsIgnoreCase(type)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+}
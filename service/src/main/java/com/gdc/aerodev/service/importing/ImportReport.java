@@ -0,0 +1,136 @@
+package com.gdc.aerodev.service.importing;
+
+import com.gdc.aerodev.repository.postgresql.Creation.Status;
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of import: number of rows by status and reasons of rejected rows. Only first {@code max-errors} reasons
+ * are kept, so report of broken file stays small. Report is filled by one thread.
+ *
+ * @author Yusupov Danil
+ */
+public class ImportReport {
+
+    /**
+     * Rejected record
+     */
+    public static class RowError {
+        private final long position;
+        private final Status status;
+        private final String message;
+
+        public RowError(long position, Status status, String message) {
+            this.position = position;
+            this.status = status;
+            this.message = message;
+        }
+
+        /**
+         * @return line of CSV, where record starts, or number of JSON object
+         */
+        public long getPosition() {
+            return position;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private final Target target;
+    private final int maxErrors;
+    private final Map<Status, Long> counts = new EnumMap<>(Status.class);
+    private final List<RowError> errors = new ArrayList<>();
+    private long rows;
+    private String failure;
+
+    public ImportReport(Target target, int maxErrors) {
+        this.target = target;
+        this.maxErrors = maxErrors;
+    }
+
+    public void created() {
+        count(Status.CREATED);
+    }
+
+    public void rejected(long position, Status status, String message) {
+        count(status);
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(position, status, message));
+        }
+    }
+
+    /**
+     * Marks import as stopped, rows loaded before stay in database
+     *
+     * @param failure reason of stop
+     */
+    public void failed(String failure) {
+        this.failure = failure;
+    }
+
+    public Target getTarget() {
+        return target;
+    }
+
+    /**
+     * @return number of read records
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    public long getCreated() {
+        return counts.getOrDefault(Status.CREATED, 0L);
+    }
+
+    public long getRejected() {
+        return rows - getCreated();
+    }
+
+    public Map<Status, Long> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    /**
+     * @return reasons of first {@code max-errors} rejected rows
+     */
+    public List<RowError> getErrors() {
+        return Collections.unmodifiableList(errors);
+    }
+
+    /**
+     * @return {@code true} if some reasons were dropped
+     */
+    public boolean isTruncated() {
+        return getRejected() > errors.size();
+    }
+
+    /**
+     * @return (0) reason, why input wasn't read to the end, or <br>
+     * (1) {@code null} if whole input was imported
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    private void count(Status status) {
+        rows++;
+        counts.merge(status, 1L, Long::sum);
+    }
+
+    @Override
+    public String toString() {
+        return target + ": " + rows + " rows, " + counts + (failure == null ? "" : ", failed: " + failure);
+    }
+}
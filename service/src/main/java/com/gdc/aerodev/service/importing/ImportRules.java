@@ -0,0 +1,131 @@
+package com.gdc.aerodev.service.importing;
+
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.service.security.Hasher;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks imported records and turns them into rows of {@link com.gdc.aerodev.repository.postgresql.ImportRepository}.
+ * Every value is checked against width of it's column and passwords are hashed, so checks are the costly part of
+ * import and can run in parallel. Uniqueness and references are checked by database.
+ *
+ * @author Yusupov Danil
+ */
+public class ImportRules {
+
+    private enum Kind {
+        TEXT, PASSWORD, BOOLEAN, PROJECT_TYPE
+    }
+
+    private static class Field {
+        private final String name;
+        private final Kind kind;
+        private final boolean required;
+        private final int maxLength;
+
+        private Field(String name, Kind kind, boolean required, int maxLength) {
+            this.name = name;
+            this.kind = kind;
+            this.required = required;
+            this.maxLength = maxLength;
+        }
+    }
+
+    private static final Map<Target, Map<String, Field>> FIELDS = new EnumMap<>(Target.class);
+
+    static {
+        fields(Target.USERS, required("name", 64), password(), required("email", 128),
+                new Field("male", Kind.BOOLEAN, false, 5), optional("first_name", 32), optional("last_name", 32),
+                optional("country", 32), optional("city", 32));
+        fields(Target.PROJECTS, required("name", 64), required("owner", 64),
+                new Field("type", Kind.PROJECT_TYPE, false, 32));
+        fields(Target.COMPANIES, required("name", 128), optional("website", 128), optional("logo_url", 250));
+        fields(Target.CRS, required("name", 64), password(), required("email", 128), required("company", 128),
+                optional("first_name", 32), optional("last_name", 32), optional("position", 40));
+    }
+
+    private ImportRules() {
+    }
+
+    /**
+     * @param target filled table
+     * @param record values of record by names of fields
+     * @return values in order of {@link Target#getColumns()}
+     * @throws IllegalArgumentException with reason if record is invalid
+     */
+    public static String[] toRow(Target target, Map<String, String> record) {
+        Map<String, Field> fields = FIELDS.get(target);
+        for (String name : record.keySet()) {
+            if (!fields.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field '" + name + "'");
+            }
+        }
+        List<String> columns = target.getColumns();
+        String[] row = new String[columns.size()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = value(fields.get(columns.get(i)), record.get(columns.get(i)));
+        }
+        return row;
+    }
+
+    private static String value(Field field, String value) {
+        if (value == null || value.isEmpty()) {
+            if (field.required) {
+                throw new IllegalArgumentException("Field '" + field.name + "' is required");
+            }
+            return field.kind == Kind.BOOLEAN ? "true" : null;
+        }
+        if (value.length() > field.maxLength && field.kind != Kind.PASSWORD) {
+            throw new IllegalArgumentException("Field '" + field.name + "' is longer than " + field.maxLength
+                    + " characters");
+        }
+        if (value.indexOf('\0') >= 0) {
+            throw new IllegalArgumentException("Field '" + field.name + "' has NUL character");
+        }
+        switch (field.kind) {
+            case PASSWORD:
+                return Hasher.hash(value);
+            case BOOLEAN:
+                if (!value.equalsIgnoreCase("true") && !value.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException("Field '" + field.name + "' must be true or false");
+                }
+                return value.toLowerCase();
+            case PROJECT_TYPE:
+                try {
+                    return ProjectType.valueOf(value.toUpperCase()).name();
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown project type '" + value + "'");
+                }
+            default:
+                return value;
+        }
+    }
+
+    private static void fields(Target target, Field... fields) {
+        Map<String, Field> byName = new HashMap<>();
+        for (Field field : fields) {
+            byName.put(field.name, field);
+        }
+        if (!byName.keySet().containsAll(target.getColumns()) || byName.size() != target.getColumns().size()) {
+            throw new IllegalStateException("Fields of " + target + " don't match columns " + target.getColumns());
+        }
+        FIELDS.put(target, byName);
+    }
+
+    private static Field required(String name, int maxLength) {
+        return new Field(name, Kind.TEXT, true, maxLength);
+    }
+
+    private static Field optional(String name, int maxLength) {
+        return new Field(name, Kind.TEXT, false, maxLength);
+    }
+
+    private static Field password() {
+        return new Field("password", Kind.PASSWORD, true, 0);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gdc.aerodev.service.importing;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads array of flat objects token by token. Strings, numbers and booleans are read as text, object with nested
+ * object or array is skipped as malformed.
+ *
+ * @author Yusupov Danil
+ */
+public class JsonRecordReader implements RecordReader {
+
+    private final JsonReader reader;
+    private boolean started;
+    private long position;
+
+    public JsonRecordReader(Reader reader) {
+        this.reader = new JsonReader(reader);
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        try {
+            if (!started) {
+                reader.beginArray();
+                started = true;
+            }
+            if (!reader.hasNext()) {
+                return null;
+            }
+            position++;
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+                reader.skipValue();
+                throw new MalformedRecordException(position, "Element isn't an object");
+            }
+            Map<String, String> record = new HashMap<>();
+            String nested = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                switch (reader.peek()) {
+                    case STRING:
+                    case NUMBER:
+                        record.put(name, reader.nextString());
+                        break;
+                    case BOOLEAN:
+                        record.put(name, String.valueOf(reader.nextBoolean()));
+                        break;
+                    case NULL:
+                        reader.nextNull();
+                        record.put(name, null);
+                        break;
+                    default:
+                        reader.skipValue();
+                        nested = name;
+                }
+            }
+            reader.endObject();
+            if (nested != null) {
+                throw new MalformedRecordException(position, "Field '" + nested + "' isn't a plain value");
+            }
+            return record;
+        } catch (IllegalStateException e) {
+            // unexpected token
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,22 @@
+package com.gdc.aerodev.service.importing;
+
+import java.io.IOException;
+
+/**
+ * Thrown by {@link RecordReader} when single record can't be read, but reader stays at the start of next one
+ *
+ * @author Yusupov Danil
+ */
+public class MalformedRecordException extends IOException {
+
+    private final long position;
+
+    public MalformedRecordException(long position, String message) {
+        super(message);
+        this.position = position;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+}
@@ -0,0 +1,25 @@
+package com.gdc.aerodev.service.importing;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Reads imported records one by one, so input is never held in memory.
+ *
+ * @author Yusupov Danil
+ * @see ImportFormat
+ */
+public interface RecordReader extends Closeable {
+    /**
+     * @return values of next record by names of fields or {@code null} at the end of input
+     * @throws MalformedRecordException if record was skipped, but next one can be read
+     * @throws IOException              if input can't be read any more
+     */
+    Map<String, String> next() throws IOException;
+
+    /**
+     * @return position of last read record: line of CSV, where record starts, or number of JSON object
+     */
+    long position();
+}
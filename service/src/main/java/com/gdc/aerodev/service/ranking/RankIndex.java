@@ -0,0 +1,285 @@
+package com.gdc.aerodev.service.ranking;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ordered index of scores. Entries are ordered by score descending, entries with equal score by id ascending, so
+ * every entry has unique rank starting from 1. Index is treap with sizes of subtrees, so update, rank of entry and
+ * entry at rank take {@code O(log n)}, {@code k} entries from any rank take {@code O(log n + k)}. Reads share lock,
+ * updates are exclusive.
+ *
+ * @author Yusupov Danil
+ */
+public class RankIndex {
+
+    /**
+     * Ranked entry, snapshot of index at moment of query
+     */
+    public static class Entry {
+
+        private final long id;
+        private final int score;
+        private final int rank;
+
+        public Entry(long id, int score, int rank) {
+            this.id = id;
+            this.score = score;
+            this.rank = rank;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        /**
+         * @return position in index starting from 1
+         */
+        public int getRank() {
+            return rank;
+        }
+    }
+
+    private static class Node {
+        final long id;
+        final int score;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(long id, int score) {
+            this.id = id;
+            this.score = score;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> scores = new HashMap<>();
+    private Node root;
+
+    /**
+     * Inserts entry or changes score of existing one
+     *
+     * @param id    id of entry
+     * @param score new score
+     */
+    public void put(long id, int score) {
+        lock.writeLock().lock();
+        try {
+            Integer old = scores.put(id, score);
+            if (old != null) {
+                if (old == score) {
+                    return;
+                }
+                root = delete(root, id, old);
+            }
+            Node[] parts = split(root, id, score, false);
+            root = merge(merge(parts[0], new Node(id, score)), parts[1]);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes entry
+     *
+     * @param id id of entry
+     * @return (0) {@code true} if entry was removed or <br>
+     * (1) {@code false} if there is no such entry
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer old = scores.remove(id);
+            if (old == null) {
+                return false;
+            }
+            root = delete(root, id, old);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id id of entry
+     * @return (0) rank of entry starting from 1 or <br>
+     * (1) {@code 0} if there is no such entry
+     */
+    public int rank(long id) {
+        lock.readLock().lock();
+        try {
+            Integer score = scores.get(id);
+            return score == null ? 0 : countBefore(root, id, score) + 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Takes entries with best scores
+     *
+     * @param k maximal number of entries
+     * @return entries ordered by rank
+     */
+    public List<Entry> top(int k) {
+        return range(1, k);
+    }
+
+    /**
+     * Takes entries from given rank
+     *
+     * @param fromRank rank of first entry starting from 1
+     * @param count    maximal number of entries
+     * @return entries ordered by rank, empty if there is no such rank
+     */
+    public List<Entry> range(int fromRank, int count) {
+        int from = Math.max(1, fromRank);
+        List<Entry> result = new ArrayList<>(Math.max(0, Math.min(count, 64)));
+        if (count <= 0) {
+            return result;
+        }
+        lock.readLock().lock();
+        try {
+            collect(root, from, from + count - 1, 0, result);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    /**
+     * Takes entries around entry at given rank
+     *
+     * @param rank   rank of central entry
+     * @param radius number of entries before and after central one
+     * @return entries ordered by rank
+     */
+    public List<Entry> around(int rank, int radius) {
+        int from = Math.max(1, rank - radius);
+        return range(from, rank + radius - from + 1);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return scores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return (0) negative if entry {@code (id, score)} is placed before node or <br>
+     * (1) positive if it's placed after node or <br>
+     * (2) {@code 0} if it's the node
+     */
+    private static int compare(long id, int score, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return Long.compare(id, node.id);
+    }
+
+    /**
+     * Splits tree into entries placed before {@code (id, score)} and the rest. If {@code inclusive} is set, entry
+     * {@code (id, score)} itself goes to the first part.
+     */
+    private static Node[] split(Node node, long id, int score, boolean inclusive) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int c = compare(id, score, node);
+        if (c > 0 || (inclusive && c == 0)) {
+            Node[] parts = split(node.right, id, score, inclusive);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, id, score, inclusive);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node delete(Node node, long id, int score) {
+        Node[] before = split(node, id, score, false);
+        Node[] entry = split(before[1], id, score, true);
+        return merge(before[0], entry[1]);
+    }
+
+    private static int countBefore(Node node, long id, int score) {
+        int count = 0;
+        while (node != null) {
+            int c = compare(id, score, node);
+            if (c == 0) {
+                return count + size(node.left);
+            }
+            if (c > 0) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds entries with ranks from {@code from} to {@code to} in order, {@code offset} is number of entries placed
+     * before subtree
+     */
+    private static void collect(Node node, int from, int to, int offset, List<Entry> result) {
+        if (node == null || offset >= to || offset + node.size < from) {
+            return;
+        }
+        int rank = offset + size(node.left) + 1;
+        if (from < rank) {
+            collect(node.left, from, to, offset, result);
+        }
+        if (rank >= from && rank <= to) {
+            result.add(new Entry(node.id, node.score, rank));
+        }
+        if (rank < to) {
+            collect(node.right, from, to, rank, result);
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -0,0 +1,89 @@
+package com.gdc.aerodev.service.upload;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of resumable upload: what is declared and which ranges of file are still missing. Client resumes
+ * interrupted upload by sending only missing ranges.
+ *
+ * @author Yusupov Danil
+ * @see com.gdc.aerodev.model.FileUpload
+ */
+public class UploadStatus {
+
+    private final String uploadId;
+    private final Long projectId;
+    private final Long userId;
+    private final String fileName;
+    private final long size;
+    private final long received;
+    private final List<Range> missing;
+
+    public UploadStatus(String uploadId, Long projectId, Long userId, String fileName, long size, long received,
+                        List<Range> missing) {
+        this.uploadId = uploadId;
+        this.projectId = projectId;
+        this.userId = userId;
+        this.fileName = fileName;
+        this.size = size;
+        this.received = received;
+        this.missing = Collections.unmodifiableList(missing);
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return number of distinct received bytes
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    public List<Range> getMissing() {
+        return missing;
+    }
+
+    public boolean isComplete() {
+        return missing.isEmpty();
+    }
+
+    /**
+     * Range of bytes of file
+     */
+    public static class Range {
+        private final long offset;
+        private final long length;
+
+        public Range(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
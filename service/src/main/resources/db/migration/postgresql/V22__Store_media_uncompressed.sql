@@ -0,0 +1,7 @@
+-- Media is already compressed by it's format, so keep it out of line without pglz compression.
+-- This lets substring() read only needed TOAST chunks when content is streamed by slices.
+
+ALTER TABLE aero.avatars ALTER COLUMN av_data SET STORAGE EXTERNAL;
+ALTER TABLE aero.project_images ALTER COLUMN prj_image SET STORAGE EXTERNAL;
+ALTER TABLE aero.project_content ALTER COLUMN prj_logo SET STORAGE EXTERNAL;
+ALTER TABLE aero.project_files ALTER COLUMN file SET STORAGE EXTERNAL;
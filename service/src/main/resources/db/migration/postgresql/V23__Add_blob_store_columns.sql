@@ -0,0 +1,19 @@
+-- Content moved to blob store is referenced by SHA-256 hash and size, data column becomes NULL then.
+
+ALTER TABLE aero.avatars ADD COLUMN av_hash VARCHAR(64);
+ALTER TABLE aero.avatars ADD COLUMN av_size BIGINT;
+ALTER TABLE aero.avatars ALTER COLUMN av_data DROP NOT NULL;
+ALTER TABLE aero.avatars ADD CONSTRAINT av_content CHECK (av_data IS NOT NULL OR av_hash IS NOT NULL);
+
+ALTER TABLE aero.project_images ADD COLUMN img_hash VARCHAR(64);
+ALTER TABLE aero.project_images ADD COLUMN img_size BIGINT;
+ALTER TABLE aero.project_images ALTER COLUMN prj_image DROP NOT NULL;
+ALTER TABLE aero.project_images ADD CONSTRAINT img_content CHECK (prj_image IS NOT NULL OR img_hash IS NOT NULL);
+
+ALTER TABLE aero.project_content ADD COLUMN logo_hash VARCHAR(64);
+ALTER TABLE aero.project_content ADD COLUMN logo_size BIGINT;
+
+ALTER TABLE aero.project_files ADD COLUMN file_hash VARCHAR(64);
+ALTER TABLE aero.project_files ADD COLUMN file_size BIGINT;
+ALTER TABLE aero.project_files ALTER COLUMN file DROP NOT NULL;
+ALTER TABLE aero.project_files ADD CONSTRAINT file_content CHECK (file IS NOT NULL OR file_hash IS NOT NULL);
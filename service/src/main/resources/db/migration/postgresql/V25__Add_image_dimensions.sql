@@ -0,0 +1,13 @@
+-- Dimensions of images, read from image header at upload. NULL means unknown.
+
+ALTER TABLE aero.avatars ADD COLUMN av_width INTEGER;
+ALTER TABLE aero.avatars ADD COLUMN av_height INTEGER;
+
+ALTER TABLE aero.project_images ADD COLUMN img_width INTEGER;
+ALTER TABLE aero.project_images ADD COLUMN img_height INTEGER;
+
+ALTER TABLE aero.project_content ADD COLUMN logo_width INTEGER;
+ALTER TABLE aero.project_content ADD COLUMN logo_height INTEGER;
+
+CREATE INDEX img_prj_idx ON aero.project_images (prj_id);
+CREATE INDEX file_prj_idx ON aero.project_files (prj_id);
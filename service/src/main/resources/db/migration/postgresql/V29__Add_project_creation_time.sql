@@ -0,0 +1,7 @@
+-- Time of project creation, used for recency of project popularity. Existing projects take date of their content.
+
+ALTER TABLE aero.projects ADD COLUMN prj_created TIMESTAMP NOT NULL DEFAULT now();
+UPDATE aero.projects p SET prj_created = c.prj_date FROM aero.project_content c
+WHERE c.prj_id = p.prj_id AND c.prj_date IS NOT NULL;
+
+CREATE INDEX off_usr_idx ON aero.offers (usr_id);
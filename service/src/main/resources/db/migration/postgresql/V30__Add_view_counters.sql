@@ -0,0 +1,4 @@
+-- Page views counted in memory and added to these columns by batch
+
+ALTER TABLE aero.projects ADD COLUMN prj_views BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE aero.users ADD COLUMN usr_views BIGINT NOT NULL DEFAULT 0;
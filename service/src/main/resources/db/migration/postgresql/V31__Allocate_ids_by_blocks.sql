@@ -0,0 +1,24 @@
+-- Hibernate takes ids by blocks of 50 (pooled-lo optimizer), so inserts can be sent by JDBC batches.
+-- Value returned by nextval() is the first id of a block, so SERIAL defaults used by plain SQL inserts still
+-- never collide with ids handed out by Hibernate.
+
+DO $$
+DECLARE
+  t RECORD;
+BEGIN
+  FOR t IN SELECT * FROM (VALUES
+    ('users', 'usr_id'),
+    ('projects', 'prj_id'),
+    ('project_images', 'img_id'),
+    ('project_content', 'id'),
+    ('project_files', 'file_id'),
+    ('avatars', 'av_id'),
+    ('companies', 'comp_id'),
+    ('company_representatives', 'cr_id'),
+    ('offers', 'off_id'),
+    ('upload_chunks', 'chunk_id')) AS ids (tbl, col)
+  LOOP
+    EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', pg_get_serial_sequence('aero.' || t.tbl, t.col));
+  END LOOP;
+END
+$$;
@@ -0,0 +1,95 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.availability.BloomFilter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BloomFilterTest {
+
+    private int count = 10000;
+    private double fpp = 0.01;
+
+    @Test
+    public void containsAddedTest() {
+        BloomFilter filter = new BloomFilter(count, fpp);
+        for (int i = 0; i < count; i++) {
+            filter.put("user" + i);
+        }
+        for (int i = 0; i < count; i++) {
+            assertTrue(filter.mightContain("user" + i));
+        }
+        filter.put("Юзер");
+        assertTrue(filter.mightContain("Юзер"));
+    }
+
+    @Test
+    public void falsePositiveRateTest() {
+        BloomFilter filter = new BloomFilter(count, fpp);
+        for (int i = 0; i < count; i++) {
+            filter.put("user" + i);
+        }
+        int positives = 0;
+        for (int i = 0; i < count; i++) {
+            if (filter.mightContain("free" + i)) {
+                positives++;
+            }
+        }
+        assertTrue("False positives: " + positives, positives < count * fpp * 2);
+    }
+
+    @Test
+    public void concurrentPutTest() throws Exception {
+        BloomFilter filter = new BloomFilter(count * 4, fpp);
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < count; i++) {
+                    filter.put(thread + "-" + i);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.SECONDS));
+        for (int t = 0; t < threads; t++) {
+            for (int i = 0; i < count; i++) {
+                assertTrue(filter.mightContain(t + "-" + i));
+            }
+        }
+    }
+
+    @Test
+    public void sizingTest() {
+        BloomFilter filter = new BloomFilter(count, fpp);
+        // ~9.6 bits and ~7 hashes per string for 1%
+        assertTrue(filter.bitSize() >= count * 9);
+        assertEquals(7, filter.hashCount());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void emptyFilterTest() {
+        BloomFilter filter = new BloomFilter(0, fpp);
+        assertFalse(filter.mightContain(""));
+        assertFalse(filter.mightContain("name"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrongRateTest() {
+        new BloomFilter(count, 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.blob.BlobOutputStream;
+import com.gdc.aerodev.service.blob.FileSystemBlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+public class FileSystemBlobStoreTest extends WithFiles {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemBlobStore store;
+
+    @Before
+    public void setUp() {
+        store = new FileSystemBlobStore(folder.getRoot().getAbsolutePath());
+    }
+
+    @Test
+    public void putTest() throws IOException {
+        byte[] image = getImage();
+        StoredBlob blob = store.put(image);
+        assertEquals(64, blob.getHash().length());
+        assertEquals(image.length, blob.getSize());
+        assertTrue(store.contains(blob.getHash()));
+        assertArrayEquals(image, store.read(blob.getHash()));
+    }
+
+    @Test
+    public void sameContentTest() throws IOException {
+        byte[] image = getImage();
+        assertEquals(store.put(image).getHash(), store.put(image).getHash());
+        assertEquals(0, folder.getRoot().toPath().resolve("tmp").toFile().list().length);
+    }
+
+    @Test
+    public void knownHashTest() throws IOException {
+        assertEquals("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824",
+                store.put("hello".getBytes("UTF-8")).getHash());
+    }
+
+    @Test
+    public void moveTest() throws IOException {
+        byte[] image = getImage();
+        Path file = folder.newFile().toPath();
+        Files.write(file, image);
+        StoredBlob blob = store.move(file);
+        assertEquals(store.put(image).getHash(), blob.getHash());
+        assertEquals(image.length, blob.getSize());
+        assertFalse(Files.exists(file));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void notCommittedTest() throws IOException {
+        try (BlobOutputStream out = store.create()) {
+            out.write(getImage());
+        }
+        assertEquals(0, folder.getRoot().toPath().resolve("tmp").toFile().list().length);
+        assertEquals(1, Files.list(folder.getRoot().toPath()).count());
+    }
+}
@@ -0,0 +1,139 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.blob.FileSystemBlobStore;
+import com.gdc.aerodev.service.image.EncodedImage;
+import com.gdc.aerodev.service.image.ImageEncoder;
+import com.gdc.aerodev.service.image.ImageProbe;
+import com.gdc.aerodev.service.image.ImageScaler;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class ImageEncoderTest extends WithFiles {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemBlobStore store;
+    private String tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        store = new FileSystemBlobStore(folder.newFolder("blobs").getAbsolutePath());
+        tempDir = folder.newFolder("uploads").getAbsolutePath();
+    }
+
+    @Test
+    public void storeAsIsTest() throws IOException {
+        byte[] image = getImage();
+        EncodedImage stored = encoder(false, false).store(new ByteArrayInputStream(image), "image/png");
+        assertEquals(image.length, stored.getBlob().getSize());
+        assertEquals("image/png", stored.getContentType());
+        assertEquals(ImageProbe.dimensions(image), stored.getDimensions());
+        assertNull(stored.getOriginalHash());
+    }
+
+    @Test
+    public void reencodeTest() throws IOException {
+        byte[] image = png(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB));
+        EncodedImage stored = encoder(true, false).store(new ByteArrayInputStream(image), "image/png");
+        assertEquals("image/jpeg", stored.getContentType());
+        assertEquals(new Dimension(200, 100), stored.getDimensions());
+        assertEquals(new Dimension(200, 100), ImageProbe.dimensions(store.read(stored.getBlob().getHash())));
+        assertNull(stored.getOriginalHash());
+        assertEquals(0, folder.getRoot().toPath().resolve("uploads").toFile().list().length);
+    }
+
+    @Test
+    public void keepOriginalTest() throws IOException {
+        byte[] image = png(new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB));
+        EncodedImage stored = encoder(true, true).store(new ByteArrayInputStream(image), "image/png");
+        assertNotNull(stored.getOriginalHash());
+        assertArrayEquals(image, store.read(stored.getOriginalHash()));
+    }
+
+    @Test
+    public void orientationTest() throws IOException {
+        BufferedImage source = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = source.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, 200, 100);
+        g.dispose();
+        // stored image must be rotated by 90 degrees clockwise to be shown
+        byte[] image = exif(jpeg(source), 6);
+        EncodedImage stored = encoder(true, false).store(new ByteArrayInputStream(image), "image/jpeg");
+        assertEquals(new Dimension(100, 200), stored.getDimensions());
+        BufferedImage encoded = ImageIO.read(new ByteArrayInputStream(store.read(stored.getBlob().getHash())));
+        assertTrue((encoded.getRGB(90, 10) & 0xFF) > 200);
+        assertTrue((encoded.getRGB(10, 10) & 0xFF) < 50);
+    }
+
+    @Test
+    public void keepSmallerTest() throws IOException {
+        byte[] image = png(new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB));
+        EncodedImage stored = encoder(true, false).store(new ByteArrayInputStream(image), "image/png");
+        assertArrayEquals(image, store.read(stored.getBlob().getHash()));
+        assertEquals("image/png", stored.getContentType());
+        assertEquals(new Dimension(10, 10), stored.getDimensions());
+        assertEquals(0, folder.getRoot().toPath().resolve("uploads").toFile().list().length);
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void storeNotImageTest() throws IOException {
+        byte[] data = new byte[]{1, 2, 3};
+        EncodedImage stored = encoder(true, true).store(new ByteArrayInputStream(data), "image/png");
+        assertArrayEquals(data, store.read(stored.getBlob().getHash()));
+        assertEquals("image/png", stored.getContentType());
+        assertNull(stored.getDimensions());
+        assertNull(stored.getOriginalHash());
+    }
+
+    private ImageEncoder encoder(boolean enabled, boolean keepOriginal) {
+        return new ImageEncoder(store, enabled, 200, 0.85f, ImageScaler.AUTO, keepOriginal, tempDir);
+    }
+
+    private static byte[] jpeg(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpeg", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Puts EXIF segment with orientation tag only after start of JPEG image
+     */
+    private static byte[] exif(byte[] jpeg, int orientation) {
+        ByteBuffer segment = ByteBuffer.allocate(36)
+                .putShort((short) 0xFFE1).putShort((short) 34)
+                .put(new byte[]{'E', 'x', 'i', 'f', 0, 0})
+                .put(new byte[]{'M', 'M'}).putShort((short) 42).putInt(8)
+                .putShort((short) 1)
+                .putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0)
+                .putInt(0);
+        byte[] result = new byte[jpeg.length + segment.capacity()];
+        System.arraycopy(jpeg, 0, result, 0, 2);
+        System.arraycopy(segment.array(), 0, result, 2, segment.capacity());
+        System.arraycopy(jpeg, 2, result, 2 + segment.capacity(), jpeg.length - 2);
+        return result;
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,89 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.image.ImageProbe;
+import com.gdc.aerodev.service.image.ImageScaler;
+import com.gdc.aerodev.service.image.ImageSize;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class ImageScalerTest extends WithFiles {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void scaleTest() {
+        BufferedImage image = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+        BufferedImage scaled = ImageScaler.scale(image, 320);
+        assertEquals(320, scaled.getWidth());
+        assertEquals(160, scaled.getHeight());
+    }
+
+    @Test
+    public void scaleSmallTest() {
+        BufferedImage image = new BufferedImage(100, 50, BufferedImage.TYPE_INT_RGB);
+        assertSame(image, ImageScaler.scale(image, 320));
+    }
+
+    @Test
+    public void orientTest() {
+        // position of top left pixel after image is turned by every orientation from 1 to 8
+        int[][] expected = {{0, 0}, {2, 0}, {2, 1}, {0, 1}, {0, 0}, {1, 0}, {1, 2}, {0, 2}};
+        BufferedImage image = new BufferedImage(3, 2, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0xFFFFFF);
+        for (int orientation = 1; orientation <= 8; orientation++) {
+            BufferedImage oriented = ImageScaler.orient(image, orientation);
+            assertEquals(orientation < 5 ? 3 : 2, oriented.getWidth());
+            int[] position = expected[orientation - 1];
+            assertEquals("Orientation " + orientation, 0xFFFFFF,
+                    oriented.getRGB(position[0], position[1]) & 0xFFFFFF);
+        }
+    }
+
+    @Test
+    public void encodeTest() throws IOException {
+        BufferedImage image = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+        byte[] encoded = ImageScaler.encode(ImageScaler.scale(image, 64), 0.85f);
+        assertEquals(new Dimension(64, 32), ImageProbe.dimensions(encoded));
+        assertEquals("image/jpeg", ImageScaler.contentType(image));
+    }
+
+    @Test
+    public void encodeFormatTest() throws IOException {
+        BufferedImage image = new BufferedImage(100, 50, BufferedImage.TYPE_INT_ARGB);
+        assertEquals("image/png", ImageScaler.contentType(image, ImageScaler.AUTO));
+        assertEquals("image/jpeg", ImageScaler.contentType(image, ImageScaler.JPEG));
+        byte[] encoded = ImageScaler.encode(image, ImageScaler.JPEG, 0.85f);
+        assertEquals(new Dimension(100, 50), ImageProbe.dimensions(encoded));
+        assertEquals((byte) 0xFF, encoded[0]);
+        assertEquals((byte) 0xD8, encoded[1]);
+    }
+
+    @Test
+    public void readTest() throws IOException {
+        byte[] data = getImage();
+        File file = folder.newFile();
+        Files.write(file.toPath(), data);
+        BufferedImage image = ImageScaler.read(file.toPath(), ImageSize.MEDIUM.getMaxEdge());
+        assertEquals(ImageProbe.dimensions(data), new Dimension(image.getWidth(), image.getHeight()));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void readNotImageTest() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), new byte[]{1, 2, 3});
+        assertNull(ImageScaler.read(file.toPath(), 100));
+        assertNull(ImageProbe.dimensions(new byte[]{1, 2, 3}));
+    }
+}
@@ -0,0 +1,162 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.repository.postgresql.Creation;
+import com.gdc.aerodev.repository.postgresql.Creation.Status;
+import com.gdc.aerodev.repository.postgresql.ImportRepository;
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.service.impl.ImportServiceImpl;
+import com.gdc.aerodev.service.importing.ImportFormat;
+import com.gdc.aerodev.service.importing.ImportReport;
+import com.gdc.aerodev.service.security.Hasher;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class ImportServiceTest {
+
+    private final List<List<String[]>> batches = Collections.synchronizedList(new ArrayList<>());
+    private ImportServiceImpl service;
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void csvTest() {
+        service = service(1000, 10);
+        StringBuilder csv = new StringBuilder("name,website,logo_url\r\n");
+        for (int i = 0; i < 2500; i++) {
+            csv.append("Company ").append(i).append(",site,\r\n");
+        }
+        ImportReport report = service.importRows(Target.COMPANIES, ImportFormat.CSV,
+                new StringReader(csv.toString()));
+        assertEquals(2500, report.getRows());
+        assertEquals(2500, report.getCreated());
+        assertNull(report.getFailure());
+        assertEquals(3, batches.size());
+        assertEquals(1000, batches.get(0).size());
+        assertEquals(500, batches.get(2).size());
+        String[] row = batches.get(2).get(499);
+        assertEquals("Company 2499", row[0]);
+        assertEquals("site", row[1]);
+        assertNull(row[2]);
+    }
+
+    @Test
+    public void jsonTest() {
+        service = service(10, 10);
+        String json = "[{\"name\": \"cr\", \"password\": 12345, \"email\": \"cr@mail.com\", \"company\": \"Boeing\","
+                + " \"position\": null}, {\"name\": \"cr2\", \"password\": \"p\", \"email\": \"cr2@mail.com\","
+                + " \"company\": \"Boeing\", \"first_name\": \"Bob\"}]";
+        ImportReport report = service.importRows(Target.CRS, ImportFormat.JSON, new StringReader(json));
+        assertEquals(2, report.getCreated());
+        String[] row = batches.get(0).get(0);
+        assertEquals(Hasher.hash("12345"), row[1]);
+        assertEquals("Boeing", row[3]);
+        assertNull(row[6]);
+        assertEquals("Bob", batches.get(0).get(1)[4]);
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void rejectedRowsTest() {
+        service = service(2, 10);
+        String csv = "name,website\n"
+                + ",site\n"
+                + "\"Multi\nline\",site\n"
+                + "taken company,site\n"
+                + "Extra,site,value\n"
+                + "Valid,site\n";
+        ImportReport report = service.importRows(Target.COMPANIES, ImportFormat.CSV, new StringReader(csv));
+        assertEquals(5, report.getRows());
+        assertEquals(2, report.getCreated());
+        assertEquals(3, report.getRejected());
+        assertEquals(Long.valueOf(2), report.getCounts().get(Status.INVALID));
+        List<Long> positions = report.getErrors().stream()
+                .map(ImportReport.RowError::getPosition).collect(Collectors.toList());
+        assertEquals(Arrays.asList(2L, 5L, 6L), positions);
+        assertEquals(Status.DUPLICATE_NAME, report.getErrors().get(1).getStatus());
+        assertEquals("Name 'taken company' is taken", report.getErrors().get(1).getMessage());
+        assertEquals("Multi\nline", batches.get(0).get(0)[0]);
+    }
+
+    @Test
+    public void invalidValuesTest() {
+        service = service(10, 10);
+        String json = "[{\"name\": \"taken prj\", \"owner\": \"Aigul\", \"type\": \"design\"},"
+                + " {\"name\": \"prj2\", \"owner\": \"Aigul\", \"type\": \"magic\"},"
+                + " {\"name\": \"prj3\", \"owner\": \"Aigul\", \"colour\": \"red\"},"
+                + " {\"name\": \"prj4\", \"owner\": {\"name\": \"Aigul\"}},"
+                + " \"prj5\"]";
+        ImportReport report = service.importRows(Target.PROJECTS, ImportFormat.JSON, new StringReader(json));
+        assertEquals(5, report.getRows());
+        assertEquals(Long.valueOf(4), report.getCounts().get(Status.INVALID));
+        assertEquals("DESIGN", batches.get(0).get(0)[2]);
+        assertEquals("Unknown project type 'magic'", report.getErrors().get(1).getMessage());
+        assertEquals("Unknown field 'colour'", report.getErrors().get(2).getMessage());
+        assertEquals(5, report.getErrors().get(4).getPosition());
+    }
+
+    @Test
+    public void failedBatchTest() {
+        service = service(2, 10);
+        String csv = "name\nfirst\nsecond\nboom\nthird\nfourth\n";
+        ImportReport report = service.importRows(Target.COMPANIES, ImportFormat.CSV, new StringReader(csv));
+        assertEquals(5, report.getRows());
+        assertEquals(3, report.getCreated());
+        assertEquals(Long.valueOf(2), report.getCounts().get(Status.CONFLICT));
+        assertTrue(report.getErrors().get(0).getMessage().startsWith("Batch wasn't loaded"));
+    }
+
+    @Test
+    public void brokenInputTest() {
+        service = service(2, 10);
+        String csv = "name\nfirst\nsecond\nthird\n\"broken\n";
+        ImportReport report = service.importRows(Target.COMPANIES, ImportFormat.CSV, new StringReader(csv));
+        assertEquals(3, report.getCreated());
+        assertNotNull(report.getFailure());
+        ImportReport json = service.importRows(Target.COMPANIES, ImportFormat.JSON, new StringReader("{}"));
+        assertEquals(0, json.getRows());
+        assertNotNull(json.getFailure());
+    }
+
+    @Test
+    public void truncatedErrorsTest() {
+        service = service(10, 2);
+        String csv = "name\ntaken 1\ntaken 2\ntaken 3\nfree\n";
+        ImportReport report = service.importRows(Target.COMPANIES, ImportFormat.CSV, new StringReader(csv));
+        assertEquals(3, report.getRejected());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.isTruncated());
+    }
+
+    private ImportServiceImpl service(int batchSize, int maxErrors) {
+        ImportRepository repository = new ImportRepository(null, null) {
+            @Override
+            public List<Creation> load(Target target, List<String[]> rows) {
+                batches.add(rows);
+                List<Creation> creations = new ArrayList<>();
+                for (String[] row : rows) {
+                    if (row[0].equals("boom")) {
+                        throw new DataIntegrityViolationException("boom");
+                    }
+                    creations.add(row[0].startsWith("taken")
+                            ? Creation.rejected(Status.DUPLICATE_NAME) : Creation.created((long) creations.size()));
+                }
+                return creations;
+            }
+        };
+        return new ImportServiceImpl(repository, null, null, null, null, batchSize, 2, maxErrors);
+    }
+}
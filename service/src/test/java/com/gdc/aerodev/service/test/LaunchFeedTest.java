@@ -0,0 +1,89 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.external.CircuitBreaker;
+import com.gdc.aerodev.external.spacex.LaunchFeed;
+import com.gdc.aerodev.external.spacex.LaunchSource;
+import com.gdc.aerodev.external.spacex.StubLaunchSource;
+import com.google.gson.JsonObject;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LaunchFeedTest {
+
+    private final LaunchSource stub = new StubLaunchSource("spacex/latest-launch.json");
+
+    @Test
+    public void refreshTest() {
+        LaunchFeed feed = new LaunchFeed(stub, 60000, 3, 60000);
+        assertTrue(feed.refresh());
+        Map<String, String> launch = feed.getLatest();
+        assertEquals("65", launch.get("flight_number"));
+        assertEquals("true", launch.get("launch_success"));
+        assertTrue(feed.getAge() < 60000);
+    }
+
+    @Test
+    public void staleWhileFailingTest() {
+        AtomicBoolean failing = new AtomicBoolean();
+        LaunchFeed feed = new LaunchFeed(() -> {
+            if (failing.get()) {
+                throw new IOException("offline");
+            }
+            return stub.fetch();
+        }, 60000, 3, 60000);
+        assertTrue(feed.refresh());
+        failing.set(true);
+        assertFalse(feed.refresh());
+        assertEquals("65", feed.getLatest().get("flight_number"));
+    }
+
+    @Test
+    public void circuitBreakerTest() {
+        AtomicInteger calls = new AtomicInteger();
+        LaunchFeed feed = new LaunchFeed(() -> {
+            calls.incrementAndGet();
+            throw new IOException("offline");
+        }, 60000, 2, 60000);
+        feed.refresh();
+        feed.refresh();
+        assertEquals(CircuitBreaker.State.OPEN, feed.getCircuitState());
+        assertFalse(feed.refresh());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void halfOpenTest() {
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.onFailure();
+        assertTrue(breaker.allowRequest());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.allowRequest());
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void emptyBeforeFetchTest() {
+        LaunchFeed feed = new LaunchFeed(() -> {
+            throw new IOException("offline");
+        }, 60000, 3, 60000);
+        assertTrue(feed.getLatest().isEmpty());
+    }
+
+    @Test
+    public void missingFieldsTest() {
+        LaunchFeed feed = new LaunchFeed(JsonObject::new, 60000, 3, 60000);
+        assertTrue(feed.refresh());
+        assertNull(feed.getLatest().get("mission_patch"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.repository.postgresql.UserRepository;
+import com.gdc.aerodev.service.impl.LeaderboardServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LeaderboardServiceTest {
+
+    private final List<Object[]> ratings = new ArrayList<>();
+    private LeaderboardServiceImpl service;
+    private Runnable duringRead;
+
+    @Before
+    public void setUp() {
+        ratings.add(new Object[]{1L, 10});
+        ratings.add(new Object[]{2L, 20});
+        ratings.add(new Object[]{3L, 30});
+        UserRepository repository = mock(UserRepository.class);
+        when(repository.findAllRatings()).thenAnswer(i -> {
+            List<Object[]> read = new ArrayList<>(ratings);
+            if (duringRead != null) {
+                duringRead.run();
+            }
+            return read;
+        });
+        service = new LeaderboardServiceImpl(repository);
+        assertEquals(3, service.rebuild());
+    }
+
+    @Test
+    public void rebuildTest() {
+        assertEquals(1, service.getRank(3L));
+        assertEquals(3, service.getRank(1L));
+        assertEquals(3L, service.getTop(1).get(0).getId());
+    }
+
+    @Test
+    public void updateDuringRebuildTest() {
+        duringRead = () -> {
+            service.update(1L, 50);
+            service.update(4L, 0);
+        };
+        assertEquals(4, service.rebuild());
+        assertEquals(1, service.getRank(1L));
+        assertEquals(50, service.getTop(1).get(0).getScore());
+        assertEquals(4, service.getRank(4L));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void removeDuringRebuildTest() {
+        duringRead = () -> service.remove(3L);
+        assertEquals(2, service.rebuild());
+        assertEquals(0, service.getRank(3L));
+        assertEquals(1, service.getRank(2L));
+    }
+}
@@ -0,0 +1,93 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository;
+import com.gdc.aerodev.service.blob.FileSystemBlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.cache.MediaCache;
+import com.gdc.aerodev.service.impl.MediaServiceImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class MediaCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private FileSystemBlobStore store;
+    private MediaCache cache;
+
+    @Before
+    public void setUp() {
+        store = new FileSystemBlobStore(folder.getRoot().getAbsolutePath());
+        cache = new MediaCache(null, store, 1000, 600);
+    }
+
+    @Test
+    public void getTest() throws IOException {
+        MediaMeta media = put(100, 1);
+        assertEquals(100, cache.get(media).length);
+        assertEquals(100, cache.get(media).length);
+        assertEquals(0.5, cache.getHitRate(), 0.001);
+        assertEquals(100, cache.getResidentBytes());
+    }
+
+    @Test
+    public void pinTest() throws IOException {
+        MediaMeta media = put(500, 1);
+        cache.get(media);
+        cache.pin(media);
+        assertEquals(0, cache.getResidentBytes());
+        for (int i = 2; i < 10; i++) {
+            cache.get(put(400, i));
+        }
+        assertTrue(cache.getResidentBytes() <= 1000);
+        cache.get(media);
+        assertEquals(1, cache.getHitRate() * 10, 0.001);
+    }
+
+    @Test
+    public void weightTest() throws IOException {
+        for (int i = 1; i < 10; i++) {
+            cache.get(put(400, i));
+        }
+        assertTrue(cache.getResidentBytes() <= 1000);
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void bigContentTest() throws IOException {
+        MediaMeta media = put(700, 1);
+        assertFalse(cache.accepts(media));
+        assertEquals(700, cache.get(media).length);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void copyPastEndTest() throws IOException {
+        MediaMeta media = put(100, 1);
+        MediaServiceImpl service = new MediaServiceImpl(null, store, cache);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(10, service.copy(media, 90, 20, out));
+        assertEquals(0, service.copy(media, 100, 10, out));
+        assertEquals(0, service.copy(media, 150, 10, out));
+        assertEquals(10, out.size());
+    }
+
+    private MediaMeta put(int length, int fill) throws IOException {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) fill);
+        StoredBlob blob = store.put(data);
+        return new MediaMeta(MediaRepository.Source.PROJECT_IMAGE, (long) fill, "image/png", length,
+                blob.getHash(), blob.getHash(), null, null, null);
+    }
+}
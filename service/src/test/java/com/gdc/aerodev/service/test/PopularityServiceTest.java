@@ -0,0 +1,142 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.model.ProjectType;
+import com.gdc.aerodev.repository.postgresql.ProjectStats;
+import com.gdc.aerodev.repository.postgresql.ProjectStatsRepository;
+import com.gdc.aerodev.service.counter.StripedCounter;
+import com.gdc.aerodev.service.impl.PopularityServiceImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PopularityServiceTest {
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+
+    private final List<ProjectStats> stats = new ArrayList<>();
+    private final Date now = new Date();
+    private PopularityServiceImpl service;
+    private Runnable duringRead;
+
+    @Before
+    public void setUp() {
+        stats.add(new ProjectStats(1L, 10L, ProjectType.DESIGN, now, 0, 0, 0));
+        stats.add(new ProjectStats(2L, 20L, ProjectType.STRUCTURE, now, 0, 3, 0));
+        stats.add(new ProjectStats(3L, 30L, ProjectType.DESIGN, new Date(now.getTime() - 30 * DAY), 0, 3, 0));
+        service = new PopularityServiceImpl(new ProjectStatsRepository(null) {
+            @Override
+            public List<ProjectStats> findAll() {
+                List<ProjectStats> read = new ArrayList<>(stats);
+                if (duringRead != null) {
+                    duringRead.run();
+                }
+                return read;
+            }
+        }, 2, 2, 7 * DAY, 1, 5, 10);
+        assertEquals(3, service.recompute());
+    }
+
+    @After
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    public void recomputeTest() {
+        assertEquals(Arrays.asList(2L, 1L), service.getTop());
+        assertEquals(Arrays.asList(1L, 3L), service.getTop(ProjectType.DESIGN));
+        assertEquals(Arrays.asList(2L), service.getTop(ProjectType.STRUCTURE));
+        assertTrue(service.getTop(ProjectType.ACOUSTICS).isEmpty());
+        assertTrue(service.getScore(3L) < service.getScore(1L));
+    }
+
+    @Test
+    public void eventsTest() {
+        service.onOfferAdded(10L);
+        service.onOfferAdded(10L);
+        assertEquals(Arrays.asList(1L, 2L), service.getTop());
+        service.onCreated(4L, 40L, ProjectType.STRUCTURE);
+        assertEquals(1, service.onViews(views(4L, 1000)));
+        assertEquals(Arrays.asList(4L, 1L), service.getTop());
+        service.onTypeChanged(4L, ProjectType.DESIGN);
+        assertEquals(Arrays.asList(4L, 1L), service.getTop(ProjectType.DESIGN));
+        assertEquals(Arrays.asList(2L), service.getTop(ProjectType.STRUCTURE));
+    }
+
+    @Test
+    public void viewsTest() {
+        double score = service.getScore(1L);
+        assertEquals(1, service.onViews(views(1L, 1)));
+        assertTrue(service.getScore(1L) > score);
+    }
+
+    @Test
+    public void negativeIdTest() {
+        stats.add(new ProjectStats(-2L, 10L, ProjectType.DESIGN, now, 0, 0, 0));
+        service.recompute();
+        double score = service.getScore(-2L);
+        service.onViews(views(-2L, 1));
+        assertTrue(service.getScore(-2L) > score);
+    }
+
+    @Test
+    public void recomputeKeepsViewsTest() {
+        service.onViews(views(3L, 1));
+        double score = service.getScore(3L);
+        service.recompute();
+        assertEquals(score, service.getScore(3L), 1e-9);
+    }
+
+    @Test
+    public void recomputeKeepsEventsTest() {
+        duringRead = () -> {
+            service.onImageAdded(1L);
+            service.onOfferAdded(30L);
+        };
+        service.recompute();
+        duringRead = null;
+        double score = service.getScore(1L);
+        stats.set(0, new ProjectStats(1L, 10L, ProjectType.DESIGN, now, 0, 1, 0));
+        stats.set(2, new ProjectStats(3L, 30L, ProjectType.DESIGN, new Date(now.getTime() - 30 * DAY), 0, 3, 1));
+        double offered = service.getScore(3L);
+        service.recompute();
+        assertEquals(score, service.getScore(1L), 1e-9);
+        assertEquals(offered, service.getScore(3L), 1e-9);
+    }
+
+    @Test
+    public void recomputeKeepsCreatedTest() {
+        duringRead = () -> {
+            service.onCreated(4L, 40L, ProjectType.STRUCTURE);
+            service.onTypeChanged(2L, ProjectType.DESIGN);
+        };
+        service.recompute();
+        assertFalse(Double.isNaN(service.getScore(4L)));
+        assertEquals(Arrays.asList(2L, 4L), service.getTop());
+        assertEquals(Arrays.asList(2L, 1L), service.getTop(ProjectType.DESIGN));
+        assertEquals(Arrays.asList(4L), service.getTop(ProjectType.STRUCTURE));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void unknownProjectTest() {
+        assertEquals(0, service.onViews(views(100L, 1)));
+        service.onImageAdded(100L);
+        assertTrue(Double.isNaN(service.getScore(100L)));
+        assertFalse(service.getTop().contains(100L));
+    }
+
+    private static StripedCounter.Counts views(long projectId, int views) {
+        StripedCounter counter = new StripedCounter(1);
+        counter.add(projectId, views);
+        return counter.drain();
+    }
+}
@@ -0,0 +1,183 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.model.FileUpload;
+import com.gdc.aerodev.model.UploadChunk;
+import com.gdc.aerodev.repository.postgresql.*;
+import com.gdc.aerodev.service.blob.FileSystemBlobStore;
+import com.gdc.aerodev.service.blob.StoredBlob;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.impl.ProjectFileServiceImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ProjectFileServiceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final Map<String, FileUpload> uploads = new ConcurrentHashMap<>();
+    private final List<UploadChunk> chunks = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private ProjectFileServiceImpl service;
+    private Callable<Object> duringMove;
+
+    @Before
+    public void setUp() throws IOException {
+        FileUploadRepository uploadRepository = mock(FileUploadRepository.class);
+        when(uploadRepository.save(any())).thenAnswer(i -> {
+            FileUpload upload = i.getArgument(0);
+            uploads.put(upload.getUploadId(), upload);
+            return upload;
+        });
+        when(uploadRepository.findById(anyString()))
+                .thenAnswer(i -> Optional.ofNullable(uploads.get(i.getArgument(0))));
+        when(uploadRepository.existsById(anyString())).thenAnswer(i -> uploads.containsKey(i.getArgument(0)));
+        doAnswer(i -> uploads.remove(i.getArgument(0))).when(uploadRepository).deleteById(anyString());
+        UploadChunkRepository chunkRepository = mock(UploadChunkRepository.class);
+        when(chunkRepository.save(any())).thenAnswer(i -> {
+            UploadChunk chunk = i.getArgument(0);
+            if (!uploads.containsKey(chunk.getUploadId())) {
+                throw new IllegalStateException("Chunk of removed upload");
+            }
+            chunks.add(chunk);
+            return chunk;
+        });
+        when(chunkRepository.findAllByUploadIdOrderByOffset(anyString())).thenAnswer(i -> {
+            List<UploadChunk> found = new ArrayList<>();
+            for (UploadChunk chunk : chunks) {
+                if (chunk.getUploadId().equals(i.getArgument(0))) {
+                    found.add(chunk);
+                }
+            }
+            found.sort(Comparator.comparingLong(UploadChunk::getOffset));
+            return found;
+        });
+        ProjectFileRepository fileRepository = mock(ProjectFileRepository.class);
+        when(fileRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+        FileSystemBlobStore store = new FileSystemBlobStore(folder.newFolder("blobs").getAbsolutePath()) {
+            @Override
+            public StoredBlob move(Path file) throws IOException {
+                if (duringMove != null) {
+                    try {
+                        executor.submit(duringMove).get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+                return super.move(file);
+            }
+        };
+        service = new ProjectFileServiceImpl(uploadRepository, chunkRepository, fileRepository,
+                mock(ProjectRepository.class), mock(MediaRepository.class), store,
+                folder.newFolder("uploads").getAbsolutePath(), 1024, 60000);
+    }
+
+    @Test
+    public void commitTest() {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 4).getUploadId();
+        service.writeChunk(uploadId, 2, new ByteArrayInputStream(new byte[]{3, 4}));
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+        service.commitUpload(uploadId);
+        assertNull(service.getUpload(uploadId));
+    }
+
+    @Test
+    public void commitWaitsForChunkTest() throws Exception {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 4).getUploadId();
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InputStream slow = new ByteArrayInputStream(new byte[]{3, 4}) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return super.read(b, off, len);
+            }
+        };
+        Future<Long> chunk = executor.submit(() -> service.writeChunk(uploadId, 2, slow));
+        reading.await();
+        Future<Long> commit = executor.submit(() -> service.commitUpload(uploadId));
+        try {
+            commit.get(200, TimeUnit.MILLISECONDS);
+            fail("Commit didn't wait for chunk in flight");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        release.countDown();
+        assertEquals(Long.valueOf(2), chunk.get());
+        commit.get();
+        assertNull(service.getUpload(uploadId));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void chunkDuringCommitTest() {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 2).getUploadId();
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+        duringMove = () -> {
+            try {
+                service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{9, 9}));
+                fail("Chunk was written while upload was committed");
+            } catch (ServiceException e) {
+                // expected
+            }
+            try {
+                service.abortUpload(uploadId);
+                fail("Upload was aborted while it was committed");
+            } catch (ServiceException e) {
+                // expected
+            }
+            return null;
+        };
+        service.commitUpload(uploadId);
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void chunkAfterCommitTest() {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 2).getUploadId();
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+        service.commitUpload(uploadId);
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+    }
+
+    @Test(expected = NoSuchElementException.class)
+    public void chunkAfterAbortTest() {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 2).getUploadId();
+        service.abortUpload(uploadId);
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+    }
+
+    @Test
+    public void retryIncompleteCommitTest() {
+        String uploadId = service.startUpload(1L, 1L, "file.bin", null, 4).getUploadId();
+        service.writeChunk(uploadId, 0, new ByteArrayInputStream(new byte[]{1, 2}));
+        try {
+            service.commitUpload(uploadId);
+            fail("Incomplete upload was committed");
+        } catch (ServiceException e) {
+            // expected
+        }
+        service.writeChunk(uploadId, 2, new ByteArrayInputStream(new byte[]{3, 4}));
+        service.commitUpload(uploadId);
+    }
+}
@@ -1,6 +1,6 @@
 package com.gdc.aerodev.service.test;
 
-import com.gdc.aerodev.model.ProjectImage;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
 import com.gdc.aerodev.service.ProjectImageService;
 import com.opentable.db.postgres.embedded.FlywayPreparer;
 import com.opentable.db.postgres.junit.EmbeddedPostgresRules;
@@ -43,9 +43,9 @@ public class ProjectImageServiceTest extends WithFiles {
         Long imgId0 = service.createImage(projectId, getImage(), contentType);
         Long imgId1 = service.createImage(projectId, getImage(), contentType);
         Long imgId2 = service.createImage(projectId, getImage(), contentType);
-        List<ProjectImage> list = service.getAll(projectId);
+        List<MediaMeta> list = service.getAll(projectId);
         assertEquals(3, list.size());
-        assertEquals(imgId2, list.get(2).getImageId());
+        assertEquals(imgId2, list.get(2).getId());
     }
 
     @Test
@@ -56,7 +56,7 @@ public class ProjectImageServiceTest extends WithFiles {
 
     @Test(expected = NullPointerException.class)
     public void createNullImage() {
-        service.createImage(projectId, null, contentType);
+        service.createImage(projectId, (byte[]) null, contentType);
     }
 
     @Test(expected = NullPointerException.class)
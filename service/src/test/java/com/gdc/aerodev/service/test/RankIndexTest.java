@@ -0,0 +1,94 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.ranking.RankIndex;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class RankIndexTest {
+
+    @Test
+    public void topTest() {
+        RankIndex index = new RankIndex();
+        index.put(1, 10);
+        index.put(2, 30);
+        index.put(3, 20);
+        index.put(4, 30);
+        List<RankIndex.Entry> top = index.top(3);
+        assertEquals(Arrays.asList(2L, 4L, 3L), ids(top));
+        assertEquals(3, top.get(2).getRank());
+        assertEquals(20, top.get(2).getScore());
+    }
+
+    @Test
+    public void updateTest() {
+        RankIndex index = new RankIndex();
+        index.put(1, 10);
+        index.put(2, 20);
+        assertEquals(2, index.rank(1));
+        index.put(1, 25);
+        assertEquals(1, index.rank(1));
+        assertEquals(2, index.size());
+        assertTrue(index.remove(1));
+        assertEquals(0, index.rank(1));
+        assertEquals(1, index.rank(2));
+    }
+
+    @Test
+    public void aroundTest() {
+        RankIndex index = new RankIndex();
+        for (int i = 1; i <= 10; i++) {
+            index.put(i, i * 10);
+        }
+        // rank of id 5 is 6
+        assertEquals(Arrays.asList(6L, 5L, 4L), ids(index.around(index.rank(5), 1)));
+        assertEquals(Arrays.asList(10L, 9L), ids(index.around(1, 1)));
+        assertEquals(Arrays.asList(2L, 1L), ids(index.around(10, 1)));
+    }
+
+    @Test
+    public void randomTest() {
+        RankIndex index = new RankIndex();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5000; i++) {
+            long id = random.nextInt(500);
+            if (random.nextInt(5) == 0) {
+                assertEquals(expected.remove(id) != null, index.remove(id));
+            } else {
+                int score = random.nextInt(100);
+                expected.put(id, score);
+                index.put(id, score);
+            }
+        }
+        List<Long> ordered = expected.entrySet().stream()
+                .sorted(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        assertEquals(ordered.size(), index.size());
+        assertEquals(ordered, ids(index.top(ordered.size())));
+        for (int i = 0; i < ordered.size(); i++) {
+            assertEquals(i + 1, index.rank(ordered.get(i)));
+        }
+        assertEquals(ordered.subList(100, 110), ids(index.range(101, 10)));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void emptyTest() {
+        RankIndex index = new RankIndex();
+        assertTrue(index.top(3).isEmpty());
+        assertEquals(0, index.rank(1));
+        assertFalse(index.remove(1));
+        assertTrue(index.range(5, 0).isEmpty());
+    }
+
+    private static List<Long> ids(List<RankIndex.Entry> entries) {
+        return entries.stream().map(RankIndex.Entry::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,69 @@
+package com.gdc.aerodev.service.test;
+
+import com.gdc.aerodev.service.counter.StripedCounter;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class StripedCounterTest {
+
+    @Test
+    public void countTest() {
+        StripedCounter counter = new StripedCounter(4);
+        for (long id = 1; id <= 1000; id++) {
+            counter.add(id, id);
+        }
+        counter.increment(1);
+        assertEquals(2, counter.get(1));
+        assertEquals(1000, counter.get(1000));
+        StripedCounter.Counts counts = counter.drain();
+        assertEquals(1000, counts.size());
+        assertEquals(0, counter.get(1));
+        assertEquals(0, counter.drain().size());
+    }
+
+    @Test
+    public void concurrentDrainTest() throws Exception {
+        StripedCounter counter = new StripedCounter(8);
+        int threads = 4;
+        int increments = 100000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < increments; i++) {
+                    counter.increment(i % 100 + 1);
+                }
+            }));
+        }
+        Map<Long, Long> total = new HashMap<>();
+        boolean running = true;
+        while (running) {
+            running = futures.stream().anyMatch(f -> !f.isDone());
+            StripedCounter.Counts counts = counter.drain();
+            for (int i = 0; i < counts.size(); i++) {
+                total.merge(counts.getId(i), counts.getValue(i), Long::sum);
+            }
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, total.size());
+        assertEquals((long) threads * increments, total.values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    //Abnormal tests
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroIdTest() {
+        new StripedCounter(1).increment(0);
+    }
+}
@@ -1,6 +1,6 @@
 package com.gdc.aerodev.web.configuration;
 
-import com.gdc.aerodev.service.impl.UserServiceImpl;
+import com.gdc.aerodev.web.security.SessionPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 
@@ -11,16 +11,11 @@ import java.io.IOException;
 
 public class MySuccessHandler implements AuthenticationSuccessHandler {
 
-    private final UserServiceImpl usr_service;
-
-    MySuccessHandler(UserServiceImpl usr_service) {
-        this.usr_service = usr_service;
-    }
-
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException, ServletException {
         SecurityConfig.UserWrapper user = (SecurityConfig.UserWrapper) authentication.getPrincipal();
-        request.getSession().setAttribute("client", usr_service.getUser(user.getId()));
+        request.getSession().setAttribute(SessionPrincipal.ATTRIBUTE,
+                new SessionPrincipal(user.getId(), user.getUsername(), user.getAuthorities()));
         response.sendRedirect("/user/" + String.valueOf(user.getId()));
     }
 }
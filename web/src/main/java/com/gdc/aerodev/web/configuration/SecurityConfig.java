@@ -3,11 +3,13 @@ package com.gdc.aerodev.web.configuration;
 import com.gdc.aerodev.model.User;
 import com.gdc.aerodev.service.impl.UserServiceImpl;
 import com.gdc.aerodev.service.security.Hasher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,16 +23,21 @@ import java.security.KeyManagementException;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.X509Certificate;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
 
 @Configuration
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final UserServiceImpl userService;
+    private final Set<String> administrators;
 
-    public SecurityConfig(UserServiceImpl userService) {
+    /**
+     * @param administrators names of users, who are granted {@code ROLE_ADMINISTRATOR} besides {@code ROLE_USER}
+     */
+    public SecurityConfig(UserServiceImpl userService,
+                          @Value("${aerodev.security.administrators:}") String[] administrators) {
         this.userService = userService;
+        this.administrators = new HashSet<>(Arrays.asList(administrators));
     }
 
     @Override
@@ -38,13 +45,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         // @formatter:off
         http
                 .authorizeRequests()
+                    .antMatchers("/import/**").hasRole("ADMINISTRATOR")
                     .antMatchers("/home", "/project/logo/**").permitAll()
-                    .antMatchers("/profile", "/user/**", "create_prj", "/project/**").hasRole("USER")
+                    .antMatchers("/profile", "/profile/**", "/user/**", "create_prj", "/project/**").hasRole("USER")
                     .and()
                 .formLogin()
                     .usernameParameter("name")
                     .loginPage("/login").
-                successHandler(new MySuccessHandler(userService))
+                successHandler(new MySuccessHandler())
                     .and()
                 .csrf()
                     .disable()
@@ -60,7 +68,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             if (user == null) {
                 throw new UsernameNotFoundException("User '" + username + "' was not found in the database");
             }
-            return UserWrapper.wrap(user);
+            return UserWrapper.wrap(user, administrators.contains(user.getUserName()));
         };
     }
 
@@ -79,36 +87,50 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         };
     }
 
-    static class UserWrapper implements UserDetails {
-        private final User user;
-
-        private UserWrapper(User user) {
-            this.user = user;
+    /**
+     * Keeps only identity and password hash of user, so authentication stored in session doesn't hold entity.
+     * Password hash is erased after authentication.
+     */
+    static class UserWrapper implements UserDetails, CredentialsContainer {
+        private static final List<GrantedAuthority> USER =
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"));
+        private static final List<GrantedAuthority> ADMINISTRATOR = Collections.unmodifiableList(Arrays.asList(
+                new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMINISTRATOR")));
+
+        private final Long id;
+        private final String name;
+        private final List<GrantedAuthority> authorities;
+        private String password;
+
+        private UserWrapper(User user, boolean administrator) {
+            this.id = user.getUserId();
+            this.name = user.getUserName();
+            this.password = user.getUserPassword();
+            this.authorities = administrator ? ADMINISTRATOR : USER;
         }
 
-        public static UserWrapper wrap(User user) {
-            return new UserWrapper(user);
+        /**
+         * @param administrator {@code true} if user is listed in {@code aerodev.security.administrators}
+         */
+        public static UserWrapper wrap(User user, boolean administrator) {
+            return new UserWrapper(user, administrator);
         }
 
         @Override
         public Collection<? extends GrantedAuthority> getAuthorities() {
-            // FIXME: stub, add roles to the database
-            return Collections.singletonList(
-                    new SimpleGrantedAuthority("ROLE_USER")
-//                    new SimpleGrantedAuthority("ROLE_ADMINISTRATOR")
-            );
+            return authorities;
         }
 
-        public Long getId(){return user.getUserId();}
+        public Long getId(){return id;}
 
         @Override
         public String getPassword() {
-            return user.getUserPassword();
+            return password;
         }
 
         @Override
         public String getUsername() {
-            return user.getUserName();
+            return name;
         }
 
         @Override
@@ -130,6 +152,11 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         public boolean isEnabled() {
             return true;
         }
+
+        @Override
+        public void eraseCredentials() {
+            password = null;
+        }
     }
 
 }
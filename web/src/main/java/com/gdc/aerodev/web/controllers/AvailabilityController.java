@@ -0,0 +1,50 @@
+package com.gdc.aerodev.web.controllers;
+
+import com.gdc.aerodev.repository.postgresql.NameRepository.Kind;
+import com.gdc.aerodev.service.AvailabilityService;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Answers if name is free while it's typed in sign-up and project forms. Free names are answered from memory,
+ * so endpoint can be called on every keystroke.
+ *
+ * @author Yusupov Danil
+ * @see AvailabilityService
+ */
+@RestController
+public class AvailabilityController implements LoggingWeb {
+
+    private final AvailabilityService service;
+
+    public AvailabilityController(AvailabilityService service) {
+        this.service = service;
+    }
+
+    /**
+     * @param kind  one of {@code user_name}, {@code user_email} or {@code project_name}
+     * @param value checked name
+     * @return {@code {"available": true}} if name is free
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/availability/{kind}")
+    public ResponseEntity<Map<String, Boolean>> check(@PathVariable String kind, @RequestParam String value) {
+        Kind column;
+        try {
+            column = Kind.valueOf(kind.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(Collections.singletonMap("available", service.isAvailable(column, value)));
+    }
+}
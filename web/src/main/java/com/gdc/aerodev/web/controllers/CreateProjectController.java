@@ -1,11 +1,12 @@
 package com.gdc.aerodev.web.controllers;
 
 import com.gdc.aerodev.model.ProjectType;
-import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.Creation;
 import com.gdc.aerodev.service.ProjectContentService;
 import com.gdc.aerodev.service.ProjectService;
 import com.gdc.aerodev.service.impl.ProjectServiceImpl;
 import com.gdc.aerodev.web.logging.LoggingWeb;
+import com.gdc.aerodev.web.security.SessionPrincipal;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -28,10 +29,10 @@ public class CreateProjectController implements LoggingWeb {
 
     @RequestMapping(method = RequestMethod.GET, path = "/create_prj")
     public ModelAndView getPage(HttpSession session) {
-        User user = (User) session.getAttribute("client");
-        log.debug("Received user '" + user.getUserName() + "'.");
+        SessionPrincipal client = SessionPrincipal.of(session);
+        log.debug("Received user '" + client.getName() + "'.");
         ModelAndView mav = new ModelAndView("create_prj");
-        mav.addObject("user", user);
+        mav.addObject("user", client);
         return mav;
     }
 
@@ -41,10 +42,11 @@ public class CreateProjectController implements LoggingWeb {
         String description = request.getParameter("description");
         ProjectType type = ProjectType.valueOf(request.getParameter("type").toUpperCase());
         log.debug("Received params from request:\n" + "User id = " + owner + "\nDescription: " + description + "\nType: " + type);
-        Long id = prjService.createProject(request.getParameter("name"),
+        Creation creation = prjService.create(request.getParameter("name"),
                 owner,
                 type);
-        if (id != null) {
+        if (creation.isCreated()) {
+            Long id = creation.getId();
             contentService.createProjectContent(id,
                     new byte[0],
                     description,
@@ -52,8 +54,8 @@ public class CreateProjectController implements LoggingWeb {
             log.info("Created project with id " + id + ". Owner id " + owner + ".");
             return "redirect:/profile";
         } else {
-            log.error("Cannot create project for user (id " + owner + ").");
-            return "redirect:/create_prj?error";
+            log.error("Cannot create project for user (id " + owner + "): " + creation + ".");
+            return "redirect:/create_prj?error=" + creation.getStatus().name().toLowerCase();
         }
     }
 
@@ -0,0 +1,63 @@
+package com.gdc.aerodev.web.controllers;
+
+import com.gdc.aerodev.repository.postgresql.ImportRepository.Target;
+import com.gdc.aerodev.service.ImportService;
+import com.gdc.aerodev.service.importing.ImportFormat;
+import com.gdc.aerodev.service.importing.ImportReport;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Imports users, projects, companies and representatives from body of request. Body is read as stream, so file of
+ * any size can be posted. Only administrators may import.
+ *
+ * @author Yusupov Danil
+ * @see ImportService
+ */
+@RestController
+public class ImportController implements LoggingWeb {
+
+    private final ImportService service;
+
+    public ImportController(ImportService service) {
+        this.service = service;
+    }
+
+    /**
+     * @param target one of {@code users}, {@code projects}, {@code companies} or {@code crs}
+     * @return report of import, {@code 404} for unknown target or {@code 415} if body is neither {@code text/csv}
+     * nor {@code application/json}
+     */
+    @RequestMapping(method = RequestMethod.POST, path = "/import/{target}")
+    public ResponseEntity<ImportReport> importRows(@PathVariable String target, HttpServletRequest request)
+            throws IOException {
+        Target table;
+        try {
+            table = Target.valueOf(target.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        ImportFormat format = ImportFormat.of(request.getContentType());
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).build();
+        }
+        ImportReport report;
+        try (Reader input = request.getReader()) {
+            report = service.importRows(table, format, input);
+        }
+        log.info("Import by " + request.getRemoteUser() + " finished: " + report + ".");
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(report);
+    }
+}
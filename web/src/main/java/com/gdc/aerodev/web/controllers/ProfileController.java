@@ -1,15 +1,17 @@
 package com.gdc.aerodev.web.controllers;
 
-import com.gdc.aerodev.model.User;
-import com.gdc.aerodev.service.OfferService;
-import com.gdc.aerodev.service.ProjectService;
+import com.gdc.aerodev.repository.postgresql.ProfileView;
+import com.gdc.aerodev.service.ProfileService;
 import com.gdc.aerodev.service.UserService;
-import com.gdc.aerodev.service.impl.ProjectServiceImpl;
-import com.gdc.aerodev.service.impl.UserServiceImpl;
+import com.gdc.aerodev.service.exception.ServiceException;
 import com.gdc.aerodev.web.logging.LoggingWeb;
+import com.gdc.aerodev.web.security.SessionPrincipal;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletRequest;
@@ -18,32 +20,70 @@ import javax.servlet.http.HttpSession;
 @Controller
 public class ProfileController implements LoggingWeb {
 
+    private static final String PROJECTS_URL = "/profile/projects";
+    private static final String OFFERS_URL = "/profile/offers";
+
     private final UserService usrService;
-    private final ProjectService prjService;
-    private final OfferService offService;
+    private final ProfileService profileService;
 
-    public ProfileController(UserService usrService, ProjectService prjService, OfferService offService) {
+    public ProfileController(UserService usrService, ProfileService profileService) {
         this.usrService = usrService;
-        this.prjService = prjService;
-        this.offService = offService;
+        this.profileService = profileService;
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/profile")
     public ModelAndView profile(HttpSession session) {
-        User user = (User) session.getAttribute("client");
-        log.debug("Received user '" + user.getUserName() + "'.");
+        SessionPrincipal client = SessionPrincipal.of(session);
+        log.debug("Received user '" + client.getName() + "'.");
+        ProfileView profile = profileService.getProfile(client.getId());
         ModelAndView mav = new ModelAndView("profile");
-        mav.addObject("user", user);
-        mav.addObject("prjs", prjService.getByUserId(user));
-        mav.addObject("offs", offService.getByUserId(user.getUserId()));
+        mav.addObject("user", profile.getUser());
+        mav.addObject("prjs", profile.getProjects());
+        mav.addObject("prjsUrl", PROJECTS_URL);
+        mav.addObject("offs", profile.getOffers());
+        mav.addObject("offsUrl", OFFERS_URL);
+        return mav;
+    }
+
+    /**
+     * @param after cursor of page from "More" row of previous page
+     * @return rows of next page of client's projects
+     */
+    @RequestMapping(method = RequestMethod.GET, path = PROJECTS_URL)
+    public ModelAndView projects(HttpSession session, @RequestParam String after) {
+        SessionPrincipal client = SessionPrincipal.of(session);
+        ModelAndView mav = new ModelAndView("fragments/tabs :: project_rows");
+        try {
+            mav.addObject("prjs", profileService.getProjects(client.getId(), after));
+        } catch (ServiceException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        mav.addObject("prjsUrl", PROJECTS_URL);
+        return mav;
+    }
+
+    /**
+     * @param after cursor of page from "More" row of previous page
+     * @return rows of next page of offers to client
+     */
+    @RequestMapping(method = RequestMethod.GET, path = OFFERS_URL)
+    public ModelAndView offers(HttpSession session, @RequestParam String after) {
+        SessionPrincipal client = SessionPrincipal.of(session);
+        ModelAndView mav = new ModelAndView("fragments/tabs :: offer_rows");
+        try {
+            mav.addObject("offs", profileService.getOffers(client.getId(), after));
+        } catch (ServiceException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        mav.addObject("offsUrl", OFFERS_URL);
         return mav;
     }
 
     @RequestMapping(method = RequestMethod.POST, path = "/profile/update")
     public String updateInfo(HttpServletRequest request) {
-        User user = (User) request.getSession().getAttribute("client");
+        SessionPrincipal client = SessionPrincipal.of(request.getSession());
         usrService.updateInfo(
-                user.getUserId(),
+                client.getId(),
                 request.getParameter("first_name"),
                 request.getParameter("last_name"),
                 request.getParameter("biography"),
@@ -1,26 +1,32 @@
 package com.gdc.aerodev.web.controllers;
 
-import com.gdc.aerodev.model.Avatar;
-import com.gdc.aerodev.model.Project;
-import com.gdc.aerodev.model.ProjectImage;
-import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.ProjectPageView;
+import com.gdc.aerodev.service.PopularityService;
 import com.gdc.aerodev.service.ProjectContentService;
+import com.gdc.aerodev.service.ProjectFileService;
 import com.gdc.aerodev.service.ProjectImageService;
 import com.gdc.aerodev.service.ProjectService;
 import com.gdc.aerodev.service.UserService;
+import com.gdc.aerodev.service.ViewCountService;
 import com.gdc.aerodev.web.logging.LoggingWeb;
-import org.springframework.http.*;
+import com.gdc.aerodev.web.media.MediaWriter;
+import com.gdc.aerodev.web.security.SessionPrincipal;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.io.InputStream;
 
 @Controller
 public class ProjectController implements LoggingWeb{
@@ -28,50 +34,64 @@ public class ProjectController implements LoggingWeb{
     private final ProjectService prj_service;
     private final ProjectContentService contentService;
     private final ProjectImageService imageService;
+    private final ProjectFileService fileService;
     private final UserService usr_service;
+    private final MediaWriter mediaWriter;
+    private final PopularityService popularity;
+    private final ViewCountService viewCounter;
 
-    public ProjectController(ProjectService prj_service, ProjectContentService contentService, ProjectImageService imageService, UserService usr_service) {
+    public ProjectController(ProjectService prj_service, ProjectContentService contentService, ProjectImageService imageService, ProjectFileService fileService, UserService usr_service, MediaWriter mediaWriter, PopularityService popularity, ViewCountService viewCounter) {
         this.prj_service = prj_service;
         this.contentService = contentService;
         this.imageService = imageService;
+        this.fileService = fileService;
         this.usr_service = usr_service;
+        this.mediaWriter = mediaWriter;
+        this.popularity = popularity;
+        this.viewCounter = viewCounter;
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/project/{id}")
     public ModelAndView project(@PathVariable Long id, HttpSession session){
+        ProjectPageView page = prj_service.getPage(id);
+        if (page == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no project with id " + id);
+        }
         ModelAndView mav = new ModelAndView("project");
-        Project project = prj_service.getProject(id);
-        User user = (User) session.getAttribute("client");
-        log.debug("Received project '" + project.getProjectName() + "'.");
-        mav.addObject("prj", project);
-        mav.addObject("isOwner", prj_service.isOwner(project, user));
-        mav.addObject("ownerName", usr_service.getUser(project.getOwner().getUserId()).getUserName());
-        mav.addObject("content", contentService.get(id));
-        mav.addObject("images", imageService.getAll(id));
+        SessionPrincipal client = SessionPrincipal.of(session);
+        log.debug("Received project '" + page.getProjectName() + "'.");
+        mav.addObject("prj", page);
+        mav.addObject("isOwner", client != null && client.is(page.getOwnerId()));
+        mav.addObject("images", page.getImageIds());
+        mav.addObject("files", page.getFiles());
+        viewCounter.countProjectView(id);
         return mav;
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/project/logo/{projectId}")
-    public ResponseEntity<byte[]> getLogo(@PathVariable Long projectId){
-        HttpHeaders headers = new HttpHeaders();
-        headers.setCacheControl(CacheControl.noCache().getHeaderValue());
-        return new ResponseEntity<>(contentService.get(projectId).getProjectLogo(), headers, HttpStatus.OK);
+    public void getLogo(@PathVariable Long projectId, @RequestParam(required = false) String size,
+                        HttpServletRequest request, HttpServletResponse response) throws IOException {
+        mediaWriter.writeImage(contentService.describeLogo(projectId), size, MediaWriter.REVALIDATE, request, response);
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/project/image/{imageId}")
-    public ResponseEntity<byte[]> getImage(@PathVariable Long imageId){
-        HttpHeaders headers = new HttpHeaders();
-        ProjectImage image = imageService.get(imageId);
-        headers.setCacheControl(CacheControl.noCache().getHeaderValue());
-        headers.setContentType(MediaType.valueOf(image.getContentType()));
-        return new ResponseEntity<>(image.getProjectImage(), headers, HttpStatus.OK);
+    public void getImage(@PathVariable Long imageId, @RequestParam(required = false) String size,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaMeta image = imageService.describe(imageId);
+        if (image == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        mediaWriter.writeImage(image, size, MediaWriter.IMMUTABLE, request, response);
     }
 
     @RequestMapping(method = RequestMethod.POST, path = "/project/logo")
     public String setLogo(@RequestParam("file") MultipartFile file, HttpServletRequest request) throws IOException {
         Long projectId = Long.valueOf(request.getParameter("project-id"));
         log.debug("Received project id: '" + projectId + "' for logo uploading.");
-        contentService.updateProjectContent(projectId, file.getBytes(), "");
+        try (InputStream logo = file.getInputStream()) {
+            contentService.updateLogo(projectId, logo);
+        }
         return "redirect:/project/" + projectId;
     }
 
@@ -89,7 +109,10 @@ public class ProjectController implements LoggingWeb{
     public String uploadImage(@RequestParam("image") MultipartFile file, HttpServletRequest request) throws IOException {
         Long projectId = Long.valueOf(request.getParameter("project-id"));
         log.debug("Received project id: '" + projectId + "'for image uploading.");
-        Long id = imageService.createImage(projectId, file.getBytes(), file.getContentType());
+        Long id;
+        try (InputStream image = file.getInputStream()) {
+            id = imageService.createImage(projectId, image, file.getContentType());
+        }
         log.info("Saved new image with id: " + id + " for project with id: " + projectId + ".");
         return "redirect:/project/" + projectId;
     }
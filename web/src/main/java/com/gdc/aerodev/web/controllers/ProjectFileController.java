@@ -0,0 +1,152 @@
+package com.gdc.aerodev.web.controllers;
+
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.ProjectFileService;
+import com.gdc.aerodev.service.ProjectService;
+import com.gdc.aerodev.service.exception.ServiceException;
+import com.gdc.aerodev.service.upload.UploadStatus;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import com.gdc.aerodev.web.media.MediaWriter;
+import com.gdc.aerodev.web.media.TransferMetrics;
+import com.gdc.aerodev.web.security.SessionPrincipal;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.NoSuchElementException;
+
+/**
+ * Resumable upload and download of project files. Client starts upload declaring size of file, then sends chunks as
+ * raw bodies of {@code PUT} with their offsets (in any order and in parallel), after interruption asks for status
+ * with missing ranges and sends them again, finally commits upload. Download supports {@code Range} requests, so
+ * file can be fetched by parallel segments as well.
+ *
+ * @author Yusupov Danil
+ * @see ProjectFileService
+ */
+@RestController
+public class ProjectFileController implements LoggingWeb {
+
+    private final ProjectFileService fileService;
+    private final ProjectService prj_service;
+    private final MediaWriter mediaWriter;
+    private final TransferMetrics metrics;
+
+    public ProjectFileController(ProjectFileService fileService, ProjectService prj_service, MediaWriter mediaWriter,
+                                 TransferMetrics metrics) {
+        this.fileService = fileService;
+        this.prj_service = prj_service;
+        this.mediaWriter = mediaWriter;
+        this.metrics = metrics;
+    }
+
+    @RequestMapping(method = {RequestMethod.GET, RequestMethod.HEAD}, path = "/project/file/{fileId}")
+    public void download(@PathVariable Long fileId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        MediaMeta file = fileService.describe(fileId);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String name = fileService.getFileName(fileId);
+        ContentDisposition disposition = name == null
+                ? ContentDisposition.builder("attachment").build()
+                : ContentDisposition.builder("attachment").filename(name, StandardCharsets.UTF_8).build();
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.toString());
+        long started = metrics.begin();
+        long sent = 0;
+        boolean completed = false;
+        try {
+            // content of file never changes under it's id
+            sent = mediaWriter.write(file, MediaWriter.IMMUTABLE, request, response);
+            completed = true;
+        } finally {
+            metrics.end(file, started, sent, completed);
+        }
+    }
+
+    @RequestMapping(method = RequestMethod.POST, path = "/project/{projectId}/upload")
+    public ResponseEntity<UploadStatus> startUpload(@PathVariable Long projectId, @RequestParam String name,
+                                                    @RequestParam(required = false) String type,
+                                                    @RequestParam long size, HttpSession session) {
+        SessionPrincipal client = SessionPrincipal.of(session);
+        Project project = prj_service.getProject(projectId);
+        if (project == null || client == null || !prj_service.isOwner(project, client.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        UploadStatus status = fileService.startUpload(projectId, client.getId(), name, type, size);
+        log.info("Started upload " + status.getUploadId() + " of '" + name + "' for project with id: " + projectId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(status);
+    }
+
+    @RequestMapping(method = RequestMethod.GET, path = "/project/upload/{uploadId}")
+    public ResponseEntity<UploadStatus> getUpload(@PathVariable String uploadId, HttpSession session) {
+        UploadStatus status = fileService.getUpload(uploadId);
+        if (status == null || !isUploader(status, session)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(status);
+    }
+
+    @RequestMapping(method = RequestMethod.PUT, path = "/project/upload/{uploadId}")
+    public ResponseEntity<Object> writeChunk(@PathVariable String uploadId, @RequestParam long offset,
+                                             HttpServletRequest request, HttpSession session) throws IOException {
+        UploadStatus status = fileService.getUpload(uploadId);
+        if (status == null || !isUploader(status, session)) {
+            return ResponseEntity.notFound().build();
+        }
+        long written;
+        try (InputStream chunk = request.getInputStream()) {
+            written = fileService.writeChunk(uploadId, offset, chunk);
+        }
+        log.debug("Received " + written + " bytes at " + offset + " of upload " + uploadId);
+        return ResponseEntity.ok(Collections.singletonMap("written", written));
+    }
+
+    @RequestMapping(method = RequestMethod.POST, path = "/project/upload/{uploadId}/commit")
+    public ResponseEntity<Object> commitUpload(@PathVariable String uploadId, HttpSession session) {
+        UploadStatus status = fileService.getUpload(uploadId);
+        if (status == null || !isUploader(status, session)) {
+            return ResponseEntity.notFound().build();
+        }
+        Long fileId = fileService.commitUpload(uploadId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(Collections.singletonMap("fileId", fileId));
+    }
+
+    @RequestMapping(method = RequestMethod.DELETE, path = "/project/upload/{uploadId}")
+    public ResponseEntity<Void> abortUpload(@PathVariable String uploadId, HttpSession session) {
+        UploadStatus status = fileService.getUpload(uploadId);
+        if (status == null || !isUploader(status, session)) {
+            return ResponseEntity.notFound().build();
+        }
+        fileService.abortUpload(uploadId);
+        log.info("Aborted upload " + uploadId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<Object> rejected(ServiceException e) {
+        log.debug("Rejected upload request: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("error", e.getMessage()));
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Void> missing() {
+        return ResponseEntity.notFound().build();
+    }
+
+    private boolean isUploader(UploadStatus status, HttpSession session) {
+        SessionPrincipal client = SessionPrincipal.of(session);
+        return client != null && client.is(status.getUserId());
+    }
+}
@@ -1,37 +1,57 @@
 package com.gdc.aerodev.web.controllers;
 
-import com.gdc.aerodev.model.User;
-import com.gdc.aerodev.service.OfferService;
-import com.gdc.aerodev.service.ProjectService;
-import com.gdc.aerodev.service.UserService;
-import com.gdc.aerodev.service.impl.ProjectServiceImpl;
-import com.gdc.aerodev.service.impl.UserServiceImpl;
+import com.gdc.aerodev.repository.postgresql.ProfileView;
+import com.gdc.aerodev.service.ProfileService;
+import com.gdc.aerodev.service.ViewCountService;
+import com.gdc.aerodev.service.exception.ServiceException;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.ModelAndView;
 
 @RestController
 public class UserController {
 
-    private final UserService usr_service;
-    private final ProjectService prj_service;
-    private final OfferService off_service;
+    private final ProfileService profileService;
+    private final ViewCountService viewCounter;
 
-    public UserController(UserService usr_service, ProjectService prj_service, OfferService off_service) {
-        this.usr_service = usr_service;
-        this.prj_service = prj_service;
-        this.off_service = off_service;
+    public UserController(ProfileService profileService, ViewCountService viewCounter) {
+        this.profileService = profileService;
+        this.viewCounter = viewCounter;
     }
 
     @RequestMapping(method = RequestMethod.GET, path = "/user/{id}")
     public ModelAndView getUser(@PathVariable String id){
-        User user = usr_service.getUser(Long.valueOf(id));
+        ProfileView profile = profileService.getProfile(Long.valueOf(id));
+        if (profile == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "There is no user with id " + id);
+        }
         ModelAndView mav = new ModelAndView("user");
-        mav.addObject("user", user);
-        mav.addObject("prjs", prj_service.getByUserId(user));
-        mav.addObject("offs", off_service.getByUserId(Long.valueOf(id)));
+        mav.addObject("user", profile.getUser());
+        mav.addObject("prjs", profile.getProjects());
+        mav.addObject("prjsUrl", "/user/" + id + "/projects");
+        mav.addObject("offs", profile.getOffers());
+        viewCounter.countUserView(profile.getUser().getUserId());
+        return mav;
+    }
+
+    /**
+     * @param after cursor of page from "More" row of previous page
+     * @return rows of next page of user's projects
+     */
+    @RequestMapping(method = RequestMethod.GET, path = "/user/{id}/projects")
+    public ModelAndView getProjects(@PathVariable String id, @RequestParam String after) {
+        ModelAndView mav = new ModelAndView("fragments/tabs :: project_rows");
+        try {
+            mav.addObject("prjs", profileService.getProjects(Long.valueOf(id), after));
+        } catch (ServiceException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        mav.addObject("prjsUrl", "/user/" + id + "/projects");
         return mav;
     }
 }
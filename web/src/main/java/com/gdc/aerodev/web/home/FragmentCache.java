@@ -0,0 +1,188 @@
+package com.gdc.aerodev.web.home;
+
+import com.gdc.aerodev.service.event.ContentChangedEvent;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps HTML of rendered template fragments, so fragments shared by all visitors are rendered by Thymeleaf only
+ * once. Entry is keyed by fragment and parameters, which define it's content (e.g. ids of shown entities), and is
+ * dropped when content of one of {@link Fragment}s is written by services. Every fragment has generation, which is
+ * increased by invalidation. Caller takes generation before it reads content of fragment, so HTML rendered from
+ * content read before invalidation is never stored.
+ *
+ * @author Yusupov Danil
+ * @see ContentChangedEvent
+ */
+@Component
+public class FragmentCache implements LoggingWeb {
+
+    /**
+     * Cached fragments and kinds of content they show
+     */
+    public enum Fragment {
+        TOP_PROJECTS("fragments/home_sections", "top_projects", ContentChangedEvent.Subject.PROJECT),
+        TOP_USERS("fragments/home_sections", "top_users", ContentChangedEvent.Subject.USER,
+                ContentChangedEvent.Subject.AVATAR);
+
+        private final String template;
+        private final Set<String> selectors;
+        private final Set<ContentChangedEvent.Subject> subjects;
+
+        Fragment(String template, String selector, ContentChangedEvent.Subject... subjects) {
+            this.template = template;
+            this.selectors = Collections.singleton(selector);
+            this.subjects = EnumSet.copyOf(Arrays.asList(subjects));
+        }
+    }
+
+    private final ITemplateEngine templateEngine;
+    private final int maxEntries;
+    private final Map<Key, String> entries;
+    private final Map<Fragment, AtomicLong> generations = new EnumMap<>(Fragment.class);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public FragmentCache(ITemplateEngine templateEngine,
+                         @Value("${aerodev.fragments.max-entries:64}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.maxEntries = maxEntries;
+        this.entries = Collections.synchronizedMap(new LinkedHashMap<Key, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                return size() > FragmentCache.this.maxEntries;
+            }
+        });
+        for (Fragment fragment : Fragment.values()) {
+            generations.put(fragment, new AtomicLong());
+        }
+    }
+
+    /**
+     * Gives current generation of fragment, it must be taken before content of fragment is read
+     *
+     * @param fragment cached fragment
+     * @return generation to pass to {@link #get(Fragment, long, List, Map, HttpServletRequest, HttpServletResponse)}
+     */
+    public long generation(Fragment fragment) {
+        return generations.get(fragment).get();
+    }
+
+    /**
+     * Gives HTML of fragment rendering it, if there is no valid one
+     *
+     * @param fragment   rendered fragment
+     * @param generation generation of fragment taken by {@link #generation(Fragment)} before content was read
+     * @param key        parameters, which define content of fragment
+     * @param variables  variables of fragment
+     * @param request    current request, it's used for building links only
+     * @param response   current response, it's used for building links only
+     * @return HTML of fragment
+     */
+    public String get(Fragment fragment, long generation, List<?> key, Map<String, Object> variables,
+                      HttpServletRequest request, HttpServletResponse response) {
+        Key cacheKey = new Key(fragment, key);
+        String html = entries.get(cacheKey);
+        if (html != null) {
+            hits.increment();
+            return html;
+        }
+        misses.increment();
+        html = render(fragment, variables, request, response);
+        // content could be changed since it was read, this HTML is served once but isn't kept
+        synchronized (entries) {
+            if (generations.get(fragment).get() == generation) {
+                entries.put(cacheKey, html);
+            }
+        }
+        return html;
+    }
+
+    /**
+     * Drops all entries of fragments showing changed content
+     */
+    @EventListener
+    public void onContentChanged(ContentChangedEvent event) {
+        for (Fragment fragment : Fragment.values()) {
+            if (fragment.subjects.contains(event.getSubject())) {
+                invalidate(fragment);
+            }
+        }
+    }
+
+    /**
+     * Drops all entries of fragment
+     */
+    public void invalidate(Fragment fragment) {
+        synchronized (entries) {
+            generations.get(fragment).incrementAndGet();
+            entries.keySet().removeIf(key -> key.fragment == fragment);
+        }
+        log.debug("Invalidated cached fragment " + fragment + ".");
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Renders fragment by template engine. URLs aren't encoded with session id, so HTML doesn't depend on visitor.
+     */
+    private String render(Fragment fragment, Map<String, Object> variables, HttpServletRequest request,
+                          HttpServletResponse response) {
+        HttpServletResponse shared = new HttpServletResponseWrapper(response) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+        };
+        WebContext context = new WebContext(request, shared, request.getServletContext(), Locale.ROOT, variables);
+        return templateEngine.process(new TemplateSpec(fragment.template, fragment.selectors, TemplateMode.HTML, null),
+                context);
+    }
+
+    private static class Key {
+        private final Fragment fragment;
+        private final List<?> parameters;
+
+        private Key(Fragment fragment, List<?> parameters) {
+            this.fragment = fragment;
+            this.parameters = new ArrayList<>(parameters);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return fragment == key.fragment && parameters.equals(key.parameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * fragment.hashCode() + parameters.hashCode();
+        }
+    }
+}
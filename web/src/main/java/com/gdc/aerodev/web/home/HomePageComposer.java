@@ -0,0 +1,162 @@
+package com.gdc.aerodev.web.home;
+
+import com.gdc.aerodev.external.spacex.LaunchFeed;
+import com.gdc.aerodev.model.Project;
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.service.ProjectService;
+import com.gdc.aerodev.service.UserService;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.ModelAndView;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Builds model of home page. Sections don't depend on each other, so they are fetched concurrently on own
+ * executor and page waits only for the slowest of them. Every section has own timeout: section, which isn't ready
+ * in time or fails, is replaced by it's fallback and named in {@code degraded} set of model, so template shows
+ * placeholder instead of failing the whole page. Cards of top projects and users are taken from
+ * {@code FragmentCache}, so they are rendered only when shown entities or their content change.
+ *
+ * @author Yusupov Danil
+ */
+@Component
+public class HomePageComposer implements LoggingWeb {
+
+    private final UserService usr_service;
+    private final ProjectService prj_service;
+    private final LaunchFeed launchFeed;
+    private final FragmentCache fragmentCache;
+    private final ThreadPoolExecutor executor;
+    private final long usersTimeout;
+    private final long projectsTimeout;
+    private final long launchTimeout;
+
+    public HomePageComposer(UserService usr_service, ProjectService prj_service, LaunchFeed launchFeed,
+                            FragmentCache fragmentCache,
+                            @Value("${aerodev.home.threads:8}") int threads,
+                            @Value("${aerodev.home.queue:64}") int queue,
+                            @Value("${aerodev.home.timeout.users:500}") long usersTimeout,
+                            @Value("${aerodev.home.timeout.projects:500}") long projectsTimeout,
+                            @Value("${aerodev.home.timeout.launch:100}") long launchTimeout) {
+        this.usr_service = usr_service;
+        this.prj_service = prj_service;
+        this.launchFeed = launchFeed;
+        this.fragmentCache = fragmentCache;
+        this.usersTimeout = usersTimeout;
+        this.projectsTimeout = projectsTimeout;
+        this.launchTimeout = launchTimeout;
+        AtomicInteger count = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue), r -> {
+            Thread thread = new Thread(r, "home-section-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Fetches all sections concurrently and waits until every section is ready or it's timeout is over
+     *
+     * @param request  current request, it's used for rendering cached fragments
+     * @param response current response, it's used for rendering cached fragments
+     * @return model of {@code home} view
+     */
+    @SuppressWarnings("unchecked")
+    public ModelAndView compose(HttpServletRequest request, HttpServletResponse response) {
+        long started = System.nanoTime();
+        // generations are taken before sections are read, so cards of content changed meanwhile aren't kept
+        long projectsGeneration = fragmentCache.generation(FragmentCache.Fragment.TOP_PROJECTS);
+        long usersGeneration = fragmentCache.generation(FragmentCache.Fragment.TOP_USERS);
+        Map<String, Section<?>> sections = new LinkedHashMap<>();
+        sections.put("top_users", submit(usr_service::getTopThree, Collections.emptyList(), usersTimeout));
+        sections.put("top_prj", submit(prj_service::getTopThree, Collections.emptyList(), projectsTimeout));
+        sections.put("spaceX", submit(launchFeed::getLatest, Collections.emptyMap(), launchTimeout));
+        ModelAndView mav = new ModelAndView("home");
+        Set<String> degraded = new HashSet<>();
+        sections.forEach((name, section) -> mav.addObject(name, section.await(name, started, degraded)));
+        mav.addObject("degraded", degraded);
+        List<Project> projects = (List<Project>) mav.getModel().get("top_prj");
+        List<User> users = (List<User>) mav.getModel().get("top_users");
+        Map<String, String> fragments = new HashMap<>();
+        fragments.put("top_prj", fragmentCache.get(FragmentCache.Fragment.TOP_PROJECTS, projectsGeneration,
+                projects.stream().map(Project::getProjectId).collect(Collectors.toList()),
+                Collections.singletonMap("projects", projects), request, response));
+        fragments.put("top_users", fragmentCache.get(FragmentCache.Fragment.TOP_USERS, usersGeneration,
+                users.stream().map(User::getUserId).collect(Collectors.toList()),
+                Collections.singletonMap("users", users), request, response));
+        mav.addObject("fragments", fragments);
+        log.debug("Composed home page in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms"
+                + (degraded.isEmpty() ? "." : ", degraded sections: " + degraded));
+        return mav;
+    }
+
+    private <T> Section<T> submit(Supplier<T> supplier, T fallback, long timeoutMillis) {
+        Future<T> future;
+        try {
+            future = executor.submit(supplier::get);
+        } catch (RejectedExecutionException e) {
+            future = null;
+        }
+        return new Section<>(future, fallback, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Section of page being fetched
+     */
+    private class Section<T> {
+
+        private final Future<T> future;
+        private final T fallback;
+        private final long timeoutNanos;
+
+        private Section(Future<T> future, T fallback, long timeoutNanos) {
+            this.future = future;
+            this.fallback = fallback;
+            this.timeoutNanos = timeoutNanos;
+        }
+
+        /**
+         * Waits for section until it's timeout counted from start of page is over
+         *
+         * @return (0) fetched section or <br>
+         * (1) fallback if section failed or isn't ready in time
+         */
+        private T await(String name, long started, Set<String> degraded) {
+            if (future == null) {
+                log.warn("Section '" + name + "' of home page is rejected, executor is full.");
+                degraded.add(name);
+                return fallback;
+            }
+            try {
+                long remaining = started + timeoutNanos - System.nanoTime();
+                return future.get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Section '" + name + "' of home page isn't ready in "
+                        + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms.");
+            } catch (ExecutionException e) {
+                log.warn("Section '" + name + "' of home page failed: " + e.getCause());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+            degraded.add(name);
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.gdc.aerodev.web.media;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.service.DerivativeService;
+import com.gdc.aerodev.service.MediaService;
+import com.gdc.aerodev.service.image.ImageSize;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes media content directly to servlet output stream. Supports {@code Range} requests with one or several
+ * ranges, so clients can resume broken downloads and fetch large content by parallel segments. Content kept in blob
+ * store is handed to Undertow as file channel, so it's sent by {@code sendfile} without copying through heap. Conditional requests
+ * are answered by {@code 304 Not Modified} using validators from {@code MediaMeta}, so content isn't read at all.
+ *
+ * @author Yusupov Danil
+ * @see MediaService
+ */
+@Component
+public class MediaWriter implements LoggingWeb {
+
+    /**
+     * Policy for content which can be changed under the same URL: client keeps it, but revalidates every time
+     */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * Policy for content which never changes under the same URL
+     */
+    public static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate();
+
+    /**
+     * Maximal number of ranges in one request, {@code Range} header with more ranges is ignored
+     */
+    public static final int MAX_RANGES = 16;
+
+    private final MediaService service;
+    private final DerivativeService derivativeService;
+
+    public MediaWriter(MediaService service, DerivativeService derivativeService) {
+        this.service = service;
+        this.derivativeService = derivativeService;
+    }
+
+    /**
+     * Writes image scaled to requested size. Original is written until derivative is ready, it's never cached for
+     * long, so client gets derivative as soon as it's generated.
+     *
+     * @param original     described image
+     * @param size         name of {@code ImageSize} or {@code null} for original
+     * @param cacheControl caching policy of image
+     * @see #write(MediaMeta, CacheControl, HttpServletRequest, HttpServletResponse)
+     */
+    public long writeImage(MediaMeta original, String size, CacheControl cacheControl, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        ImageSize imageSize = ImageSize.of(size);
+        if (imageSize == null) {
+            return write(original, cacheControl, request, response);
+        }
+        MediaMeta derivative = derivativeService.find(original, imageSize);
+        return derivative == null
+                ? write(original, REVALIDATE, request, response)
+                : write(derivative, cacheControl, request, response);
+    }
+
+    /**
+     * Writes content, which can be changed under the same URL
+     *
+     * @see #write(MediaMeta, CacheControl, HttpServletRequest, HttpServletResponse)
+     */
+    public long write(MediaMeta media, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        return write(media, REVALIDATE, request, response);
+    }
+
+    /**
+     * Writes headers and content (or it's requested ranges) to response. Nothing but headers is written, if client's
+     * copy is still valid. Several ranges are sorted and overlapping or adjacent ones are merged, then they are sent
+     * as {@code multipart/byteranges}. Header with more than {@link #MAX_RANGES} ranges is ignored and the whole
+     * content is sent.
+     *
+     * @param media        described content
+     * @param cacheControl caching policy of content
+     * @param request      incoming request with optional {@code Range} and conditional headers
+     * @param response     target response
+     * @return number of sent bytes of content
+     * @throws IOException if client connection fails
+     */
+    public long write(MediaMeta media, CacheControl cacheControl, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        long modified = media.getModified() == null ? -1 : media.getModified().getTime();
+        if (new ServletWebRequest(request, response).checkNotModified(media.getEtag(), modified)) {
+            return 0;
+        }
+        long length = media.getLength();
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (media.getContentType() != null) {
+            response.setContentType(media.getContentType());
+        }
+        List<HttpRange> ranges = isRangeValid(media, request.getHeader(HttpHeaders.IF_RANGE))
+                ? parseRanges(request.getHeader(HttpHeaders.RANGE))
+                : Collections.emptyList();
+        List<long[]> bounds = satisfiable(ranges, length);
+        if (!ranges.isEmpty() && bounds.isEmpty()) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return 0;
+        }
+        if (bounds.size() > 1) {
+            return writeRanges(media, bounds, request, response);
+        }
+        long start = 0;
+        long end = length - 1;
+        if (bounds.size() == 1) {
+            start = bounds.get(0)[0];
+            end = bounds.get(0)[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        long count = end - start + 1;
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(count));
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return 0;
+        }
+        Path file = service.locate(media);
+        if (file != null && transfer(file, start, end, length, response)) {
+            return count;
+        }
+        return service.copy(media, start, count, response.getOutputStream());
+    }
+
+    /**
+     * Writes several ranges as parts of {@code multipart/byteranges} body. Length of body is known in advance, so
+     * client can track progress of every part. Parts of blob are sent from one file channel opened once, parts of
+     * database content are copied by bounded slices.
+     */
+    private long writeRanges(MediaMeta media, List<long[]> bounds, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> headers = new ArrayList<>(bounds.size());
+        long total = 0;
+        for (long[] range : bounds) {
+            byte[] header = ("\r\n--" + boundary + "\r\n"
+                    + (media.getContentType() == null
+                    ? "" : HttpHeaders.CONTENT_TYPE + ": " + media.getContentType() + "\r\n")
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + range[0] + "-" + range[1] + "/" + media.getLength()
+                    + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            headers.add(header);
+            total += header.length + range[1] - range[0] + 1;
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        total += closing.length;
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setHeader(HttpHeaders.CONTENT_LENGTH, String.valueOf(total));
+        if ("HEAD".equals(request.getMethod())) {
+            return 0;
+        }
+        OutputStream out = response.getOutputStream();
+        Path file = service.locate(media);
+        long sent = 0;
+        if (file == null) {
+            for (int i = 0; i < bounds.size(); i++) {
+                long[] range = bounds.get(i);
+                out.write(headers.get(i));
+                sent += service.copy(media, range[0], range[1] - range[0] + 1, out);
+            }
+        } else {
+            WritableByteChannel target = Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(file)) {
+                for (int i = 0; i < bounds.size(); i++) {
+                    long[] range = bounds.get(i);
+                    out.write(headers.get(i));
+                    sent += copyPart(channel, range[0], range[1] + 1, target);
+                }
+            }
+        }
+        out.write(closing);
+        return sent;
+    }
+
+    /**
+     * Sends bytes from {@code start} inclusive to {@code end} exclusive of file
+     *
+     * @return number of sent bytes, it's less than requested if file was truncated
+     */
+    private long copyPart(FileChannel channel, long start, long end, WritableByteChannel target) throws IOException {
+        long position = start;
+        while (position < end) {
+            long sent = channel.transferTo(position, end - position, target);
+            if (sent <= 0) {
+                break;
+            }
+            position += sent;
+        }
+        return position - start;
+    }
+
+    /**
+     * Converts requested ranges to bounds of content, unsatisfiable ranges are skipped. Bounds are sorted by start
+     * and overlapping or adjacent ones are merged, so no byte is sent twice.
+     *
+     * @return list of {@code [start, end]} pairs with inclusive end, ordered by start
+     */
+    private List<long[]> satisfiable(List<HttpRange> ranges, long length) {
+        List<long[]> bounds = new ArrayList<>(ranges.size());
+        for (HttpRange range : ranges) {
+            long start = range.getRangeStart(length);
+            if (start < length) {
+                bounds.add(new long[]{start, range.getRangeEnd(length)});
+            }
+        }
+        bounds.sort(Comparator.comparingLong(range -> range[0]));
+        List<long[]> merged = new ArrayList<>(bounds.size());
+        for (long[] range : bounds) {
+            long[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && range[0] <= last[1] + 1) {
+                last[1] = Math.max(last[1], range[1]);
+            } else {
+                merged.add(range);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Sends file by Undertow's zero-copy transfer. Undertow sends channel from it's position to the end, so only
+     * ranges reaching end of content can be sent this way.
+     *
+     * @return (0) {@code true} if file was sent or <br>
+     * (1) {@code false} if caller should copy content by itself
+     */
+    private boolean transfer(Path file, long start, long end, long length, HttpServletResponse response)
+            throws IOException {
+        ServletRequestContext context = ServletRequestContext.current();
+        if (end != length - 1 || context == null
+                || !(context.getOriginalResponse().getOutputStream() instanceof ServletOutputStreamImpl)) {
+            return false;
+        }
+        ServletOutputStreamImpl out = (ServletOutputStreamImpl) context.getOriginalResponse().getOutputStream();
+        try (FileChannel channel = FileChannel.open(file)) {
+            if (channel.size() != length) {
+                log.warn("Size of blob '" + file.getFileName() + "' differs from described one.");
+                return false;
+            }
+            channel.position(start);
+            // commits headers through wrappers of filters, which add their headers on commit
+            response.flushBuffer();
+            out.transferFrom(channel);
+        }
+        return true;
+    }
+
+    /**
+     * Checks {@code If-Range} header. Only strong validator is compared, so range of content with unknown or changed
+     * validator is ignored and the whole content is sent.
+     */
+    private boolean isRangeValid(MediaMeta media, String ifRange) {
+        return ifRange == null || (media.getEtag() != null && ifRange.equals("\"" + media.getEtag() + "\""));
+    }
+
+    /**
+     * Parses {@code Range} header. Malformed header and header with more than {@link #MAX_RANGES} ranges are ignored
+     * as it's allowed by RFC 7233, so the whole content will be sent.
+     */
+    private List<HttpRange> parseRanges(String header) {
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(header);
+        } catch (IllegalArgumentException e) {
+            log.debug("Ignored malformed range header '" + header + "'.");
+            return Collections.emptyList();
+        }
+        if (ranges.size() > MAX_RANGES) {
+            log.debug("Ignored range header of " + ranges.size() + " ranges.");
+            return Collections.emptyList();
+        }
+        return ranges;
+    }
+}
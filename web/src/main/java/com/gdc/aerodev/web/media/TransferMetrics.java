@@ -0,0 +1,104 @@
+package com.gdc.aerodev.web.media;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures downloads. Throughput of every transfer is logged on {@code DEBUG} level, totals are reported
+ * periodically and available by getters.
+ *
+ * @author Yusupov Danil
+ * @see MediaWriter
+ */
+@Component
+public class TransferMetrics implements LoggingWeb {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder transfers = new LongAdder();
+    private final LongAdder aborted = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAccumulator peakThroughput = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Registers started transfer
+     *
+     * @return start time to pass to {@link #end(MediaMeta, long, long, boolean)}
+     */
+    public long begin() {
+        active.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * Registers finished transfer
+     *
+     * @param media     sent content
+     * @param started   value returned by {@link #begin()}
+     * @param sent      number of sent bytes of content
+     * @param completed {@code false} if transfer was broken
+     */
+    public void end(MediaMeta media, long started, long sent, boolean completed) {
+        long elapsed = Math.max(1, System.nanoTime() - started);
+        active.decrementAndGet();
+        transfers.increment();
+        if (!completed) {
+            aborted.increment();
+        }
+        bytes.add(sent);
+        nanos.add(elapsed);
+        long throughput = throughput(sent, elapsed);
+        peakThroughput.accumulate(throughput);
+        log.debug((completed ? "Sent " : "Broken after ") + sent + " bytes of " + media.getSource() + " with id "
+                + media.getId() + " in " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms, " + throughput / 1024
+                + " KB/s.");
+    }
+
+    public int getActive() {
+        return active.get();
+    }
+
+    public long getTransfers() {
+        return transfers.sum();
+    }
+
+    public long getAborted() {
+        return aborted.sum();
+    }
+
+    public long getBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * @return average throughput of single transfer in bytes per second
+     */
+    public long getAverageThroughput() {
+        return throughput(bytes.sum(), Math.max(1, nanos.sum()));
+    }
+
+    /**
+     * @return best throughput of single transfer in bytes per second
+     */
+    public long getPeakThroughput() {
+        return peakThroughput.get();
+    }
+
+    @Scheduled(fixedDelayString = "${aerodev.downloads.report-period:600000}")
+    public void report() {
+        log.info("Downloads: " + getTransfers() + " transfers (" + getAborted() + " broken, " + getActive()
+                + " active), " + getBytes() + " bytes, average " + getAverageThroughput() / 1024 + " KB/s, peak "
+                + getPeakThroughput() / 1024 + " KB/s.");
+    }
+
+    private static long throughput(long bytes, long nanos) {
+        return (long) (bytes * 1e9 / nanos);
+    }
+}
@@ -0,0 +1,100 @@
+package com.gdc.aerodev.web.media;
+
+import com.gdc.aerodev.web.logging.LoggingWeb;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Admits multipart uploads and raw chunks of resumable uploads only while total size of uploads in flight stays under
+ * {@code aerodev.upload.max-in-flight-bytes}. Size of upload is taken from {@code Content-Length} before body is
+ * read, so rejected upload costs nothing: client receives {@code 429 Too Many Requests} and should retry later.
+ * Upload bigger than {@code aerodev.upload.max-request-bytes} is rejected with {@code 413}, raw chunk without
+ * {@code Content-Length} is rejected with {@code 411}, since nothing else would limit its body. <br>
+ * Filter goes first: later filters, such as {@code HiddenHttpMethodFilter}, read parameters and so parse whole
+ * multipart body.
+ *
+ * @author Yusupov Danil
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class UploadAdmissionFilter extends OncePerRequestFilter implements LoggingWeb {
+
+    /**
+     * Bytes per permit of semaphore, so permits of big limits fit into {@code int}
+     */
+    private static final int PERMIT = 1024;
+
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private final long maxRequestBytes;
+    private final Semaphore inFlight;
+
+    public UploadAdmissionFilter(@Value("${aerodev.upload.max-request-bytes:21037056}") long maxRequestBytes,
+                                 @Value("${aerodev.upload.max-in-flight-bytes:104857600}") long maxInFlightBytes) {
+        this.maxRequestBytes = maxRequestBytes;
+        this.inFlight = new Semaphore(permits(Math.max(maxInFlightBytes, maxRequestBytes)));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.toLowerCase();
+        return !type.startsWith("multipart/") && !type.startsWith(OCTET_STREAM);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long length = request.getContentLengthLong();
+        if (length > maxRequestBytes) {
+            log.debug("Rejected upload of " + length + " bytes to " + request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+        if (length < 0 && request.getContentType().toLowerCase().startsWith(OCTET_STREAM)) {
+            log.debug("Rejected chunk of unknown length to " + request.getRequestURI());
+            response.sendError(HttpServletResponse.SC_LENGTH_REQUIRED);
+            return;
+        }
+        // multipart body of unknown length is limited by multipart configuration
+        int permits = permits(length < 0 ? maxRequestBytes : length);
+        if (!inFlight.tryAcquire(permits)) {
+            log.debug("Throttled upload of " + length + " bytes to " + request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(SC_TOO_MANY_REQUESTS);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.release(permits);
+        }
+    }
+
+    /**
+     * @return free capacity for uploads in bytes
+     */
+    public long getAvailableBytes() {
+        return (long) inFlight.availablePermits() * PERMIT;
+    }
+
+    private static int permits(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, (bytes + PERMIT - 1) / PERMIT);
+    }
+}
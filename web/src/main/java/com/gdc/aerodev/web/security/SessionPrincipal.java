@@ -0,0 +1,79 @@
+package com.gdc.aerodev.web.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.servlet.http.HttpSession;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Signed in user kept in {@code HttpSession}. Only identity of user is kept, so session stays small, can be
+ * serialized and replicated, and never holds detached entities. Everything else about user is taken from services,
+ * which read it through second-level cache.
+ *
+ * @author Yusupov Danil
+ */
+public final class SessionPrincipal implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Name of session attribute, which holds principal
+     */
+    public static final String ATTRIBUTE = "client";
+
+    private final Long id;
+    private final String name;
+    private final Set<String> roles;
+
+    public SessionPrincipal(Long id, String name, Collection<? extends GrantedAuthority> authorities) {
+        this.id = id;
+        this.name = name;
+        Set<String> roles = new LinkedHashSet<>();
+        for (GrantedAuthority authority : authorities) {
+            roles.add(authority.getAuthority());
+        }
+        this.roles = Collections.unmodifiableSet(roles);
+    }
+
+    /**
+     * @param session current session or {@code null}
+     * @return (0) principal of signed in user or <br>
+     * (1) {@code null} if nobody is signed in
+     */
+    public static SessionPrincipal of(HttpSession session) {
+        return session == null ? null : (SessionPrincipal) session.getAttribute(ATTRIBUTE);
+    }
+
+    /**
+     * @param userId id of user
+     * @return {@code true} if principal is user with given id
+     */
+    public boolean is(Long userId) {
+        return id.equals(userId);
+    }
+
+    public boolean hasRole(String role) {
+        return roles.contains(role);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String toString() {
+        return "SessionPrincipal{id=" + id + ", name='" + name + "', roles=" + roles + '}';
+    }
+}
@@ -0,0 +1,20 @@
+// Checks names while they are typed, input is marked invalid if name is taken.
+// Input declares checked column by attribute data-availability="user_name|user_email|project_name".
+$(document).on("input", "[data-availability]", function () {
+    var input = this;
+    clearTimeout(input.availabilityTimer);
+    input.setCustomValidity("");
+    $(input).removeClass("is-invalid");
+    if (!input.value) {
+        return;
+    }
+    input.availabilityTimer = setTimeout(function () {
+        var value = input.value;
+        $.getJSON("/availability/" + $(input).data("availability"), {value: value}, function (answer) {
+            if (input.value === value) {
+                input.setCustomValidity(answer.available ? "" : "taken");
+                $(input).toggleClass("is-invalid", !answer.available);
+            }
+        });
+    }, 200);
+});
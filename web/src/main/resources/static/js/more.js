@@ -0,0 +1,11 @@
+// Loads next page of list in place of row with "More" button.
+// Row declares URL of next page by attribute data-more, answer is rows of next page ending with own "More" row.
+$(document).on("click", "[data-more] button", function () {
+    var button = $(this).prop("disabled", true);
+    var row = button.closest("[data-more]");
+    $.get(row.data("more"), function (rows) {
+        row.replaceWith(rows);
+    }).fail(function () {
+        button.prop("disabled", false);
+    });
+});
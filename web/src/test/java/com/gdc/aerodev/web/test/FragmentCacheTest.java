@@ -0,0 +1,69 @@
+package com.gdc.aerodev.web.test;
+
+import com.gdc.aerodev.service.event.ContentChangedEvent;
+import com.gdc.aerodev.web.home.FragmentCache;
+import com.gdc.aerodev.web.home.FragmentCache.Fragment;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.IContext;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FragmentCacheTest {
+
+    private static final List<Long> KEY = Collections.singletonList(1L);
+
+    private final AtomicInteger renders = new AtomicInteger();
+    private final FragmentCache cache = new FragmentCache(engine(), 64);
+
+    @Test
+    public void hitTest() {
+        String html = get(cache.generation(Fragment.TOP_PROJECTS));
+        assertEquals(html, get(cache.generation(Fragment.TOP_PROJECTS)));
+        assertEquals(1, renders.get());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void invalidateTest() {
+        get(cache.generation(Fragment.TOP_PROJECTS));
+        cache.onContentChanged(new ContentChangedEvent(this, ContentChangedEvent.Subject.PROJECT, 1L));
+        get(cache.generation(Fragment.TOP_PROJECTS));
+        assertEquals(2, renders.get());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void changedWhileReadTest() {
+        long generation = cache.generation(Fragment.TOP_PROJECTS);
+        // content is changed after composer took generation, but before it rendered fragment
+        cache.invalidate(Fragment.TOP_PROJECTS);
+        get(generation);
+        get(cache.generation(Fragment.TOP_PROJECTS));
+        assertEquals(2, renders.get());
+        assertEquals(0, cache.getHits());
+    }
+
+    private String get(long generation) {
+        return cache.get(Fragment.TOP_PROJECTS, generation, KEY, Collections.emptyMap(),
+                new MockHttpServletRequest(), new MockHttpServletResponse());
+    }
+
+    private ITemplateEngine engine() {
+        ITemplateEngine engine = mock(ITemplateEngine.class);
+        when(engine.process(any(TemplateSpec.class), any(IContext.class)))
+                .thenAnswer(i -> "<div>" + renders.incrementAndGet() + "</div>");
+        return engine;
+    }
+}
@@ -0,0 +1,105 @@
+package com.gdc.aerodev.web.test;
+
+import com.gdc.aerodev.model.User;
+import com.gdc.aerodev.service.ImportService;
+import com.gdc.aerodev.service.impl.UserServiceImpl;
+import com.gdc.aerodev.service.security.Hasher;
+import com.gdc.aerodev.web.configuration.SecurityConfig;
+import com.gdc.aerodev.web.controllers.ImportController;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import javax.servlet.Filter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unknown target is answered by {@link ImportController} itself with {@code 404}, so status tells whether request
+ * passed security without touching {@link ImportService}.
+ */
+@RunWith(SpringRunner.class)
+@WebAppConfiguration
+@ContextConfiguration(classes = ImportSecurityTest.Config.class)
+@TestPropertySource(properties = "aerodev.security.administrators=Aigul, Claus")
+public class ImportSecurityTest {
+
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private WebApplicationContext context;
+    @Autowired
+    private Filter springSecurityFilterChain;
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context).addFilters(springSecurityFilterChain).build();
+    }
+
+    @Test
+    public void administratorTest() throws Exception {
+        mvc.perform(post("/import/nothing").header("Authorization", basic("Aigul")))
+                .andExpect(status().isNotFound());
+        mvc.perform(post("/import/nothing").header("Authorization", basic("Claus")))
+                .andExpect(status().isNotFound());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void userTest() throws Exception {
+        mvc.perform(post("/import/nothing").header("Authorization", basic("Mark")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void anonymousTest() throws Exception {
+        mvc.perform(post("/import/nothing"))
+                .andExpect(status().is3xxRedirection());
+    }
+
+    private static String basic(String name) {
+        String credentials = name + ":" + PASSWORD;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import(SecurityConfig.class)
+    static class Config {
+
+        @Bean
+        public UserServiceImpl userService() {
+            UserServiceImpl service = mock(UserServiceImpl.class);
+            when(service.getUser(anyString())).thenAnswer(i ->
+                    new User(1L, i.getArgument(0), Hasher.hash(PASSWORD), "mail@mail.com", (short) 0));
+            return service;
+        }
+
+        @Bean
+        public ImportController importController() {
+            return new ImportController(mock(ImportService.class));
+        }
+    }
+}
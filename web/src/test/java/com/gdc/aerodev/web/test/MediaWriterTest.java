@@ -0,0 +1,108 @@
+package com.gdc.aerodev.web.test;
+
+import com.gdc.aerodev.repository.postgresql.MediaMeta;
+import com.gdc.aerodev.repository.postgresql.MediaRepository.Source;
+import com.gdc.aerodev.service.DerivativeService;
+import com.gdc.aerodev.service.MediaService;
+import com.gdc.aerodev.web.media.MediaWriter;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class MediaWriterTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final MediaMeta media = new MediaMeta(Source.PROJECT_FILE, 1L, "text/plain", CONTENT.length, null,
+            "etag", null, null, null);
+    private final MediaService service = mock(MediaService.class);
+    private final MediaWriter writer = new MediaWriter(service, mock(DerivativeService.class));
+
+    @Before
+    public void setUp() throws Exception {
+        when(service.copy(any(), anyLong(), anyLong(), any())).thenAnswer(i -> {
+            int offset = (int) (long) i.getArgument(1);
+            int count = (int) Math.min(i.<Long>getArgument(2), CONTENT.length - offset);
+            i.<OutputStream>getArgument(3).write(CONTENT, offset, count);
+            return (long) count;
+        });
+    }
+
+    @Test
+    public void mergeTest() throws Exception {
+        MockHttpServletResponse response = write("bytes=4-5,0-1,2-3");
+        assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+        assertEquals("bytes 0-5/10", response.getHeader("Content-Range"));
+        assertEquals("012345", response.getContentAsString());
+    }
+
+    @Test
+    public void sortTest() throws Exception {
+        MockHttpServletResponse response = write("bytes=7-8,1-2,2-3");
+        String body = response.getContentAsString();
+        assertTrue(response.getContentType().startsWith("multipart/byteranges"));
+        assertTrue(body.indexOf("bytes 1-3/10") < body.indexOf("bytes 7-8/10"));
+        assertTrue(body.contains("\r\n\r\n123\r\n"));
+        assertTrue(body.contains("\r\n\r\n78\r\n"));
+        assertEquals(String.valueOf(response.getContentAsByteArray().length), response.getHeader("Content-Length"));
+    }
+
+    @Test
+    public void fileTest() throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, CONTENT);
+        when(service.locate(media)).thenReturn(file);
+        MockHttpServletResponse response = write("bytes=7-8,1-2");
+        String body = response.getContentAsString();
+        assertTrue(body.contains("\r\n\r\n12\r\n"));
+        assertTrue(body.contains("\r\n\r\n78\r\n"));
+        verify(service, never()).copy(any(), anyLong(), anyLong(), any());
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void tooManyRangesTest() throws Exception {
+        StringJoiner header = new StringJoiner(",", "bytes=", "");
+        for (int i = 0; i <= MediaWriter.MAX_RANGES; i++) {
+            header.add(i % CONTENT.length + "-" + i % CONTENT.length);
+        }
+        MockHttpServletResponse response = write(header.toString());
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertNull(response.getHeader("Content-Range"));
+        assertArrayEquals(CONTENT, response.getContentAsByteArray());
+    }
+
+    @Test
+    public void unsatisfiableTest() throws Exception {
+        MockHttpServletResponse response = write("bytes=10-12,20-");
+        assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+        assertEquals("bytes */10", response.getHeader("Content-Range"));
+    }
+
+    private MockHttpServletResponse write(String range) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/project/file/1");
+        request.addHeader("Range", range);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(media, request, response);
+        return response;
+    }
+}
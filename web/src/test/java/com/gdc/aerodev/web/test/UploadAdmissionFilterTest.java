@@ -0,0 +1,160 @@
+package com.gdc.aerodev.web.test;
+
+import com.gdc.aerodev.web.media.UploadAdmissionFilter;
+import org.junit.Test;
+import org.springframework.boot.web.servlet.filter.OrderedHiddenHttpMethodFilter;
+import org.springframework.boot.web.servlet.filter.OrderedHttpPutFormContentFilter;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.Filter;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class UploadAdmissionFilterTest {
+
+    private final UploadAdmissionFilter filter = new UploadAdmissionFilter(4096, 4096);
+
+    @Test
+    public void admittedTest() throws Exception {
+        boolean[] served = {false};
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                served[0] = true;
+                assertEquals(0, filter.getAvailableBytes());
+            }
+        }).doFilter(upload(4096, false), response);
+        assertTrue(served[0]);
+        assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+        assertEquals(4096, filter.getAvailableBytes());
+    }
+
+    @Test
+    public void firstFilterTest() {
+        List<Filter> filters = filters();
+        assertSame(filter, filters.get(0));
+    }
+
+    //Abnormal tests
+
+    @Test
+    public void throttledBeforeBodyTest() throws Exception {
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        chain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                try {
+                    chain(new HttpServlet() {
+                    }).doFilter(upload(1, true), rejected);
+                } catch (ServletException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }).doFilter(upload(4096, false), new MockHttpServletResponse());
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(4096, filter.getAvailableBytes());
+    }
+
+    @Test
+    public void tooLargeBeforeBodyTest() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain(new HttpServlet() {
+        }).doFilter(upload(4097, true), response);
+        assertEquals(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE, response.getStatus());
+    }
+
+    @Test
+    public void chunkOfUnknownLengthTest() throws Exception {
+        MockHttpServletRequest request = new ChunkedRequest();
+        request.setMethod("PUT");
+        request.setRequestURI("/project/upload/1");
+        request.setContentType("application/octet-stream");
+        request.setContent(new byte[4097]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        chain(new HttpServlet() {
+        }).doFilter(request, response);
+        assertEquals(HttpServletResponse.SC_LENGTH_REQUIRED, response.getStatus());
+        assertEquals(4096, filter.getAvailableBytes());
+    }
+
+    /**
+     * Filters in order of Spring Boot registration
+     */
+    private List<Filter> filters() {
+        List<Filter> filters = new ArrayList<>(Arrays.asList(new OrderedHiddenHttpMethodFilter(),
+                new OrderedHttpPutFormContentFilter(), filter));
+        AnnotationAwareOrderComparator.sort(filters);
+        return filters;
+    }
+
+    private MockFilterChain chain(HttpServlet servlet) {
+        return new MockFilterChain(servlet, filters().toArray(new Filter[0]));
+    }
+
+    /**
+     * @param unreadable fail if any part of body is read
+     */
+    private MockHttpServletRequest upload(int length, boolean unreadable) {
+        MockHttpServletRequest request = unreadable ? new UnreadableRequest() : new MockHttpServletRequest();
+        request.setMethod("POST");
+        request.setRequestURI("/project/1/files");
+        request.setContentType("multipart/form-data; boundary=x");
+        request.setContent(new byte[length]);
+        return request;
+    }
+
+    /**
+     * Body sent with {@code Transfer-Encoding: chunked}, so its length is unknown
+     */
+    private static class ChunkedRequest extends UnreadableRequest {
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+    }
+
+    private static class UnreadableRequest extends MockHttpServletRequest {
+
+        @Override
+        public ServletInputStream getInputStream() {
+            throw new AssertionError("Body was read");
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            throw new AssertionError("Body was read");
+        }
+
+        @Override
+        public String getParameter(String name) {
+            throw new AssertionError("Body was parsed");
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            throw new AssertionError("Body was parsed");
+        }
+    }
+}